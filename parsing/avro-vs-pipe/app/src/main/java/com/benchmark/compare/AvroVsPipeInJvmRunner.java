@@ -0,0 +1,211 @@
+package com.benchmark.compare;
+
+import com.benchmark.compare.AvroVsPipeMainParallel.AppCase;
+import com.benchmark.compare.AvroVsPipeMainParallel.Config;
+import com.benchmark.compare.AvroVsPipeMainParallel.ProcessResult;
+import com.benchmark.compare.AvroVsPipeMainParallel.ProcessingRole;
+import com.benchmark.compare.AvroVsPipeMainParallel.Role;
+import com.sun.management.OperatingSystemMXBean;
+import com.sun.management.ThreadMXBean;
+import org.apache.avro.Schema;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Runs the pipe and Avro roles of {@link AvroVsPipeMainParallel} as threads of one JVM. Producers
+ * preload both topics first, then the four consumers start together behind a gate and compete for
+ * the same cores. CPU is taken per thread from {@link ThreadMXBean}, so container and process
+ * scheduling noise does not leak into the per-role numbers.
+ */
+public final class AvroVsPipeInJvmRunner {
+
+    private static final String SUMMARY_FILE = "injvm_summary.kv";
+
+    private AvroVsPipeInJvmRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Properties props = Config.loadProperties();
+        String pipeTopic = Config.readValue(props, "PIPE_TOPIC_NAME", "benchmark.pipe.topic.name",
+                AppCase.PIPE.defaultTopic);
+        String avroTopic = Config.readValue(props, "AVRO_TOPIC_NAME", "benchmark.avro.topic.name",
+                AppCase.AVRO.defaultTopic);
+        Map<String, String> pins = ThreadPinning.parse(Config.readValue(props, "PIN_THREADS",
+                "benchmark.pin.threads", ""));
+
+        Schema fullSchema = AvroVsPipeMainParallel.loadSchema(AvroVsPipeMainParallel.FULL_SCHEMA_RESOURCE);
+        Schema reader10Schema = AvroVsPipeMainParallel.loadSchema(AvroVsPipeMainParallel.READER_10_SCHEMA_RESOURCE);
+
+        List<ThreadRole> producers = List.of(
+                ThreadRole.of(AppCase.PIPE, Role.PRODUCER, pipeTopic, AvroVsPipeMainParallel::runPipeProducer),
+                ThreadRole.of(AppCase.AVRO, Role.PRODUCER, avroTopic,
+                        cfg -> AvroVsPipeMainParallel.runAvroProducer(cfg, fullSchema)));
+        List<ThreadRole> consumers = List.of(
+                ThreadRole.of(AppCase.PIPE, Role.CONSUMER_1, pipeTopic, AvroVsPipeMainParallel::runPipeConsumer1),
+                ThreadRole.of(AppCase.PIPE, Role.CONSUMER_2, pipeTopic, AvroVsPipeMainParallel::runPipeConsumer2),
+                ThreadRole.of(AppCase.AVRO, Role.CONSUMER_1, avroTopic,
+                        cfg -> AvroVsPipeMainParallel.runAvroConsumer1(cfg, fullSchema, reader10Schema)),
+                ThreadRole.of(AppCase.AVRO, Role.CONSUMER_2, avroTopic,
+                        cfg -> AvroVsPipeMainParallel.runAvroConsumer2(cfg, fullSchema)));
+
+        System.out.println("[injvm] preload topics " + pipeTopic + ", " + avroTopic);
+        List<ThreadMetrics> producerMetrics = runTogether(producers, Map.of());
+        System.out.println("[injvm] run consumers concurrently");
+        List<ThreadMetrics> consumerMetrics = runTogether(consumers, pins);
+
+        StringBuilder summary = new StringBuilder();
+        for (ThreadMetrics metrics : producerMetrics) {
+            metrics.appendTo(summary);
+        }
+        for (ThreadMetrics metrics : consumerMetrics) {
+            metrics.appendTo(summary);
+        }
+
+        Path dir = Path.of(producers.get(0).config.metricsDir());
+        Files.createDirectories(dir);
+        Files.writeString(dir.resolve(SUMMARY_FILE), summary.toString(), StandardCharsets.UTF_8);
+        System.out.print(summary);
+    }
+
+    /**
+     * Starts one thread per role, pins the named threads while they wait at the gate, then opens
+     * the gate so every role starts measuring at the same moment.
+     */
+    private static List<ThreadMetrics> runTogether(List<ThreadRole> roles, Map<String, String> pins)
+            throws Exception {
+        OperatingSystemMXBean osBean = AvroVsPipeMainParallel.getOperatingSystemMxBean();
+        CountDownLatch ready = new CountDownLatch(roles.size());
+        CountDownLatch gate = new CountDownLatch(1);
+        ThreadMetrics[] results = new ThreadMetrics[roles.size()];
+        Throwable[] failures = new Throwable[roles.size()];
+        List<Thread> threads = new ArrayList<>(roles.size());
+
+        for (int i = 0; i < roles.size(); i++) {
+            int slot = i;
+            ThreadRole role = roles.get(i);
+            Thread thread = new Thread(() -> {
+                ready.countDown();
+                try {
+                    gate.await();
+                    results[slot] = role.runMeasured(pins.get(role.threadName));
+                } catch (Throwable t) {
+                    failures[slot] = t;
+                }
+            }, role.threadName);
+            threads.add(thread);
+            thread.start();
+        }
+
+        ready.await();
+        ThreadPinning.pin(pins);
+        long gcCountStart = AvroVsPipeMainParallel.gcCount();
+        long gcTimeStart = AvroVsPipeMainParallel.gcTimeMs();
+        long processCpuStartNs = osBean.getProcessCpuTime();
+        long wallStartNs = System.nanoTime();
+        gate.countDown();
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (int i = 0; i < failures.length; i++) {
+            if (failures[i] != null) {
+                throw new IllegalStateException("Role thread failed: " + roles.get(i).threadName, failures[i]);
+            }
+        }
+
+        long groupWallMs = AvroVsPipeMainParallel.nanosToMillis(System.nanoTime() - wallStartNs);
+        long processCpuMs = AvroVsPipeMainParallel.nanosToMillis(osBean.getProcessCpuTime() - processCpuStartNs);
+        List<ThreadMetrics> metrics = new ArrayList<>(List.of(results));
+        long gcCount = AvroVsPipeMainParallel.gcCount() - gcCountStart;
+        long gcTimeMs = AvroVsPipeMainParallel.gcTimeMs() - gcTimeStart;
+        metrics.add(ThreadMetrics.group(roles.get(0).config.role() == Role.PRODUCER ? "producers" : "consumers",
+                groupWallMs, processCpuMs, gcCount, gcTimeMs));
+        return metrics;
+    }
+
+    private record ThreadRole(String threadName, String keyPrefix, Config config, ProcessingRole body) {
+
+        private static ThreadRole of(AppCase appCase, Role role, String topic, ProcessingRole body)
+                throws IOException {
+            return new ThreadRole(
+                    appCase.value + "-" + role.value,
+                    appCase.value + "_" + role.value.replace("-", ""),
+                    Config.load(appCase, role, topic),
+                    body);
+        }
+
+        private ThreadMetrics runMeasured(String pinnedCpus) throws Exception {
+            ThreadMXBean threadBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+            long threadId = Thread.currentThread().getId();
+
+            long wallStartNs = System.nanoTime();
+            long cpuStartNs = threadBean.getCurrentThreadCpuTime();
+            long userStartNs = threadBean.getCurrentThreadUserTime();
+            long allocStartBytes = threadBean.getThreadAllocatedBytes(threadId);
+
+            ProcessResult result = body.process(config);
+
+            long wallNs = System.nanoTime() - wallStartNs;
+            long cpuNs = threadBean.getCurrentThreadCpuTime() - cpuStartNs;
+            long userNs = threadBean.getCurrentThreadUserTime() - userStartNs;
+            long allocBytes = threadBean.getThreadAllocatedBytes(threadId) - allocStartBytes;
+
+            return new ThreadMetrics(keyPrefix, new String[][] {
+                    {"records_processed", Long.toString(result.recordsProcessed())},
+                    {"pinned_cpus", pinnedCpus != null ? pinnedCpus : "none"},
+                    {"pipe_parse_mode", config.appCase() == AppCase.PIPE && config.role() != Role.PRODUCER
+                            ? config.pipeParseMode().value
+                            : "n/a"},
+                    {"producer_encode_mode", config.role() == Role.PRODUCER
+                            ? config.producerEncodeMode().value
+                            : "n/a"},
+                    {"thread_wall_time_ms", Long.toString(AvroVsPipeMainParallel.nanosToMillis(wallNs))},
+                    {"thread_cpu_time_ms", Long.toString(AvroVsPipeMainParallel.nanosToMillis(cpuNs))},
+                    {"thread_user_time_ms", Long.toString(AvroVsPipeMainParallel.nanosToMillis(userNs))},
+                    {"thread_cpu_pct_of_core", String.format("%.4f", wallNs > 0 ? (cpuNs * 100.0) / wallNs : 0.0)},
+                    {"thread_cpu_ns_per_record", Long.toString(
+                            result.recordsProcessed() > 0 ? cpuNs / result.recordsProcessed() : 0L)},
+                    {"thread_allocated_bytes", Long.toString(allocBytes)},
+                    {"thread_allocated_bytes_per_record", Long.toString(
+                            result.recordsProcessed() > 0 ? allocBytes / result.recordsProcessed() : 0L)},
+                    {"throughput_rec_per_sec", String.format("%.4f",
+                            wallNs > 0 ? result.recordsProcessed() * 1_000_000_000.0 / wallNs : 0.0)},
+                    {"arrow_map_to_producer_encode_ms", Long.toString(
+                            AvroVsPipeMainParallel.nanosToMillis(result.arrowMapToProducerEncodeNs()))},
+                    {"arrow_producer_to_topic_ms", Long.toString(
+                            AvroVsPipeMainParallel.nanosToMillis(result.arrowProducerToTopicNs()))},
+                    {"arrow_topic_to_consumer_decode_or_split_ms", Long.toString(
+                            AvroVsPipeMainParallel.nanosToMillis(result.arrowTopicToConsumerDecodeOrSplitNs()))},
+                    {"arrow_topic_to_consumer_parse_selected_ms", Long.toString(
+                            AvroVsPipeMainParallel.nanosToMillis(result.arrowTopicToConsumerParseSelectedNs()))}
+            });
+        }
+    }
+
+    private record ThreadMetrics(String keyPrefix, String[][] entries) {
+
+        private static ThreadMetrics group(String name, long wallMs, long processCpuMs, long gcCount, long gcTimeMs) {
+            return new ThreadMetrics(name, new String[][] {
+                    {"group_wall_time_ms", Long.toString(wallMs)},
+                    {"process_cpu_time_ms", Long.toString(processCpuMs)},
+                    {"gc_count", Long.toString(gcCount)},
+                    {"gc_time_ms", Long.toString(gcTimeMs)}
+            });
+        }
+
+        private void appendTo(StringBuilder out) {
+            for (String[] entry : entries) {
+                out.append(keyPrefix).append('_').append(entry[0]).append('=').append(entry[1]).append('\n');
+            }
+        }
+    }
+}
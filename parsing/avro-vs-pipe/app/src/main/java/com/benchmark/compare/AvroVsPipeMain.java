@@ -23,6 +23,7 @@ import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.common.errors.TopicExistsException;
 import org.apache.kafka.common.serialization.ByteArrayDeserializer;
 import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 
@@ -42,6 +43,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
 
 public final class AvroVsPipeMain {
 
@@ -136,6 +138,22 @@ public final class AvroVsPipeMain {
     }
 
     private static ProcessResult runPipeProducer(Config config) throws Exception {
+        if (config.producerEncodeMode.pipeIncremental()) {
+            PipeRecordTemplate template = new PipeRecordTemplate();
+            return sendPipeRecords(config, ByteArraySerializer.class, template::render);
+        }
+        return sendPipeRecords(config, StringSerializer.class, StaticMappedObject::toPipeRecord);
+    }
+
+    /**
+     * Pipe producer loop. The incremental template hands over finished UTF-8 bytes; the other modes
+     * build a String that {@code StringSerializer} encodes during send, as before.
+     */
+    private static <V> ProcessResult sendPipeRecords(
+            Config config,
+            Class<? extends Serializer<V>> valueSerializer,
+            LongFunction<V> encoder
+    ) throws Exception {
         waitForKafka(config.bootstrapServers);
         ensureTopicExists(config.bootstrapServers, config.topicName);
 
@@ -144,21 +162,21 @@ public final class AvroVsPipeMain {
         props.put(ProducerConfig.ACKS_CONFIG, "all");
         props.put(ProducerConfig.LINGER_MS_CONFIG, "0");
         props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
-        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, valueSerializer.getName());
 
         long sent = 0L;
         long encodeNs = 0L;
         long sendNs = 0L;
 
-        try (KafkaProducer<String, String> producer = new KafkaProducer<>(props)) {
+        try (KafkaProducer<String, V> producer = new KafkaProducer<>(props)) {
             for (long sequence = 1L; sequence <= config.recordCount; sequence++) {
                 long encodeStartNs = config.phaseMetricsEnabled ? System.nanoTime() : 0L;
-                String payload = StaticMappedObject.toPipeRecord(sequence);
+                V payload = encoder.apply(sequence);
                 if (config.phaseMetricsEnabled) {
                     encodeNs += System.nanoTime() - encodeStartNs;
                 }
 
-                ProducerRecord<String, String> record = new ProducerRecord<>(config.topicName, Long.toString(sequence),
+                ProducerRecord<String, V> record = new ProducerRecord<>(config.topicName, Long.toString(sequence),
                         payload);
 
                 long sendStartNs = config.phaseMetricsEnabled ? System.nanoTime() : 0L;
@@ -199,10 +217,13 @@ public final class AvroVsPipeMain {
             for (long sequence = 1L; sequence <= config.recordCount; sequence++) {
                 long encodeStartNs = config.phaseMetricsEnabled ? System.nanoTime() : 0L;
 
-                reusableRecord.put("long_0", sequence);
+                GenericRecord record = config.producerEncodeMode.avroIncremental()
+                        ? reusableRecord
+                        : buildFullRecordTemplate(fullSchema);
+                record.put("long_0", sequence);
                 out.reset();
                 encoder = EncoderFactory.get().binaryEncoder(out, encoder);
-                writer.write(reusableRecord, encoder);
+                writer.write(record, encoder);
                 encoder.flush();
                 byte[] payload = out.toByteArray();
 
@@ -533,7 +554,8 @@ public final class AvroVsPipeMain {
             long recordCount,
             int pollTimeoutMs,
             String metricsDir,
-            boolean phaseMetricsEnabled) {
+            boolean phaseMetricsEnabled,
+            ProducerEncodeMode producerEncodeMode) {
         private static Config load() throws IOException {
             Properties props = new Properties();
             try (InputStream input = AvroVsPipeMain.class.getClassLoader()
@@ -564,9 +586,14 @@ public final class AvroVsPipeMain {
                     "PHASE_METRICS_ENABLED",
                     "benchmark.phase.metrics.enabled",
                     "true"));
+            ProducerEncodeMode producerEncodeMode = ProducerEncodeMode.from(readValue(
+                    props,
+                    "PRODUCER_ENCODE_MODE",
+                    "benchmark.producer.encode.mode",
+                    ProducerEncodeMode.MIXED.value));
 
             return new Config(appCase, role, bootstrap, topic, recordCount, pollTimeoutMs, metricsDir,
-                    phaseMetricsEnabled);
+                    phaseMetricsEnabled, producerEncodeMode);
         }
 
         private static String readValue(Properties props, String envKey, String propKey, String defaultValue) {
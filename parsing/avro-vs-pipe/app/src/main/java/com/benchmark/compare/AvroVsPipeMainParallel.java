@@ -23,12 +23,14 @@ import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.common.errors.TopicExistsException;
 import org.apache.kafka.common.serialization.ByteArrayDeserializer;
 import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.management.GarbageCollectorMXBean;
 import java.lang.management.ManagementFactory;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -42,11 +44,12 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
 
 public final class AvroVsPipeMainParallel {
 
-    private static final String FULL_SCHEMA_RESOURCE = "avro/full_record.avsc";
-    private static final String READER_10_SCHEMA_RESOURCE = "avro/reader_10_fields.avsc";
+    static final String FULL_SCHEMA_RESOURCE = "avro/full_record.avsc";
+    static final String READER_10_SCHEMA_RESOURCE = "avro/reader_10_fields.avsc";
 
     private static final int DEFAULT_RECORD_COUNT = 1_000_000;
     private static final int DEFAULT_POLL_TIMEOUT_MS = 200;
@@ -97,17 +100,26 @@ public final class AvroVsPipeMainParallel {
 
     private static RoleMetrics runMeasured(Config config, ProcessingRole processingRole) throws Exception {
         OperatingSystemMXBean osBean = getOperatingSystemMxBean();
+        com.sun.management.ThreadMXBean threadBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
         CpuSampler sampler = new CpuSampler(osBean);
 
         long startEpochMs = System.currentTimeMillis();
         long wallStartNs = System.nanoTime();
         long cpuStartNs = Math.max(0L, osBean.getProcessCpuTime());
+        long allocStartBytes = threadBean.getThreadAllocatedBytes(threadId);
+        long gcCountStart = gcCount();
+        long gcTimeStartMs = gcTimeMs();
         sampler.start();
 
         ProcessResult result = processingRole.process(config);
 
         long wallEndNs = System.nanoTime();
         long cpuEndNs = Math.max(0L, osBean.getProcessCpuTime());
+        long allocatedBytes = threadBean.getThreadAllocatedBytes(threadId) - allocStartBytes;
+        long gcCount = gcCount() - gcCountStart;
+        long gcTimeMs = gcTimeMs() - gcTimeStartMs;
         long endEpochMs = System.currentTimeMillis();
 
         long roleWallTimeMs = nanosToMillis(wallEndNs - wallStartNs);
@@ -139,10 +151,47 @@ public final class AvroVsPipeMainParallel {
                 arrowProducerToTopicMs,
                 arrowTopicToConsumerDecodeOrSplitMs,
                 arrowTopicToConsumerParseSelectedMs,
-                arrowTopicToConsumerTotalMs);
+                arrowTopicToConsumerTotalMs,
+                config.appCase == AppCase.PIPE && config.role != Role.PRODUCER ? config.pipeParseMode.value : "n/a",
+                allocatedBytes,
+                result.recordsProcessed > 0 ? allocatedBytes / result.recordsProcessed : 0L,
+                gcCount,
+                gcTimeMs);
     }
 
-    private static ProcessResult runPipeProducer(Config config) throws Exception {
+    static long gcCount() {
+        long count = 0L;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0L, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    static long gcTimeMs() {
+        long timeMs = 0L;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            timeMs += Math.max(0L, gc.getCollectionTime());
+        }
+        return timeMs;
+    }
+
+    static ProcessResult runPipeProducer(Config config) throws Exception {
+        if (config.producerEncodeMode.pipeIncremental()) {
+            PipeRecordTemplate template = new PipeRecordTemplate();
+            return sendPipeRecords(config, ByteArraySerializer.class, template::render);
+        }
+        return sendPipeRecords(config, StringSerializer.class, StaticMappedObject::toPipeRecord);
+    }
+
+    /**
+     * Pipe producer loop. The incremental template hands over finished UTF-8 bytes; the other modes
+     * build a String that {@code StringSerializer} encodes during send, as before.
+     */
+    private static <V> ProcessResult sendPipeRecords(
+            Config config,
+            Class<? extends Serializer<V>> valueSerializer,
+            LongFunction<V> encoder
+    ) throws Exception {
         waitForKafka(config.bootstrapServers);
         ensureTopicExists(config.bootstrapServers, config.topicName);
 
@@ -151,21 +200,21 @@ public final class AvroVsPipeMainParallel {
         props.put(ProducerConfig.ACKS_CONFIG, "all");
         props.put(ProducerConfig.LINGER_MS_CONFIG, "0");
         props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
-        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, valueSerializer.getName());
 
         long sent = 0L;
         long encodeNs = 0L;
         long sendNs = 0L;
 
-        try (KafkaProducer<String, String> producer = new KafkaProducer<>(props)) {
+        try (KafkaProducer<String, V> producer = new KafkaProducer<>(props)) {
             for (long sequence = 1L; sequence <= config.recordCount; sequence++) {
                 long encodeStartNs = config.phaseMetricsEnabled ? System.nanoTime() : 0L;
-                String payload = StaticMappedObject.toPipeRecord(sequence);
+                V payload = encoder.apply(sequence);
                 if (config.phaseMetricsEnabled) {
                     encodeNs += System.nanoTime() - encodeStartNs;
                 }
 
-                ProducerRecord<String, String> record = new ProducerRecord<>(config.topicName, Long.toString(sequence),
+                ProducerRecord<String, V> record = new ProducerRecord<>(config.topicName, Long.toString(sequence),
                         payload);
 
                 long sendStartNs = config.phaseMetricsEnabled ? System.nanoTime() : 0L;
@@ -182,7 +231,7 @@ public final class AvroVsPipeMainParallel {
         return new ProcessResult(sent, encodeNs, sendNs, 0L, 0L);
     }
 
-    private static ProcessResult runAvroProducer(Config config, Schema fullSchema) throws Exception {
+    static ProcessResult runAvroProducer(Config config, Schema fullSchema) throws Exception {
         waitForKafka(config.bootstrapServers);
         ensureTopicExists(config.bootstrapServers, config.topicName);
 
@@ -206,10 +255,13 @@ public final class AvroVsPipeMainParallel {
             for (long sequence = 1L; sequence <= config.recordCount; sequence++) {
                 long encodeStartNs = config.phaseMetricsEnabled ? System.nanoTime() : 0L;
 
-                reusableRecord.put("long_0", sequence);
+                GenericRecord record = config.producerEncodeMode.avroIncremental()
+                        ? reusableRecord
+                        : buildFullRecordTemplate(fullSchema);
+                record.put("long_0", sequence);
                 out.reset();
                 encoder = EncoderFactory.get().binaryEncoder(out, encoder);
-                writer.write(reusableRecord, encoder);
+                writer.write(record, encoder);
                 encoder.flush();
                 byte[] payload = out.toByteArray();
 
@@ -236,7 +288,7 @@ public final class AvroVsPipeMainParallel {
         return new ProcessResult(sent, encodeNs, sendNs, 0L, 0L);
     }
 
-    private static ProcessResult runPipeConsumer1(Config config) throws Exception {
+    static ProcessResult runPipeConsumer1(Config config) throws Exception {
         waitForKafka(config.bootstrapServers);
 
         Properties props = new Properties();
@@ -254,6 +306,7 @@ public final class AvroVsPipeMainParallel {
         long parseNs = 0L;
 
         int[] selectedPositions = StaticMappedObject.consumer1SelectedPositions();
+        PipeDecodedRecord reusable = new PipeDecodedRecord();
 
         try (KafkaConsumer<String, String> consumer = new KafkaConsumer<>(props)) {
             consumer.subscribe(Collections.singletonList(config.topicName));
@@ -275,34 +328,12 @@ public final class AvroVsPipeMainParallel {
                     if (parts.length >= StaticMappedObject.TOTAL_FIELDS) {
                         long parseStartNs = config.phaseMetricsEnabled ? System.nanoTime() : 0L;
 
-                        int[] ints = new int[StaticMappedObject.INT_FIELDS];
-                        long[] longs = new long[StaticMappedObject.LONG_FIELDS];
-                        int[] strLens = new int[StaticMappedObject.STRING_FIELDS];
-
-                        for (int i = 0; i < StaticMappedObject.INT_FIELDS; i++) {
-                            ints[i] = Integer.parseInt(parts[i]);
-                        }
-
-                        int longStart = StaticMappedObject.INT_FIELDS;
-                        int longEnd = longStart + StaticMappedObject.LONG_FIELDS;
-                        for (int i = longStart; i < longEnd; i++) {
-                            longs[i - longStart] = Long.parseLong(parts[i]);
-                        }
-
-                        for (int i = longEnd; i < StaticMappedObject.TOTAL_FIELDS; i++) {
-                            strLens[i - longEnd] = parts[i].length();
-                        }
+                        PipeDecodedRecord decoded = config.pipeParseMode.holder(reusable);
+                        decoded.parseAll(parts);
 
                         long value = 0L;
                         for (int position : selectedPositions) {
-                            if (position < StaticMappedObject.INT_FIELDS) {
-                                value += ints[position];
-                            } else if (position < StaticMappedObject.INT_FIELDS + StaticMappedObject.LONG_FIELDS) {
-                                value += longs[position - StaticMappedObject.INT_FIELDS];
-                            } else {
-                                value += strLens[position - StaticMappedObject.INT_FIELDS
-                                        - StaticMappedObject.LONG_FIELDS];
-                            }
+                            value += decoded.valueAt(position);
                         }
                         localSink += value;
 
@@ -328,7 +359,7 @@ public final class AvroVsPipeMainParallel {
         return new ProcessResult(processed, 0L, 0L, splitNs, parseNs);
     }
 
-    private static ProcessResult runPipeConsumer2(Config config) throws Exception {
+    static ProcessResult runPipeConsumer2(Config config) throws Exception {
         waitForKafka(config.bootstrapServers);
 
         Properties props = new Properties();
@@ -344,6 +375,7 @@ public final class AvroVsPipeMainParallel {
         long localSink = 0L;
         long splitNs = 0L;
         long parseNs = 0L;
+        PipeDecodedRecord reusable = new PipeDecodedRecord();
 
         try (KafkaConsumer<String, String> consumer = new KafkaConsumer<>(props)) {
             consumer.subscribe(Collections.singletonList(config.topicName));
@@ -365,22 +397,13 @@ public final class AvroVsPipeMainParallel {
                     if (parts.length >= StaticMappedObject.TOTAL_FIELDS) {
                         long parseStartNs = config.phaseMetricsEnabled ? System.nanoTime() : 0L;
 
-                        long fullValue = 0L;
-                        for (int i = 0; i < StaticMappedObject.INT_FIELDS; i++) {
-                            fullValue += Integer.parseInt(parts[i]);
-                        }
-
-                        int longStart = StaticMappedObject.INT_FIELDS;
-                        int longEnd = longStart + StaticMappedObject.LONG_FIELDS;
-                        for (int i = longStart; i < longEnd; i++) {
-                            fullValue += Long.parseLong(parts[i]);
-                        }
-
-                        for (int i = longEnd; i < StaticMappedObject.TOTAL_FIELDS; i++) {
-                            fullValue += parts[i].length();
+                        if (config.pipeParseMode == PipeParseMode.BASELINE) {
+                            localSink += sumCells(parts);
+                        } else {
+                            PipeDecodedRecord decoded = config.pipeParseMode.holder(reusable);
+                            decoded.parseAll(parts);
+                            localSink += decoded.sumAll();
                         }
-
-                        localSink += fullValue;
                         if (config.phaseMetricsEnabled) {
                             parseNs += System.nanoTime() - parseStartNs;
                         }
@@ -403,7 +426,28 @@ public final class AvroVsPipeMainParallel {
         return new ProcessResult(processed, 0L, 0L, splitNs, parseNs);
     }
 
-    private static ProcessResult runAvroConsumer1(Config config, Schema fullSchema, Schema reader10Schema)
+    /**
+     * Consumer-2 baseline: every field parsed and summed in place, no arrays beyond the split.
+     */
+    private static long sumCells(String[] parts) {
+        long fullValue = 0L;
+        for (int i = 0; i < StaticMappedObject.INT_FIELDS; i++) {
+            fullValue += Integer.parseInt(parts[i]);
+        }
+
+        int longStart = StaticMappedObject.INT_FIELDS;
+        int longEnd = longStart + StaticMappedObject.LONG_FIELDS;
+        for (int i = longStart; i < longEnd; i++) {
+            fullValue += Long.parseLong(parts[i]);
+        }
+
+        for (int i = longEnd; i < StaticMappedObject.TOTAL_FIELDS; i++) {
+            fullValue += parts[i].length();
+        }
+        return fullValue;
+    }
+
+    static ProcessResult runAvroConsumer1(Config config, Schema fullSchema, Schema reader10Schema)
             throws Exception {
         waitForKafka(config.bootstrapServers);
 
@@ -465,7 +509,7 @@ public final class AvroVsPipeMainParallel {
         return new ProcessResult(processed, 0L, 0L, decodeNs, parseNs);
     }
 
-    private static ProcessResult runAvroConsumer2(Config config, Schema fullSchema) throws Exception {
+    static ProcessResult runAvroConsumer2(Config config, Schema fullSchema) throws Exception {
         waitForKafka(config.bootstrapServers);
 
         Properties props = new Properties();
@@ -574,7 +618,7 @@ public final class AvroVsPipeMainParallel {
         return value;
     }
 
-    private static Schema loadSchema(String resourcePath) throws IOException {
+    static Schema loadSchema(String resourcePath) throws IOException {
         try (InputStream inputStream = AvroVsPipeMainParallel.class.getClassLoader().getResourceAsStream(resourcePath)) {
             if (inputStream == null) {
                 throw new IOException("Schema resource not found: " + resourcePath);
@@ -620,7 +664,7 @@ public final class AvroVsPipeMainParallel {
         }
     }
 
-    private static void writeMetricsFile(Config config, RoleMetrics metrics) throws IOException {
+    static void writeMetricsFile(Config config, RoleMetrics metrics) throws IOException {
         Path dir = Path.of(config.metricsDir);
         Files.createDirectories(dir);
 
@@ -629,28 +673,28 @@ public final class AvroVsPipeMainParallel {
         Files.writeString(file, metrics.toKeyValueBlock(), StandardCharsets.UTF_8);
     }
 
-    private static OperatingSystemMXBean getOperatingSystemMxBean() {
+    static OperatingSystemMXBean getOperatingSystemMxBean() {
         if (ManagementFactory.getOperatingSystemMXBean() instanceof OperatingSystemMXBean osBean) {
             return osBean;
         }
         throw new IllegalStateException("OperatingSystemMXBean is not supported for process CPU metrics.");
     }
 
-    private static long nanosToMillis(long nanos) {
+    static long nanosToMillis(long nanos) {
         return TimeUnit.NANOSECONDS.toMillis(Math.max(0L, nanos));
     }
 
     @FunctionalInterface
-    private interface ProcessingRole {
+    interface ProcessingRole {
         ProcessResult process(Config config) throws Exception;
     }
 
-    private enum AppCase {
+    enum AppCase {
         PIPE("pipe", "RAW_PIPE"),
         AVRO("avro", "AVRO_FULL");
 
-        private final String value;
-        private final String defaultTopic;
+        final String value;
+        final String defaultTopic;
 
         AppCase(String value, String defaultTopic) {
             this.value = value;
@@ -667,12 +711,12 @@ public final class AvroVsPipeMainParallel {
         }
     }
 
-    private enum Role {
+    enum Role {
         PRODUCER("producer"),
         CONSUMER_1("consumer-1"),
         CONSUMER_2("consumer-2");
 
-        private final String value;
+        final String value;
 
         Role(String value) {
             this.value = value;
@@ -688,7 +732,7 @@ public final class AvroVsPipeMainParallel {
         }
     }
 
-    private record Config(
+    record Config(
             AppCase appCase,
             Role role,
             String bootstrapServers,
@@ -696,21 +740,21 @@ public final class AvroVsPipeMainParallel {
             long recordCount,
             int pollTimeoutMs,
             String metricsDir,
-            boolean phaseMetricsEnabled) {
+            boolean phaseMetricsEnabled,
+            PipeParseMode pipeParseMode,
+            ProducerEncodeMode producerEncodeMode) {
         private static Config load() throws IOException {
-            Properties props = new Properties();
-            try (InputStream input = AvroVsPipeMainParallel.class.getClassLoader()
-                    .getResourceAsStream("benchmark.properties")) {
-                if (input != null) {
-                    props.load(input);
-                }
-            }
-
             AppCase appCase = AppCase.from(requireValue(System.getenv("APP_CASE"), "APP_CASE"));
             Role role = Role.from(requireValue(System.getenv("APP_ROLE"), "APP_ROLE"));
+            return load(appCase, role, null);
+        }
 
+        static Config load(AppCase appCase, Role role, String topicOverride) throws IOException {
+            Properties props = loadProperties();
             String bootstrap = readValue(props, "BOOTSTRAP_SERVERS", "bootstrap.servers", "kafka:9092");
-            String topic = readValue(props, "TOPIC_NAME", "benchmark.topic.name", appCase.defaultTopic);
+            String topic = topicOverride != null
+                    ? topicOverride
+                    : readValue(props, "TOPIC_NAME", "benchmark.topic.name", appCase.defaultTopic);
             long recordCount = Long.parseLong(readValue(
                     props,
                     "RECORD_COUNT",
@@ -727,12 +771,33 @@ public final class AvroVsPipeMainParallel {
                     "PHASE_METRICS_ENABLED",
                     "benchmark.phase.metrics.enabled",
                     "true"));
+            ProducerEncodeMode producerEncodeMode = ProducerEncodeMode.from(readValue(
+                    props,
+                    "PRODUCER_ENCODE_MODE",
+                    "benchmark.producer.encode.mode",
+                    ProducerEncodeMode.MIXED.value));
+            PipeParseMode pipeParseMode = PipeParseMode.from(readValue(
+                    props,
+                    "PIPE_PARSE_MODE",
+                    "benchmark.pipe.parse.mode",
+                    PipeParseMode.BASELINE.value));
 
             return new Config(appCase, role, bootstrap, topic, recordCount, pollTimeoutMs, metricsDir,
-                    phaseMetricsEnabled);
+                    phaseMetricsEnabled, pipeParseMode, producerEncodeMode);
+        }
+
+        static Properties loadProperties() throws IOException {
+            Properties props = new Properties();
+            try (InputStream input = AvroVsPipeMainParallel.class.getClassLoader()
+                    .getResourceAsStream("benchmark.properties")) {
+                if (input != null) {
+                    props.load(input);
+                }
+            }
+            return props;
         }
 
-        private static String readValue(Properties props, String envKey, String propKey, String defaultValue) {
+        static String readValue(Properties props, String envKey, String propKey, String defaultValue) {
             String env = System.getenv(envKey);
             if (env != null && !env.isBlank()) {
                 return env.trim();
@@ -754,7 +819,7 @@ public final class AvroVsPipeMainParallel {
         }
     }
 
-    private record ProcessResult(
+    record ProcessResult(
             long recordsProcessed,
             long arrowMapToProducerEncodeNs,
             long arrowProducerToTopicNs,
@@ -833,10 +898,15 @@ public final class AvroVsPipeMainParallel {
             long arrowProducerToTopicMs,
             long arrowTopicToConsumerDecodeOrSplitMs,
             long arrowTopicToConsumerParseSelectedMs,
-            long arrowTopicToConsumerTotalMs) {
+            long arrowTopicToConsumerTotalMs,
+            String pipeParseMode,
+            long roleThreadAllocatedBytes,
+            long roleThreadAllocatedBytesPerRecord,
+            long gcCount,
+            long gcTimeMs) {
         private String toSingleLine() {
             return String.format(
-                    "case=%s role=%s records_processed=%d process_cpu_time_ms=%d avg_process_cpu_pct=%.4f max_process_cpu_pct=%.4f role_wall_time_ms=%d throughput_rec_per_sec=%.4f arrow_map_to_producer_encode_ms=%d arrow_producer_to_topic_ms=%d arrow_topic_to_consumer_decode_or_split_ms=%d arrow_topic_to_consumer_parse_selected_ms=%d arrow_topic_to_consumer_total_ms=%d start_epoch_ms=%d end_epoch_ms=%d",
+                    "case=%s role=%s records_processed=%d process_cpu_time_ms=%d avg_process_cpu_pct=%.4f max_process_cpu_pct=%.4f role_wall_time_ms=%d throughput_rec_per_sec=%.4f arrow_map_to_producer_encode_ms=%d arrow_producer_to_topic_ms=%d arrow_topic_to_consumer_decode_or_split_ms=%d arrow_topic_to_consumer_parse_selected_ms=%d arrow_topic_to_consumer_total_ms=%d pipe_parse_mode=%s role_thread_allocated_bytes_per_record=%d gc_count=%d gc_time_ms=%d start_epoch_ms=%d end_epoch_ms=%d",
                     appCase,
                     role,
                     recordsProcessed,
@@ -850,6 +920,10 @@ public final class AvroVsPipeMainParallel {
                     arrowTopicToConsumerDecodeOrSplitMs,
                     arrowTopicToConsumerParseSelectedMs,
                     arrowTopicToConsumerTotalMs,
+                    pipeParseMode,
+                    roleThreadAllocatedBytesPerRecord,
+                    gcCount,
+                    gcTimeMs,
                     startEpochMs,
                     endEpochMs);
         }
@@ -872,6 +946,11 @@ public final class AvroVsPipeMainParallel {
                     "arrow_topic_to_consumer_decode_or_split_ms=" + arrowTopicToConsumerDecodeOrSplitMs,
                     "arrow_topic_to_consumer_parse_selected_ms=" + arrowTopicToConsumerParseSelectedMs,
                     "arrow_topic_to_consumer_total_ms=" + arrowTopicToConsumerTotalMs,
+                    "pipe_parse_mode=" + pipeParseMode,
+                    "role_thread_allocated_bytes=" + roleThreadAllocatedBytes,
+                    "role_thread_allocated_bytes_per_record=" + roleThreadAllocatedBytesPerRecord,
+                    "gc_count=" + gcCount,
+                    "gc_time_ms=" + gcTimeMs,
                     "");
         }
     }
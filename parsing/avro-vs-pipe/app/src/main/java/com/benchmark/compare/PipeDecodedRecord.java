@@ -0,0 +1,74 @@
+package com.benchmark.compare;
+
+/**
+ * Parsed pipe record: every int and long field plus the length of every string field. In
+ * {@link PipeParseMode#REUSE} one instance is reset and refilled per record; in
+ * {@link PipeParseMode#ALLOCATE} (and consumer-1 in {@link PipeParseMode#BASELINE}) a new instance
+ * (three new arrays) is created per record.
+ */
+final class PipeDecodedRecord {
+
+    private final int[] ints = new int[StaticMappedObject.INT_FIELDS];
+    private final long[] longs = new long[StaticMappedObject.LONG_FIELDS];
+    private final int[] stringLengths = new int[StaticMappedObject.STRING_FIELDS];
+    private boolean filled;
+
+    void reset() {
+        filled = false;
+    }
+
+    /**
+     * Parses all fields of a split record; {@code parts} must hold at least
+     * {@link StaticMappedObject#TOTAL_FIELDS} cells.
+     */
+    void parseAll(String[] parts) {
+        for (int i = 0; i < StaticMappedObject.INT_FIELDS; i++) {
+            ints[i] = Integer.parseInt(parts[i]);
+        }
+
+        int longStart = StaticMappedObject.INT_FIELDS;
+        for (int i = 0; i < StaticMappedObject.LONG_FIELDS; i++) {
+            longs[i] = Long.parseLong(parts[longStart + i]);
+        }
+
+        int stringStart = longStart + StaticMappedObject.LONG_FIELDS;
+        for (int i = 0; i < StaticMappedObject.STRING_FIELDS; i++) {
+            stringLengths[i] = parts[stringStart + i].length();
+        }
+        filled = true;
+    }
+
+    /**
+     * Unchecked hot-path read; call only after {@link #parseAll}.
+     */
+    long valueAt(int position) {
+        if (position < StaticMappedObject.INT_FIELDS) {
+            return ints[position];
+        }
+        if (position < StaticMappedObject.INT_FIELDS + StaticMappedObject.LONG_FIELDS) {
+            return longs[position - StaticMappedObject.INT_FIELDS];
+        }
+        return stringLengths[position - StaticMappedObject.INT_FIELDS - StaticMappedObject.LONG_FIELDS];
+    }
+
+    long sumAll() {
+        requireFilled();
+        long value = 0L;
+        for (int v : ints) {
+            value += v;
+        }
+        for (long v : longs) {
+            value += v;
+        }
+        for (int v : stringLengths) {
+            value += v;
+        }
+        return value;
+    }
+
+    private void requireFilled() {
+        if (!filled) {
+            throw new IllegalStateException("PipeDecodedRecord read before parseAll");
+        }
+    }
+}
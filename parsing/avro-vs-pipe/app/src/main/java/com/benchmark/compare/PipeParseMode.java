@@ -0,0 +1,35 @@
+package com.benchmark.compare;
+
+/**
+ * How the parallel pipe consumers hold parsed fields. {@link #BASELINE} keeps each consumer's
+ * original path so earlier runs stay comparable: consumer-1 fills a fresh holder per record like
+ * {@link #ALLOCATE}, consumer-2 sums the cells as it parses them without any holder.
+ */
+enum PipeParseMode {
+    BASELINE("baseline"),
+    ALLOCATE("allocate"),
+    REUSE("reuse");
+
+    final String value;
+
+    PipeParseMode(String value) {
+        this.value = value;
+    }
+
+    static PipeParseMode from(String value) {
+        for (PipeParseMode mode : values()) {
+            if (mode.value.equals(value)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Unknown PIPE_PARSE_MODE: " + value);
+    }
+
+    PipeDecodedRecord holder(PipeDecodedRecord reusable) {
+        if (this == REUSE) {
+            reusable.reset();
+            return reusable;
+        }
+        return new PipeDecodedRecord();
+    }
+}
@@ -0,0 +1,69 @@
+package com.benchmark.compare;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Pre-rendered UTF-8 pipe record split around the {@code long_0} cell. The prefix is written into a
+ * reused buffer once; {@link #render(long)} writes the sequence digits after it and moves the
+ * suffix only when the digit count changes, then copies out the exact-size payload. The bytes are
+ * the same as {@code StaticMappedObject.toPipeRecord(sequence).getBytes(UTF_8)}, so the producer
+ * sends them with {@code ByteArraySerializer} and the consumers' {@code StringDeserializer} sees
+ * no difference.
+ */
+final class PipeRecordTemplate {
+
+    private static final int MAX_LONG_CHARS = 20;
+
+    private final byte[] suffix;
+    private final int digitsStart;
+    private final byte[] buffer;
+    private int suffixStart = -1;
+
+    PipeRecordTemplate() {
+        String rendered = StaticMappedObject.toPipeRecord(0L);
+        int cellStart = 0;
+        for (int i = 0; i < StaticMappedObject.INT_FIELDS; i++) {
+            cellStart = rendered.indexOf('|', cellStart) + 1;
+        }
+        int cellEnd = rendered.indexOf('|', cellStart);
+        byte[] prefix = rendered.substring(0, cellStart).getBytes(StandardCharsets.UTF_8);
+        this.suffix = rendered.substring(cellEnd).getBytes(StandardCharsets.UTF_8);
+        this.digitsStart = prefix.length;
+        this.buffer = Arrays.copyOf(prefix, prefix.length + MAX_LONG_CHARS + suffix.length);
+    }
+
+    byte[] render(long sequence) {
+        int end = writeLong(sequence);
+        if (end != suffixStart) {
+            System.arraycopy(suffix, 0, buffer, end, suffix.length);
+            suffixStart = end;
+        }
+        return Arrays.copyOf(buffer, end + suffix.length);
+    }
+
+    /**
+     * Writes the digits from the negated value so {@link Long#MIN_VALUE} needs no special case;
+     * returns the index after the last digit.
+     */
+    private int writeLong(long value) {
+        int position = digitsStart;
+        long negative = value;
+        if (value < 0L) {
+            buffer[position++] = '-';
+        } else {
+            negative = -value;
+        }
+
+        int digits = 1;
+        for (long bound = -10L; digits < 19 && negative <= bound; bound *= 10L) {
+            digits++;
+        }
+        int end = position + digits;
+        for (int index = end - 1; index >= position; index--) {
+            buffer[index] = (byte) ('0' - negative % 10L);
+            negative /= 10L;
+        }
+        return end;
+    }
+}
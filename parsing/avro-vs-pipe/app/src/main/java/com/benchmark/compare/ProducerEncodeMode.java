@@ -0,0 +1,35 @@
+package com.benchmark.compare;
+
+/**
+ * How producers build each payload. {@code full} renders every field from the map per record,
+ * {@code incremental} renders the static fields once and only writes {@code long_0} (the sequence)
+ * per record. {@code mixed} is the historical setup: pipe full, Avro incremental.
+ */
+enum ProducerEncodeMode {
+    MIXED("mixed"),
+    FULL("full"),
+    INCREMENTAL("incremental");
+
+    final String value;
+
+    ProducerEncodeMode(String value) {
+        this.value = value;
+    }
+
+    static ProducerEncodeMode from(String value) {
+        for (ProducerEncodeMode mode : values()) {
+            if (mode.value.equals(value)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Unknown PRODUCER_ENCODE_MODE: " + value);
+    }
+
+    boolean pipeIncremental() {
+        return this == INCREMENTAL;
+    }
+
+    boolean avroIncremental() {
+        return this != FULL;
+    }
+}
@@ -0,0 +1,71 @@
+package com.benchmark.compare;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Pins named Java threads to cores with {@code taskset -p}. Linux exposes each Java thread name
+ * (first 15 chars) in {@code /proc/self/task/<tid>/comm}, which is how a thread is mapped to its tid.
+ */
+final class ThreadPinning {
+
+    private static final Path TASK_DIR = Path.of("/proc/self/task");
+
+    private ThreadPinning() {
+    }
+
+    /**
+     * Parses {@code name=cpus,name=cpus}, e.g. {@code pipe-consumer-1=2,avro-consumer-1=3}.
+     */
+    static Map<String, String> parse(String spec) {
+        Map<String, String> pins = new LinkedHashMap<>();
+        if (spec == null || spec.isBlank()) {
+            return pins;
+        }
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split("=", 2);
+            if (parts.length != 2 || parts[0].isBlank() || parts[1].isBlank()) {
+                throw new IllegalArgumentException("Invalid PIN_THREADS entry: " + entry);
+            }
+            pins.put(parts[0].trim(), parts[1].trim());
+        }
+        return pins;
+    }
+
+    static void pin(Map<String, String> pins) throws IOException, InterruptedException {
+        if (pins.isEmpty()) {
+            return;
+        }
+
+        Map<String, String> tids = new LinkedHashMap<>();
+        try (Stream<Path> tasks = Files.list(TASK_DIR)) {
+            for (Path task : (Iterable<Path>) tasks::iterator) {
+                String comm = Files.readString(task.resolve("comm"), StandardCharsets.UTF_8).trim();
+                if (pins.containsKey(comm)) {
+                    tids.put(comm, task.getFileName().toString());
+                }
+            }
+        }
+
+        for (Map.Entry<String, String> pin : pins.entrySet()) {
+            String tid = tids.get(pin.getKey());
+            if (tid == null) {
+                throw new IllegalStateException("No thread named " + pin.getKey() + " under " + TASK_DIR);
+            }
+            Process process = new ProcessBuilder("taskset", "-p", "-c", pin.getValue(), tid)
+                    .redirectErrorStream(true)
+                    .start();
+            String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+            if (!process.waitFor(10, TimeUnit.SECONDS) || process.exitValue() != 0) {
+                throw new IllegalStateException("taskset failed for " + pin.getKey() + " (tid " + tid + "): " + output);
+            }
+            System.out.println("PIN " + pin.getKey() + " tid=" + tid + " cpus=" + pin.getValue());
+        }
+    }
+}
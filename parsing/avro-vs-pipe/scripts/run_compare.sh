@@ -9,6 +9,7 @@ RUNS_DIR="$LOG_DIR/runs"
 RECORD_COUNT="${RECORD_COUNT:-1000000}"
 RUN_TIMEOUT_SECONDS="${RUN_TIMEOUT_SECONDS:-7200}"
 PHASE_METRICS_ENABLED="${PHASE_METRICS_ENABLED:-true}"
+PRODUCER_ENCODE_MODE="${PRODUCER_ENCODE_MODE:-mixed}"
 POLL_TIMEOUT_MS="${POLL_TIMEOUT_MS:-200}"
 RUN_ID="${RUN_ID:-$(date +%Y%m%d_%H%M%S)}"
 
@@ -109,6 +110,7 @@ ensure_java17
 export RUN_ID
 export RECORD_COUNT
 export PHASE_METRICS_ENABLED
+export PRODUCER_ENCODE_MODE
 export POLL_TIMEOUT_MS
 export PIPE_TOPIC_NAME
 export AVRO_TOPIC_NAME
@@ -261,6 +263,7 @@ cat > "$LOG_DIR/compare_summary.kv" <<SUMMARY
 run_id=$RUN_ID
 record_count=$RECORD_COUNT
 shared_kafka=true
+producer_encode_mode=$PRODUCER_ENCODE_MODE
 pipe_topic_name=$PIPE_TOPIC_NAME
 avro_topic_name=$AVRO_TOPIC_NAME
 maven_build_wall_ms=$mvn_build_wall_ms
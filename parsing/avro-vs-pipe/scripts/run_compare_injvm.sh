@@ -0,0 +1,177 @@
+#!/usr/bin/env bash
+set -euo pipefail
+
+ROOT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")/.." && pwd)"
+COMPOSE_FILE="$ROOT_DIR/docker/docker-compose.parallel.yml"
+LOG_DIR="$ROOT_DIR/logs"
+RUNS_DIR="$LOG_DIR/runs"
+
+RECORD_COUNT="${RECORD_COUNT:-1000000}"
+RUN_TIMEOUT_SECONDS="${RUN_TIMEOUT_SECONDS:-7200}"
+PHASE_METRICS_ENABLED="${PHASE_METRICS_ENABLED:-true}"
+PRODUCER_ENCODE_MODE="${PRODUCER_ENCODE_MODE:-mixed}"
+POLL_TIMEOUT_MS="${POLL_TIMEOUT_MS:-200}"
+PIPE_PARSE_MODE="${PIPE_PARSE_MODE:-baseline}"
+JVM_CPU_SET="${JVM_CPU_SET:-}"
+PIN_THREADS="${PIN_THREADS:-}"
+RUN_ID="${RUN_ID:-$(date +%Y%m%d_%H%M%S)}"
+
+PIPE_TOPIC_BASE="${PIPE_TOPIC_BASE:-RAW_PIPE}"
+AVRO_TOPIC_BASE="${AVRO_TOPIC_BASE:-AVRO_FULL}"
+PIPE_TOPIC_NAME="${PIPE_TOPIC_BASE}_${RUN_ID}"
+AVRO_TOPIC_NAME="${AVRO_TOPIC_BASE}_${RUN_ID}"
+
+ensure_java17() {
+  if [[ -n "${JAVA_HOME:-}" && -x "$JAVA_HOME/bin/java" ]]; then
+    :
+  elif [[ -x /usr/libexec/java_home ]]; then
+    JAVA_HOME="$(/usr/libexec/java_home -v 17 2>/dev/null || true)"
+  fi
+
+  if [[ -z "${JAVA_HOME:-}" ]]; then
+    echo "Java 17 bulunamadi. Lutfen JDK 17 kur ve JAVA_HOME ayarla." >&2
+    exit 1
+  fi
+
+  export JAVA_HOME
+  export PATH="$JAVA_HOME/bin:$PATH"
+
+  local spec_version
+  spec_version="$(java -XshowSettings:properties -version 2>&1 | awk -F= '/^ *java\.specification\.version = /{gsub(/^[[:space:]]+|[[:space:]]+$/, "", $2); print $2; exit}')"
+  if [[ "$spec_version" != "17" ]]; then
+    echo "Yanlis Java surumu: $spec_version (beklenen: 17)" >&2
+    java -version >&2 || true
+    exit 1
+  fi
+}
+
+epoch_ms() {
+  perl -MTime::HiRes=time -e 'printf "%.0f\n", time()*1000'
+}
+
+wait_for_container_exit() {
+  local container_name="$1"
+  local deadline_epoch="$2"
+
+  while true; do
+    local status
+    status="$(docker inspect -f '{{.State.Status}}' "$container_name" 2>/dev/null || echo "missing")"
+    if [[ "$status" == "exited" ]]; then
+      docker inspect -f '{{.State.ExitCode}}' "$container_name"
+      return 0
+    fi
+
+    if (( $(date +%s) >= deadline_epoch )); then
+      echo "Timed out waiting for $container_name to exit." >&2
+      return 1
+    fi
+    sleep 2
+  done
+}
+
+wait_for_file() {
+  local file_path="$1"
+  local deadline_epoch="$2"
+  while [[ ! -s "$file_path" ]]; do
+    if (( $(date +%s) >= deadline_epoch )); then
+      echo "Expected metrics file not found in time: $file_path" >&2
+      return 1
+    fi
+    sleep 1
+  done
+}
+
+wait_for_kafka_ready() {
+  local deadline_epoch="$1"
+  while true; do
+    if docker compose -f "$COMPOSE_FILE" exec -T kafka bash -lc "kafka-topics --bootstrap-server kafka:9092 --list >/dev/null 2>&1"; then
+      return 0
+    fi
+    if (( $(date +%s) >= deadline_epoch )); then
+      echo "Kafka CLI timeout" >&2
+      return 1
+    fi
+    sleep 2
+  done
+}
+
+reset_topic() {
+  local topic="$1"
+  docker compose -f "$COMPOSE_FILE" exec -T kafka bash -lc "kafka-topics --bootstrap-server kafka:9092 --delete --if-exists --topic '$topic' >/dev/null 2>&1 || true"
+  sleep 2
+  docker compose -f "$COMPOSE_FILE" exec -T kafka bash -lc "kafka-topics --bootstrap-server kafka:9092 --create --if-not-exists --topic '$topic' --partitions 1 --replication-factor 1 >/dev/null"
+}
+
+metric_value() {
+  local file_path="$1"
+  local metric_key="$2"
+  awk -F= -v key="$metric_key" '$1 == key { print $2 }' "$file_path"
+}
+
+ensure_java17
+
+export RUN_ID
+export RECORD_COUNT
+export PHASE_METRICS_ENABLED
+export PRODUCER_ENCODE_MODE
+export POLL_TIMEOUT_MS
+export PIPE_PARSE_MODE
+export PIPE_TOPIC_NAME
+export AVRO_TOPIC_NAME
+export JVM_CPU_SET
+export PIN_THREADS
+
+mkdir -p "$RUNS_DIR/$RUN_ID"
+rm -f "$LOG_DIR/compare_injvm_summary.kv"
+
+cleanup() {
+  docker compose -f "$COMPOSE_FILE" down -v --remove-orphans >/dev/null 2>&1 || true
+}
+trap cleanup EXIT
+
+echo "[1/5] Build..."
+mvn -f "$ROOT_DIR/pom.xml" -pl app -am clean package
+
+echo "[2/5] Start shared Kafka stack..."
+docker compose -f "$COMPOSE_FILE" down -v --remove-orphans >/dev/null 2>&1 || true
+docker compose -f "$COMPOSE_FILE" up -d --build zookeeper kafka
+
+deadline_epoch=$(( $(date +%s) + RUN_TIMEOUT_SECONDS ))
+wait_for_kafka_ready "$deadline_epoch"
+reset_topic "$PIPE_TOPIC_NAME"
+reset_topic "$AVRO_TOPIC_NAME"
+
+echo "[3/5] Run in-JVM runner (preload producers, then 4 consumer threads together)"
+echo "      JVM_CPU_SET=${JVM_CPU_SET:-<none>} PIN_THREADS=${PIN_THREADS:-<none>}"
+docker compose -f "$COMPOSE_FILE" up -d --build injvm-runner
+runner_exit="$(wait_for_container_exit "avpp-injvm-runner" "$deadline_epoch")"
+if [[ "$runner_exit" != "0" ]]; then
+  echo "In-JVM runner failed" >&2
+  docker compose -f "$COMPOSE_FILE" logs injvm-runner >&2
+  exit 1
+fi
+
+echo "[4/5] Collect summary"
+SUMMARY_FILE="$RUNS_DIR/$RUN_ID/injvm_summary.kv"
+wait_for_file "$SUMMARY_FILE" "$deadline_epoch"
+{
+  echo "run_id=$RUN_ID"
+  echo "record_count=$RECORD_COUNT"
+  echo "mode=injvm_threads"
+  echo "jvm_cpu_set=${JVM_CPU_SET:-none}"
+  echo "pin_threads=${PIN_THREADS:-none}"
+  echo "pipe_parse_mode=$PIPE_PARSE_MODE"
+  echo "producer_encode_mode=$PRODUCER_ENCODE_MODE"
+  cat "$SUMMARY_FILE"
+} > "$LOG_DIR/compare_injvm_summary.kv"
+
+echo "[5/5] Done"
+for role in pipe_consumer1 pipe_consumer2 avro_consumer1 avro_consumer2; do
+  echo "$role thread_cpu_time_ms=$(metric_value "$SUMMARY_FILE" "${role}_thread_cpu_time_ms")" \
+    "thread_cpu_pct_of_core=$(metric_value "$SUMMARY_FILE" "${role}_thread_cpu_pct_of_core")" \
+    "thread_wall_time_ms=$(metric_value "$SUMMARY_FILE" "${role}_thread_wall_time_ms")" \
+    "thread_allocated_bytes_per_record=$(metric_value "$SUMMARY_FILE" "${role}_thread_allocated_bytes_per_record")"
+done
+echo "consumers gc_count=$(metric_value "$SUMMARY_FILE" consumers_gc_count)" \
+  "gc_time_ms=$(metric_value "$SUMMARY_FILE" consumers_gc_time_ms) pipe_parse_mode=$PIPE_PARSE_MODE"
+echo "Summary: $LOG_DIR/compare_injvm_summary.kv"
@@ -9,7 +9,9 @@ RUNS_DIR="$LOG_DIR/runs"
 RECORD_COUNT="${RECORD_COUNT:-1000000}"
 RUN_TIMEOUT_SECONDS="${RUN_TIMEOUT_SECONDS:-7200}"
 PHASE_METRICS_ENABLED="${PHASE_METRICS_ENABLED:-true}"
+PRODUCER_ENCODE_MODE="${PRODUCER_ENCODE_MODE:-mixed}"
 POLL_TIMEOUT_MS="${POLL_TIMEOUT_MS:-200}"
+PIPE_PARSE_MODE="${PIPE_PARSE_MODE:-baseline}"
 RUN_ID="${RUN_ID:-$(date +%Y%m%d_%H%M%S)}"
 
 PIPE_TOPIC_BASE="${PIPE_TOPIC_BASE:-RAW_PIPE}"
@@ -117,7 +119,9 @@ ensure_java17
 export RUN_ID
 export RECORD_COUNT
 export PHASE_METRICS_ENABLED
+export PRODUCER_ENCODE_MODE
 export POLL_TIMEOUT_MS
+export PIPE_PARSE_MODE
 export PIPE_TOPIC_NAME
 export AVRO_TOPIC_NAME
 
@@ -227,6 +231,9 @@ pipe_c1_tput="$(metric_value "$PIPE_C1" "throughput_rec_per_sec")"
 pipe_c1_arrow_3="$(metric_value "$PIPE_C1" "arrow_topic_to_consumer_decode_or_split_ms")"
 pipe_c1_arrow_4="$(metric_value "$PIPE_C1" "arrow_topic_to_consumer_parse_selected_ms")"
 pipe_c1_arrow_total="$(metric_value "$PIPE_C1" "arrow_topic_to_consumer_total_ms")"
+pipe_c1_alloc_per_record="$(metric_value "$PIPE_C1" "role_thread_allocated_bytes_per_record")"
+pipe_c1_gc_count="$(metric_value "$PIPE_C1" "gc_count")"
+pipe_c1_gc_time="$(metric_value "$PIPE_C1" "gc_time_ms")"
 
 pipe_c2_start="$(metric_value "$PIPE_C2" "start_epoch_ms")"
 pipe_c2_end="$(metric_value "$PIPE_C2" "end_epoch_ms")"
@@ -238,6 +245,9 @@ pipe_c2_tput="$(metric_value "$PIPE_C2" "throughput_rec_per_sec")"
 pipe_c2_arrow_3="$(metric_value "$PIPE_C2" "arrow_topic_to_consumer_decode_or_split_ms")"
 pipe_c2_arrow_4="$(metric_value "$PIPE_C2" "arrow_topic_to_consumer_parse_selected_ms")"
 pipe_c2_arrow_total="$(metric_value "$PIPE_C2" "arrow_topic_to_consumer_total_ms")"
+pipe_c2_alloc_per_record="$(metric_value "$PIPE_C2" "role_thread_allocated_bytes_per_record")"
+pipe_c2_gc_count="$(metric_value "$PIPE_C2" "gc_count")"
+pipe_c2_gc_time="$(metric_value "$PIPE_C2" "gc_time_ms")"
 
 avro_p_start="$(metric_value "$AVRO_PRODUCER" "start_epoch_ms")"
 avro_p_end="$(metric_value "$AVRO_PRODUCER" "end_epoch_ms")"
@@ -257,6 +267,9 @@ avro_c1_tput="$(metric_value "$AVRO_C1" "throughput_rec_per_sec")"
 avro_c1_arrow_3="$(metric_value "$AVRO_C1" "arrow_topic_to_consumer_decode_or_split_ms")"
 avro_c1_arrow_4="$(metric_value "$AVRO_C1" "arrow_topic_to_consumer_parse_selected_ms")"
 avro_c1_arrow_total="$(metric_value "$AVRO_C1" "arrow_topic_to_consumer_total_ms")"
+avro_c1_alloc_per_record="$(metric_value "$AVRO_C1" "role_thread_allocated_bytes_per_record")"
+avro_c1_gc_count="$(metric_value "$AVRO_C1" "gc_count")"
+avro_c1_gc_time="$(metric_value "$AVRO_C1" "gc_time_ms")"
 
 avro_c2_start="$(metric_value "$AVRO_C2" "start_epoch_ms")"
 avro_c2_end="$(metric_value "$AVRO_C2" "end_epoch_ms")"
@@ -268,6 +281,9 @@ avro_c2_tput="$(metric_value "$AVRO_C2" "throughput_rec_per_sec")"
 avro_c2_arrow_3="$(metric_value "$AVRO_C2" "arrow_topic_to_consumer_decode_or_split_ms")"
 avro_c2_arrow_4="$(metric_value "$AVRO_C2" "arrow_topic_to_consumer_parse_selected_ms")"
 avro_c2_arrow_total="$(metric_value "$AVRO_C2" "arrow_topic_to_consumer_total_ms")"
+avro_c2_alloc_per_record="$(metric_value "$AVRO_C2" "role_thread_allocated_bytes_per_record")"
+avro_c2_gc_count="$(metric_value "$AVRO_C2" "gc_count")"
+avro_c2_gc_time="$(metric_value "$AVRO_C2" "gc_time_ms")"
 
 pipe_case_start="$(min_of_3 "$pipe_p_start" "$pipe_c1_start" "$pipe_c2_start")"
 pipe_case_end="$(max_of_3 "$pipe_p_end" "$pipe_c1_end" "$pipe_c2_end")"
@@ -296,6 +312,8 @@ run_id=$RUN_ID
 record_count=$RECORD_COUNT
 shared_kafka=true
 mode=parallel_c1_c2
+pipe_parse_mode=$PIPE_PARSE_MODE
+producer_encode_mode=$PRODUCER_ENCODE_MODE
 pipe_topic_name=$PIPE_TOPIC_NAME
 avro_topic_name=$AVRO_TOPIC_NAME
 maven_build_wall_ms=$mvn_build_wall_ms
@@ -324,6 +342,12 @@ pipe_consumer1_avg_process_cpu_pct=$pipe_c1_cpu_avg
 pipe_consumer2_avg_process_cpu_pct=$pipe_c2_cpu_avg
 pipe_consumer1_max_process_cpu_pct=$pipe_c1_cpu_max
 pipe_consumer2_max_process_cpu_pct=$pipe_c2_cpu_max
+pipe_consumer1_role_thread_allocated_bytes_per_record=$pipe_c1_alloc_per_record
+pipe_consumer1_gc_count=$pipe_c1_gc_count
+pipe_consumer1_gc_time_ms=$pipe_c1_gc_time
+pipe_consumer2_role_thread_allocated_bytes_per_record=$pipe_c2_alloc_per_record
+pipe_consumer2_gc_count=$pipe_c2_gc_count
+pipe_consumer2_gc_time_ms=$pipe_c2_gc_time
 
 avro_case_e2e_wall_time_ms=$avro_case_e2e
 avro_case_total_process_cpu_time_ms=$avro_case_cpu_total
@@ -345,6 +369,12 @@ avro_consumer1_avg_process_cpu_pct=$avro_c1_cpu_avg
 avro_consumer2_avg_process_cpu_pct=$avro_c2_cpu_avg
 avro_consumer1_max_process_cpu_pct=$avro_c1_cpu_max
 avro_consumer2_max_process_cpu_pct=$avro_c2_cpu_max
+avro_consumer1_role_thread_allocated_bytes_per_record=$avro_c1_alloc_per_record
+avro_consumer1_gc_count=$avro_c1_gc_count
+avro_consumer1_gc_time_ms=$avro_c1_gc_time
+avro_consumer2_role_thread_allocated_bytes_per_record=$avro_c2_alloc_per_record
+avro_consumer2_gc_count=$avro_c2_gc_count
+avro_consumer2_gc_time_ms=$avro_c2_gc_time
 
 pipe_vs_avro_e2e_delta_ms=$pipe_vs_avro_e2e_delta_ms
 pipe_vs_avro_e2e_delta_pct=$pipe_vs_avro_e2e_delta_pct
@@ -7,6 +7,7 @@ import com.benchmark.model.FieldType;
 import com.benchmark.runner.avro.AvroBenchmark;
 import com.benchmark.runner.proto.ProtobufBenchmark;
 import com.benchmark.runner.split.SplitBenchmark;
+import com.benchmark.runner.split.SplitBytesBenchmark;
 import org.apache.avro.Schema;
 
 import java.io.File;
@@ -34,7 +35,7 @@ public class BenchmarkSuite {
     private static final int WARMUP_SIZE = 2000;
     private static final int REPETITIONS = 1;
     private static final int SELECTED_FIELD_COUNT = 10;
-    private static final long FIELD_SELECTION_SEED = 42L;
+    static final long FIELD_SELECTION_SEED = 42L;
 
     private final PrintWriter logWriter;
     private final List<BenchmarkStrategy> strategies;
@@ -88,8 +89,10 @@ public class BenchmarkSuite {
             int currentIndex = (offset + i) % strategies.size();
             BenchmarkStrategy strategy = strategies.get(currentIndex);
 
-            ResultWithCpu selected = measureWithCpu(() -> strategy.measureSelected(records));
-            ResultWithCpu full = measureWithCpu(() -> strategy.measureFull(records));
+            ResultWithCpu selected = measureWithCpu(strategy.getName(), "selected", size,
+                    () -> strategy.measureSelected(records));
+            ResultWithCpu full = measureWithCpu(strategy.getName(), "full", size,
+                    () -> strategy.measureFull(records));
 
             results.put(strategy.getName() + "_selected", selected.result);
             results.put(strategy.getName() + "_full", full.result);
@@ -284,6 +287,9 @@ public class BenchmarkSuite {
         }
     }
 
+    /**
+     * Runs the fixed X/Y suite, or the selectivity sweep when the first argument is {@code sweep}.
+     */
     public static void main(String[] args) {
         try {
             String schemaPath = "src/main/avro/TestRecord.avsc";
@@ -297,6 +303,11 @@ public class BenchmarkSuite {
 
             Schema avroSchema = AvroBenchmark.loadSchema(schemaPath);
 
+            if (args.length > 0 && "sweep".equals(args[0])) {
+                SelectivitySweep.fromEnvironment(avroSchema).run();
+                return;
+            }
+
             List<FieldSpec> selectedFields = generateSelectedFields();
 
             // Initialize Strategies
@@ -304,6 +315,8 @@ public class BenchmarkSuite {
             strategies.add(new AvroBenchmark(avroSchema, selectedFields));
             strategies.add(new ProtobufBenchmark(selectedFields));
             strategies.add(new SplitBenchmark(selectedFields));
+            strategies.add(new SplitBenchmark(selectedFields, true));
+            strategies.add(new SplitBytesBenchmark(selectedFields));
 
             System.out.println("Initialized strategies: "
                     + strategies.stream().map(BenchmarkStrategy::getName).collect(Collectors.joining(", ")));
@@ -320,19 +333,12 @@ public class BenchmarkSuite {
     }
 
     private static List<FieldSpec> generateSelectedFields() {
-        Random random = new Random(FIELD_SELECTION_SEED);
-        Set<Integer> positions = new HashSet<>();
-        while (positions.size() < SELECTED_FIELD_COUNT) {
-            positions.add(random.nextInt(DataGenerator.TOTAL_FIELDS));
-        }
-
-        return positions.stream()
-                .sorted()
-                .map(BenchmarkSuite::positionToFieldSpec)
+        return Arrays.stream(FieldPlacement.SCATTERED.positions(SELECTED_FIELD_COUNT, FIELD_SELECTION_SEED))
+                .mapToObj(BenchmarkSuite::positionToFieldSpec)
                 .collect(Collectors.toList());
     }
 
-    private static FieldSpec positionToFieldSpec(int position) {
+    static FieldSpec positionToFieldSpec(int position) {
         if (position < DataGenerator.INT_FIELDS) {
             int index = position;
             return new FieldSpec(FieldType.INT, index, position, position + 1, "int_" + index);
@@ -350,7 +356,11 @@ public class BenchmarkSuite {
         return new FieldSpec(FieldType.STRING, index, position, position + 1, "str_" + index);
     }
 
-    private static ResultWithCpu measureWithCpu(Measurement measurement) throws IOException {
+    /**
+     * Measures one strategy run and commits a {@link PhaseCompletedEvent} for it.
+     */
+    static ResultWithCpu measureWithCpu(String strategyName, String mode, int size, Measurement measurement)
+            throws IOException {
         ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
         boolean cpuTimeEnabled = threadBean.isThreadCpuTimeSupported() && threadBean.isThreadCpuTimeEnabled();
         if (!threadBean.isThreadCpuTimeEnabled() && threadBean.isThreadCpuTimeSupported()) {
@@ -358,11 +368,14 @@ public class BenchmarkSuite {
             cpuTimeEnabled = true;
         }
 
+        PhaseCompletedEvent event = new PhaseCompletedEvent();
+        event.begin();
         long startWall = System.nanoTime();
         long startCpu = cpuTimeEnabled ? threadBean.getCurrentThreadCpuTime() : -1L;
         BenchmarkResult result = measurement.run();
         long endWall = System.nanoTime();
         long endCpu = cpuTimeEnabled ? threadBean.getCurrentThreadCpuTime() : -1L;
+        event.end();
 
         long wallNanos = endWall - startWall;
         long cpuNanos = cpuTimeEnabled ? Math.max(0, endCpu - startCpu) : -1L;
@@ -371,6 +384,14 @@ public class BenchmarkSuite {
                 ? Math.min(100.0, (cpuNanos * 100.0) / wallNanos)
                 : -1.0;
 
+        if (event.shouldCommit()) {
+            event.strategy = strategyName;
+            event.mode = mode;
+            event.records = size;
+            event.cpuNanos = cpuNanos;
+            event.commit();
+        }
+
         return new ResultWithCpu(result, cpuTimeSeconds, cpuUsagePercent);
     }
 
@@ -405,7 +426,7 @@ public class BenchmarkSuite {
             Map<String, ResultWithCpu> cpuResults) {
     }
 
-    private record ResultWithCpu(
+    record ResultWithCpu(
             BenchmarkResult result,
             double cpuTimeSeconds,
             double cpuUsagePercent) {
@@ -417,7 +438,7 @@ public class BenchmarkSuite {
     }
 
     @FunctionalInterface
-    private interface Measurement {
+    interface Measurement {
         BenchmarkResult run() throws IOException;
     }
 
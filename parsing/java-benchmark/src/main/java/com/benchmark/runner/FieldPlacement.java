@@ -0,0 +1,77 @@
+package com.benchmark.runner;
+
+import com.benchmark.generator.DataGenerator;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Where the selected fields sit in the 250-field record (int block first, string block last).
+ * {@code scattered} uses the suite's seeded random draw, so 10 scattered fields are the default X selection.
+ */
+public enum FieldPlacement {
+    FRONT("front"),
+    MIDDLE("middle"),
+    TAIL("tail"),
+    SCATTERED("scattered");
+
+    private final String value;
+
+    FieldPlacement(String value) {
+        this.value = value;
+    }
+
+    public String value() {
+        return value;
+    }
+
+    public static FieldPlacement from(String value) {
+        for (FieldPlacement placement : values()) {
+            if (placement.value.equals(value)) {
+                return placement;
+            }
+        }
+        throw new IllegalArgumentException("Unknown placement: " + value);
+    }
+
+    /**
+     * Sorted record positions of {@code count} selected fields.
+     */
+    public int[] positions(int count, long seed) {
+        if (count <= 0 || count > DataGenerator.TOTAL_FIELDS) {
+            throw new IllegalArgumentException("Selected field count must be in [1, "
+                    + DataGenerator.TOTAL_FIELDS + "]: " + count);
+        }
+
+        int start;
+        switch (this) {
+            case FRONT:
+                start = 0;
+                break;
+            case MIDDLE:
+                start = (DataGenerator.TOTAL_FIELDS - count) / 2;
+                break;
+            case TAIL:
+                start = DataGenerator.TOTAL_FIELDS - count;
+                break;
+            default:
+                return scattered(count, seed);
+        }
+
+        int[] positions = new int[count];
+        for (int i = 0; i < count; i++) {
+            positions[i] = start + i;
+        }
+        return positions;
+    }
+
+    private static int[] scattered(int count, long seed) {
+        Random random = new Random(seed);
+        Set<Integer> positions = new HashSet<>();
+        while (positions.size() < count) {
+            positions.add(random.nextInt(DataGenerator.TOTAL_FIELDS));
+        }
+        return positions.stream().mapToInt(Integer::intValue).sorted().toArray();
+    }
+}
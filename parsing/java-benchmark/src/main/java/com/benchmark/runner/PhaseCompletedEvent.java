@@ -0,0 +1,31 @@
+package com.benchmark.runner;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event committed for every strategy measurement, so recordings started with
+ * {@code -XX:StartFlightRecording} can correlate GC, allocation and lock activity with phases.
+ */
+@Name("com.benchmark.suite.PhaseCompleted")
+@Label("Benchmark Phase Completed")
+@Category({"Benchmark", "Suite"})
+@StackTrace(false)
+final class PhaseCompletedEvent extends jdk.jfr.Event {
+
+    @Label("Strategy")
+    String strategy;
+
+    @Label("Mode")
+    String mode;
+
+    @Label("Records")
+    int records;
+
+    @Label("Thread CPU Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long cpuNanos;
+}
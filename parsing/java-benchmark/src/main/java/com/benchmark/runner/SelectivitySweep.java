@@ -0,0 +1,223 @@
+package com.benchmark.runner;
+
+import com.benchmark.generator.DataGenerator;
+import com.benchmark.model.BenchmarkResult;
+import com.benchmark.model.FieldSpec;
+import com.benchmark.runner.avro.AvroBenchmark;
+import com.benchmark.runner.proto.ProtobufBenchmark;
+import com.benchmark.runner.split.SplitBenchmark;
+import com.benchmark.runner.split.SplitBytesBenchmark;
+import org.apache.avro.Schema;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Selectivity sweep: runs the X (selected fields) path of every strategy for each selected field
+ * count and placement, to show where split, Avro reader schema and Protobuf skipField break even.
+ *
+ * Settings (environment): SWEEP_FIELD_COUNTS, SWEEP_PLACEMENTS, SWEEP_RECORDS, SWEEP_REPETITIONS.
+ * Every point runs on the same seeded record set; the reported time is the median repetition.
+ */
+public final class SelectivitySweep {
+
+    private static final String DEFAULT_FIELD_COUNTS = "1,5,10,25,50,100,250";
+    private static final String DEFAULT_PLACEMENTS = "front,middle,tail,scattered";
+    private static final int DEFAULT_RECORDS = 100_000;
+    private static final int DEFAULT_REPETITIONS = 3;
+    private static final int WARMUP_SIZE = 2000;
+    private static final String CSV_FILE = "selectivity_sweep.csv";
+    private static final String MARKDOWN_FILE = "selectivity_sweep.md";
+
+    private final Schema avroSchema;
+    private final int[] fieldCounts;
+    private final List<FieldPlacement> placements;
+    private final int recordCount;
+    private final int repetitions;
+
+    SelectivitySweep(Schema avroSchema, int[] fieldCounts, List<FieldPlacement> placements, int recordCount,
+            int repetitions) {
+        if (recordCount <= 0 || repetitions <= 0) {
+            throw new IllegalArgumentException("SWEEP_RECORDS and SWEEP_REPETITIONS must be > 0");
+        }
+        this.avroSchema = avroSchema;
+        this.fieldCounts = fieldCounts;
+        this.placements = placements;
+        this.recordCount = recordCount;
+        this.repetitions = repetitions;
+    }
+
+    static SelectivitySweep fromEnvironment(Schema avroSchema) {
+        int[] fieldCounts = Arrays.stream(env("SWEEP_FIELD_COUNTS", DEFAULT_FIELD_COUNTS).split(","))
+                .map(String::trim)
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        List<FieldPlacement> placements = Arrays.stream(env("SWEEP_PLACEMENTS", DEFAULT_PLACEMENTS).split(","))
+                .map(String::trim)
+                .map(FieldPlacement::from)
+                .collect(Collectors.toList());
+        int recordCount = Integer.parseInt(env("SWEEP_RECORDS", Integer.toString(DEFAULT_RECORDS)));
+        int repetitions = Integer.parseInt(env("SWEEP_REPETITIONS", Integer.toString(DEFAULT_REPETITIONS)));
+        return new SelectivitySweep(avroSchema, fieldCounts, placements, recordCount, repetitions);
+    }
+
+    public void run() throws IOException {
+        System.out.printf("Selectivity sweep: counts=%s placements=%s records=%d repetitions=%d%n",
+                Arrays.toString(fieldCounts),
+                placements.stream().map(FieldPlacement::value).collect(Collectors.joining(",")),
+                recordCount,
+                repetitions);
+
+        DataGenerator generator = new DataGenerator(BenchmarkSuite.FIELD_SELECTION_SEED);
+        List<String> records = new ArrayList<>(recordCount);
+        for (int i = 0; i < recordCount; i++) {
+            records.add(generator.generatePipeRecord());
+        }
+        List<String> warmup = records.subList(0, Math.min(WARMUP_SIZE, records.size()));
+
+        List<SweepPoint> points = new ArrayList<>();
+        for (FieldPlacement placement : placements) {
+            for (int count : fieldCounts) {
+                List<FieldSpec> selectedFields = Arrays.stream(
+                                placement.positions(count, BenchmarkSuite.FIELD_SELECTION_SEED))
+                        .mapToObj(BenchmarkSuite::positionToFieldSpec)
+                        .collect(Collectors.toList());
+                List<BenchmarkStrategy> strategies = List.of(
+                        new AvroBenchmark(avroSchema, selectedFields),
+                        new ProtobufBenchmark(selectedFields),
+                        new SplitBenchmark(selectedFields),
+                        new SplitBenchmark(selectedFields, true),
+                        new SplitBytesBenchmark(selectedFields));
+
+                for (BenchmarkStrategy strategy : strategies) {
+                    strategy.measureSelected(warmup);
+                }
+                List<SweepPoint> pointResults = measurePoint(placement, count, strategies, records);
+                points.addAll(pointResults);
+                for (SweepPoint point : pointResults) {
+                    System.out.printf(Locale.ROOT, "  %-9s n=%-3d %-8s %10.1f ms %,12d rec/s%n",
+                            placement.value(), count, point.format(), point.timeMs(), point.throughput());
+                }
+            }
+        }
+
+        writeCsv(Path.of(CSV_FILE), points);
+        writeMarkdown(Path.of(MARKDOWN_FILE), points);
+        System.out.println("\nSweep written to: " + CSV_FILE + ", " + MARKDOWN_FILE);
+    }
+
+    private List<SweepPoint> measurePoint(FieldPlacement placement, int count, List<BenchmarkStrategy> strategies,
+            List<String> records) throws IOException {
+        List<List<BenchmarkSuite.ResultWithCpu>> runs = new ArrayList<>();
+        for (int i = 0; i < strategies.size(); i++) {
+            runs.add(new ArrayList<>());
+        }
+
+        String mode = "sweep-" + placement.value() + "-" + count;
+        for (int repetition = 0; repetition < repetitions; repetition++) {
+            // Alternating execution order, as in BenchmarkSuite.runStep
+            for (int i = 0; i < strategies.size(); i++) {
+                int index = (repetition + i) % strategies.size();
+                BenchmarkStrategy strategy = strategies.get(index);
+                runs.get(index).add(BenchmarkSuite.measureWithCpu(strategy.getName(), mode, records.size(),
+                        () -> strategy.measureSelected(records)));
+            }
+            System.gc();
+        }
+
+        List<SweepPoint> points = new ArrayList<>();
+        for (int i = 0; i < strategies.size(); i++) {
+            List<BenchmarkSuite.ResultWithCpu> sorted = runs.get(i).stream()
+                    .sorted(Comparator.comparingDouble(run -> run.result().serializationTimeSeconds()))
+                    .collect(Collectors.toList());
+            BenchmarkSuite.ResultWithCpu median = sorted.get(sorted.size() / 2);
+            BenchmarkResult result = median.result();
+            points.add(new SweepPoint(placement, count, strategies.get(i).getName(),
+                    result.serializationTimeMs(), result.serializationThroughput(), median.cpuTimeSeconds()));
+        }
+        return points;
+    }
+
+    private static void writeCsv(Path file, List<SweepPoint> points) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            out.println("placement,field_count,format,time_ms,throughput_rec_per_sec,cpu_s");
+            for (SweepPoint point : points) {
+                out.printf(Locale.ROOT, "%s,%d,%s,%.3f,%d,%.4f%n", point.placement().value(), point.fieldCount(),
+                        point.format(), point.timeMs(), point.throughput(), point.cpuSeconds());
+            }
+        }
+    }
+
+    private void writeMarkdown(Path file, List<SweepPoint> points) throws IOException {
+        List<String> formats = points.stream().map(SweepPoint::format).distinct().collect(Collectors.toList());
+        StringBuilder sb = new StringBuilder();
+        sb.append("# Seçicilik Taraması (Selectivity Sweep)\n\n");
+        sb.append(String.format(Locale.ROOT, "Record: %d, tekrar: %d (medyan), Java: %s%n%n",
+                recordCount, repetitions, System.getProperty("java.version")));
+        sb.append("Grafiklerde çizgi sırası: ").append(String.join(", ", formats)).append(" (rec/s).\n");
+
+        for (FieldPlacement placement : placements) {
+            sb.append("\n## ").append(placement.value()).append("\n\n");
+            sb.append("~~~mermaid\nxychart-beta\n");
+            sb.append("  title \"").append(placement.value()).append(" - throughput (rec/s)\"\n");
+            sb.append("  x-axis [").append(Arrays.stream(fieldCounts)
+                    .mapToObj(count -> "\"" + count + "\"")
+                    .collect(Collectors.joining(", "))).append("]\n");
+            sb.append("  y-axis \"rec/s\"\n");
+            for (String format : formats) {
+                sb.append("  line [").append(Arrays.stream(fieldCounts)
+                        .mapToObj(count -> Long.toString(find(points, placement, count, format).throughput()))
+                        .collect(Collectors.joining(", "))).append("]\n");
+            }
+            sb.append("~~~\n\n");
+
+            sb.append("| Alan | ").append(String.join(" | ", formats)).append(" | En hızlı |\n");
+            sb.append("|").append(" --- |".repeat(formats.size() + 2)).append("\n");
+            for (int count : fieldCounts) {
+                sb.append("| ").append(count).append(" | ");
+                SweepPoint fastest = null;
+                for (String format : formats) {
+                    SweepPoint point = find(points, placement, count, format);
+                    sb.append(String.format(Locale.ROOT, "%,d", point.throughput())).append(" | ");
+                    if (fastest == null || point.throughput() > fastest.throughput()) {
+                        fastest = point;
+                    }
+                }
+                sb.append(fastest.format()).append(" |\n");
+            }
+        }
+        Files.writeString(file, sb.toString(), StandardCharsets.UTF_8);
+    }
+
+    private static SweepPoint find(List<SweepPoint> points, FieldPlacement placement, int count, String format) {
+        return points.stream()
+                .filter(point -> point.placement() == placement
+                        && point.fieldCount() == count
+                        && point.format().equals(format))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static String env(String key, String defaultValue) {
+        String value = System.getenv(key);
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+
+    private record SweepPoint(
+            FieldPlacement placement,
+            int fieldCount,
+            String format,
+            double timeMs,
+            long throughput,
+            double cpuSeconds) {
+    }
+}
@@ -13,20 +13,27 @@ import static com.benchmark.generator.DataGenerator.*;
 /**
  * Baseline benchmark: String.split() parsing.
  * Measures the cost of parsing pipe-separated strings without any binary
- * format.
+ * format. With {@code asciiNumbers} the int/long fields are parsed by
+ * {@link AsciiNumbers} instead of Integer.parseInt/Long.parseLong.
  */
 public class SplitBenchmark implements BenchmarkStrategy {
 
     private final List<FieldSpec> selectedFields;
+    private final boolean asciiNumbers;
     private volatile long outputSink;
 
     public SplitBenchmark(List<FieldSpec> selectedFields) {
+        this(selectedFields, false);
+    }
+
+    public SplitBenchmark(List<FieldSpec> selectedFields, boolean asciiNumbers) {
         this.selectedFields = selectedFields;
+        this.asciiNumbers = asciiNumbers;
     }
 
     @Override
     public String getName() {
-        return "Split";
+        return asciiNumbers ? "SplitAscii" : "Split";
     }
 
     @Override
@@ -80,12 +87,12 @@ public class SplitBenchmark implements BenchmarkStrategy {
 
         // Parse ints
         for (int i = 0; i < INT_FIELDS; i++) {
-            int val = Integer.parseInt(parts[index++]);
+            int val = parseInt(parts[index++]);
         }
 
         // Parse longs
         for (int i = 0; i < LONG_FIELDS; i++) {
-            long val = Long.parseLong(parts[index++]);
+            long val = parseLong(parts[index++]);
         }
 
         // Parse strings
@@ -106,13 +113,13 @@ public class SplitBenchmark implements BenchmarkStrategy {
         for (FieldSpec field : selectedFields) {
             String value = parts[field.position()];
             if (field.type() == FieldType.INT) {
-                int val = Integer.parseInt(value);
+                int val = parseInt(value);
                 if (!first) {
                     sb.append('|');
                 }
                 sb.append(val);
             } else if (field.type() == FieldType.LONG) {
-                long val = Long.parseLong(value);
+                long val = parseLong(value);
                 if (!first) {
                     sb.append('|');
                 }
@@ -127,4 +134,12 @@ public class SplitBenchmark implements BenchmarkStrategy {
         }
         return sb.toString();
     }
+
+    private int parseInt(String value) {
+        return asciiNumbers ? AsciiNumbers.parseInt(value) : Integer.parseInt(value);
+    }
+
+    private long parseLong(String value) {
+        return asciiNumbers ? AsciiNumbers.parseLong(value) : Long.parseLong(value);
+    }
 }
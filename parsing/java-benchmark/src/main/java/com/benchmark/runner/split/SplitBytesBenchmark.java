@@ -0,0 +1,138 @@
+package com.benchmark.runner.split;
+
+import com.benchmark.model.BenchmarkResult;
+import com.benchmark.model.FieldSpec;
+import com.benchmark.model.FieldType;
+import com.benchmark.runner.BenchmarkStrategy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static com.benchmark.generator.DataGenerator.*;
+
+/**
+ * Split benchmark on UTF-8 bytes, the form a pipe record arrives in from Kafka or a file.
+ * Each record is encoded to UTF-8 inside the timed loop (like the Avro/Protobuf serialize step),
+ * then scanned once for '|' cell boundaries; int/long cells are parsed straight from the byte[]
+ * by the SWAR path of {@link AsciiNumbers}, string cells stay byte ranges until they are output.
+ */
+public class SplitBytesBenchmark implements BenchmarkStrategy {
+
+    private final List<FieldSpec> selectedFields;
+    private final int[] cellStarts = new int[TOTAL_FIELDS + 1];
+    private volatile long outputSink;
+
+    public SplitBytesBenchmark(List<FieldSpec> selectedFields) {
+        this.selectedFields = selectedFields;
+    }
+
+    @Override
+    public String getName() {
+        return "SplitAsciiBytes";
+    }
+
+    @Override
+    public BenchmarkResult measureSelected(List<String> records) throws IOException {
+        long start = System.nanoTime();
+        long totalBytes = 0;
+        long outputChars = 0;
+
+        for (String record : records) {
+            byte[] data = record.getBytes(StandardCharsets.UTF_8);
+            totalBytes += data.length;
+            String out = parseSelectedFields(data);
+            outputChars += out.length();
+        }
+
+        long end = System.nanoTime();
+        outputSink = outputChars;
+        double timeSeconds = (end - start) / 1_000_000_000.0;
+
+        return new BenchmarkResult(timeSeconds, 0, totalBytes, records.size());
+    }
+
+    @Override
+    public BenchmarkResult measureFull(List<String> records) throws IOException {
+        long start = System.nanoTime();
+        long totalBytes = 0;
+
+        for (String record : records) {
+            byte[] data = record.getBytes(StandardCharsets.UTF_8);
+            totalBytes += data.length;
+            parseRecord(data);
+        }
+
+        long end = System.nanoTime();
+        double timeSeconds = (end - start) / 1_000_000_000.0;
+
+        return new BenchmarkResult(timeSeconds, 0, totalBytes, records.size());
+    }
+
+    /**
+     * Records where each cell starts; {@code cellStarts[i + 1] - 1} is the end of cell {@code i}.
+     * Returns false when the record has fewer than {@code TOTAL_FIELDS} cells.
+     */
+    private boolean splitCells(byte[] data) {
+        int cell = 0;
+        cellStarts[0] = 0;
+        for (int i = 0; i < data.length && cell < TOTAL_FIELDS; i++) {
+            if (data[i] == '|') {
+                cellStarts[++cell] = i + 1;
+            }
+        }
+        if (cell < TOTAL_FIELDS - 1) {
+            return false;
+        }
+        if (cell == TOTAL_FIELDS - 1) {
+            cellStarts[TOTAL_FIELDS] = data.length + 1;
+        }
+        return true;
+    }
+
+    private void parseRecord(byte[] data) {
+        if (!splitCells(data)) {
+            // In a real CDR processor, this would be an error log
+            return;
+        }
+
+        int index = 0;
+
+        // Parse ints
+        for (int i = 0; i < INT_FIELDS; i++, index++) {
+            int val = AsciiNumbers.parseInt(data, cellStarts[index], cellStarts[index + 1] - 1);
+        }
+
+        // Parse longs
+        for (int i = 0; i < LONG_FIELDS; i++, index++) {
+            long val = AsciiNumbers.parseLong(data, cellStarts[index], cellStarts[index + 1] - 1);
+        }
+
+        // Strings stay as byte ranges; nothing to parse
+    }
+
+    private String parseSelectedFields(byte[] data) {
+        if (!splitCells(data)) {
+            throw new IllegalArgumentException("Record has fewer than " + TOTAL_FIELDS + " pipe fields");
+        }
+        StringBuilder sb = new StringBuilder(256);
+        boolean first = true;
+
+        for (FieldSpec field : selectedFields) {
+            int from = cellStarts[field.position()];
+            int to = cellStarts[field.position() + 1] - 1;
+            if (!first) {
+                sb.append('|');
+            }
+            if (field.type() == FieldType.INT) {
+                sb.append(AsciiNumbers.parseInt(data, from, to));
+            } else if (field.type() == FieldType.LONG) {
+                sb.append(AsciiNumbers.parseLong(data, from, to));
+            } else {
+                sb.append(new String(data, from, to - from, StandardCharsets.UTF_8));
+            }
+            first = false;
+        }
+        return sb.toString();
+    }
+}
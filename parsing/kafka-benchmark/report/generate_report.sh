@@ -0,0 +1,22 @@
+#!/usr/bin/env bash
+set -euo pipefail
+
+ROOT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")/.." && pwd)"
+REPORT_DIR="$ROOT_DIR/report"
+AVRO_VS_PIPE_RUNS_DIR="$ROOT_DIR/../avro-vs-pipe/logs/runs"
+
+REPORT_OUTPUT_DIR="${REPORT_OUTPUT_DIR:-$REPORT_DIR/out}"
+REPORT_INPUT_DIRS="${REPORT_INPUT_DIRS:-}"
+
+if [[ -z "$REPORT_INPUT_DIRS" ]]; then
+  REPORT_INPUT_DIRS="$ROOT_DIR/scenarios"
+  latest_avro_vs_pipe_run="$(ls -1d "$AVRO_VS_PIPE_RUNS_DIR"/*/ 2>/dev/null | sort | tail -n 1 || true)"
+  if [[ -n "$latest_avro_vs_pipe_run" ]]; then
+    REPORT_INPUT_DIRS="$REPORT_INPUT_DIRS,${latest_avro_vs_pipe_run%/}"
+  fi
+fi
+
+mvn -q -f "$ROOT_DIR/pom.xml" -pl report -am package
+
+IFS=',' read -r -a input_dirs <<< "$REPORT_INPUT_DIRS"
+java -jar "$REPORT_DIR/target/benchmark-report-app.jar" "$REPORT_OUTPUT_DIR" "${input_dirs[@]}"
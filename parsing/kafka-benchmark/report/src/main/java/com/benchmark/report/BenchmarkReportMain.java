@@ -0,0 +1,55 @@
+package com.benchmark.report;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Builds one cross-scenario report from the role metrics files of previous runs.
+ * Usage: {@code <output-dir> <input-dir>...}; writes {@code benchmark_report.md} and {@code benchmark_report.html}.
+ */
+public final class BenchmarkReportMain {
+
+    private static final String MARKDOWN_FILE = "benchmark_report.md";
+    private static final String HTML_FILE = "benchmark_report.html";
+
+    private BenchmarkReportMain() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Usage: BenchmarkReportMain <output-dir> <input-dir>...");
+        }
+
+        Path outputDir = Path.of(args[0]);
+        List<Path> inputs = new ArrayList<>();
+        for (String input : Arrays.copyOfRange(args, 1, args.length)) {
+            inputs.add(Path.of(input).toAbsolutePath().normalize());
+        }
+
+        List<ScenarioResult> scenarios = MetricsCollector.collect(inputs);
+        if (scenarios.isEmpty()) {
+            throw new IllegalStateException("No *_metrics.kv files found under: " + inputs);
+        }
+
+        String title = System.getenv().getOrDefault("REPORT_TITLE", "Kafka Benchmark Raporu");
+        String generatedAt = ZonedDateTime.now().format(DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+        ReportModel model = new ReportModel(scenarios);
+
+        Files.createDirectories(outputDir);
+        Path markdown = outputDir.resolve(MARKDOWN_FILE);
+        Path html = outputDir.resolve(HTML_FILE);
+        Files.writeString(markdown, MarkdownReport.render(model, title, generatedAt), StandardCharsets.UTF_8);
+        Files.writeString(html, HtmlReport.render(model, title, generatedAt), StandardCharsets.UTF_8);
+
+        System.out.println("scenarios=" + scenarios.size());
+        System.out.println("markdown=" + markdown);
+        System.out.println("html=" + html);
+    }
+}
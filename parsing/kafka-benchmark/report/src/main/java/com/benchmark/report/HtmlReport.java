@@ -0,0 +1,111 @@
+package com.benchmark.report;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Self-contained HTML: tables and inline SVG bar charts need no scripts; only the mermaid flows load
+ * the mermaid module from the CDN.
+ */
+final class HtmlReport {
+
+    private static final String MERMAID_MODULE = "https://cdn.jsdelivr.net/npm/mermaid@10/dist/mermaid.esm.min.mjs";
+    private static final int CHART_WIDTH = 760;
+    private static final int LABEL_WIDTH = 220;
+    private static final int VALUE_WIDTH = 110;
+    private static final int BAR_HEIGHT = 22;
+    private static final int BAR_GAP = 6;
+
+    private HtmlReport() {
+    }
+
+    static String render(ReportModel model, String title, String generatedAt) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("<!DOCTYPE html>\n<html lang=\"tr\">\n<head>\n<meta charset=\"utf-8\">\n");
+        sb.append("<title>").append(escape(title)).append("</title>\n");
+        sb.append("<style>\n")
+                .append("body { font-family: sans-serif; margin: 24px; color: #222; }\n")
+                .append("table { border-collapse: collapse; margin-bottom: 24px; font-size: 13px; }\n")
+                .append("th, td { border: 1px solid #ccc; padding: 4px 8px; text-align: right; }\n")
+                .append("th:first-child, td:first-child, th:nth-child(2), td:nth-child(2) { text-align: left; }\n")
+                .append("th { background: #f2f2f2; }\n")
+                .append("svg text { font-size: 12px; }\n")
+                .append("</style>\n</head>\n<body>\n");
+        sb.append("<h1>").append(escape(title)).append("</h1>\n");
+        sb.append("<p>Olusturulma: ").append(escape(generatedAt)).append("</p>\n");
+
+        sb.append("<h2>Senaryo Ozeti</h2>\n");
+        appendTable(sb, model.summaryHeader(), model.summaryRows());
+        sb.append("<h2>Rol Detayi</h2>\n");
+        appendTable(sb, model.roleHeader(), model.roleRows());
+
+        sb.append("<h2>Grafikler</h2>\n");
+        for (ReportModel.Chart chart : model.charts()) {
+            if (!chart.isEmpty()) {
+                appendChart(sb, chart);
+            }
+        }
+
+        sb.append("<h2>Akis Diyagramlari</h2>\n");
+        List<ScenarioResult> scenarios = model.scenarios();
+        for (int i = 0; i < scenarios.size(); i++) {
+            sb.append("<h3>").append(escape(scenarios.get(i).label())).append("</h3>\n");
+            sb.append("<pre class=\"mermaid\">\n").append(escape(model.flowDiagram(scenarios.get(i), i)))
+                    .append("</pre>\n");
+        }
+
+        sb.append("<script type=\"module\">\n")
+                .append("import mermaid from '").append(MERMAID_MODULE).append("';\n")
+                .append("mermaid.initialize({ startOnLoad: true });\n")
+                .append("</script>\n");
+        sb.append("</body>\n</html>\n");
+        return sb.toString();
+    }
+
+    private static void appendTable(StringBuilder sb, List<String> header, List<List<String>> rows) {
+        sb.append("<table>\n<tr>");
+        for (String cell : header) {
+            sb.append("<th>").append(escape(cell)).append("</th>");
+        }
+        sb.append("</tr>\n");
+        for (List<String> row : rows) {
+            sb.append("<tr>");
+            for (String cell : row) {
+                sb.append("<td>").append(escape(cell)).append("</td>");
+            }
+            sb.append("</tr>\n");
+        }
+        sb.append("</table>\n");
+    }
+
+    private static void appendChart(StringBuilder sb, ReportModel.Chart chart) {
+        int barArea = CHART_WIDTH - LABEL_WIDTH - VALUE_WIDTH;
+        int height = chart.values().size() * (BAR_HEIGHT + BAR_GAP) + BAR_GAP;
+        double max = chart.max();
+
+        sb.append("<h3>").append(escape(chart.title())).append(" (").append(escape(chart.unit())).append(")</h3>\n");
+        sb.append("<svg width=\"").append(CHART_WIDTH).append("\" height=\"").append(height)
+                .append("\" xmlns=\"http://www.w3.org/2000/svg\">\n");
+        for (int i = 0; i < chart.values().size(); i++) {
+            double value = chart.values().get(i);
+            int y = BAR_GAP + i * (BAR_HEIGHT + BAR_GAP);
+            int width = max > 0.0 ? (int) Math.round(barArea * value / max) : 0;
+            int textY = y + BAR_HEIGHT - 6;
+            sb.append("<text x=\"0\" y=\"").append(textY).append("\">")
+                    .append(escape(chart.labels().get(i))).append("</text>\n");
+            sb.append("<rect x=\"").append(LABEL_WIDTH).append("\" y=\"").append(y)
+                    .append("\" width=\"").append(width).append("\" height=\"").append(BAR_HEIGHT)
+                    .append("\" fill=\"#4e79a7\"/>\n");
+            sb.append("<text x=\"").append(LABEL_WIDTH + width + 6).append("\" y=\"").append(textY).append("\">")
+                    .append(String.format(Locale.ROOT, "%.2f", value)).append("</text>\n");
+        }
+        sb.append("</svg>\n");
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;")
+                .replace("<", "&lt;")
+                .replace(">", "&gt;")
+                .replace("\"", "&quot;");
+    }
+}
@@ -0,0 +1,61 @@
+package com.benchmark.report;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+final class MarkdownReport {
+
+    private MarkdownReport() {
+    }
+
+    static String render(ReportModel model, String title, String generatedAt) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("# ").append(title).append("\n\n");
+        sb.append("Olusturulma: ").append(generatedAt).append("\n\n");
+        sb.append("Kaynaklar:\n");
+        for (ScenarioResult scenario : model.scenarios()) {
+            sb.append("- `").append(scenario.label()).append("`: `").append(scenario.directory()).append("`\n");
+        }
+
+        sb.append("\n## Senaryo Ozeti\n\n");
+        appendTable(sb, model.summaryHeader(), model.summaryRows());
+
+        sb.append("\n## Rol Detayi\n\n");
+        appendTable(sb, model.roleHeader(), model.roleRows());
+
+        sb.append("\n## Grafikler\n");
+        for (ReportModel.Chart chart : model.charts()) {
+            if (chart.isEmpty()) {
+                continue;
+            }
+            sb.append("\n~~~mermaid\n");
+            sb.append("xychart-beta\n");
+            sb.append("  title \"").append(chart.title()).append("\"\n");
+            sb.append("  x-axis [").append(chart.labels().stream()
+                    .map(label -> "\"" + label + "\"")
+                    .collect(Collectors.joining(", "))).append("]\n");
+            sb.append("  y-axis \"").append(chart.unit()).append("\"\n");
+            sb.append("  bar [").append(chart.values().stream()
+                    .map(value -> String.format(Locale.ROOT, "%.4f", value))
+                    .collect(Collectors.joining(", "))).append("]\n");
+            sb.append("~~~\n");
+        }
+
+        sb.append("\n## Akis Diyagramlari\n");
+        List<ScenarioResult> scenarios = model.scenarios();
+        for (int i = 0; i < scenarios.size(); i++) {
+            sb.append("\n### ").append(scenarios.get(i).label()).append("\n\n");
+            sb.append("~~~mermaid\n").append(model.flowDiagram(scenarios.get(i), i)).append("~~~\n");
+        }
+        return sb.toString();
+    }
+
+    private static void appendTable(StringBuilder sb, List<String> header, List<List<String>> rows) {
+        sb.append("| ").append(String.join(" | ", header)).append(" |\n");
+        sb.append("|").append(" --- |".repeat(header.size())).append("\n");
+        for (List<String> row : rows) {
+            sb.append("| ").append(String.join(" | ", row)).append(" |\n");
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.benchmark.report;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Finds role metrics files under the input directories and groups them per directory and scenario.
+ * Archived avro-vs-pipe runs ({@code logs/runs/<id>}) are skipped unless a run directory is passed directly.
+ */
+final class MetricsCollector {
+
+    private static final int MAX_DEPTH = 3;
+    private static final String METRICS_SUFFIX = "_metrics.kv";
+    private static final String ARCHIVE_DIR = "runs";
+
+    private MetricsCollector() {
+    }
+
+    static List<ScenarioResult> collect(List<Path> roots) throws IOException {
+        Map<String, ScenarioResult> results = new LinkedHashMap<>();
+        for (Path root : roots) {
+            if (!Files.isDirectory(root)) {
+                System.err.println("Skipping missing input directory: " + root);
+                continue;
+            }
+            for (Path file : metricsFiles(root)) {
+                RoleMetricsSnapshot snapshot = RoleMetricsSnapshot.load(file);
+                if (snapshot.scenario() == null || snapshot.role() == null) {
+                    continue;
+                }
+                Path directory = file.getParent();
+                String key = directory + "|" + snapshot.scenario();
+                results.computeIfAbsent(key, ignored -> new ScenarioResult(snapshot.scenario(), directory))
+                        .add(snapshot);
+            }
+        }
+        return new ArrayList<>(results.values());
+    }
+
+    private static List<Path> metricsFiles(Path root) throws IOException {
+        try (Stream<Path> paths = Files.walk(root, MAX_DEPTH)) {
+            return paths
+                    .filter(Files::isRegularFile)
+                    .filter(path -> path.getFileName().toString().endsWith(METRICS_SUFFIX))
+                    .filter(path -> !isArchived(root.relativize(path)))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static boolean isArchived(Path relative) {
+        for (Path segment : relative) {
+            if (ARCHIVE_DIR.equals(segment.toString())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
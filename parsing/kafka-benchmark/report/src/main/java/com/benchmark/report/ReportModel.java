@@ -0,0 +1,182 @@
+package com.benchmark.report;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.OptionalDouble;
+import java.util.function.Function;
+
+/**
+ * Format-neutral report content: summary and per-role tables, bar chart series and one mermaid flow
+ * per scenario. {@link MarkdownReport} and {@link HtmlReport} only lay it out.
+ */
+final class ReportModel {
+
+    static final String NOT_AVAILABLE = "n/a";
+
+    private static final List<String> SUMMARY_HEADER = List.of(
+            "Senaryo", "Record", "E2E wall (ms)", "Toplam CPU (ms)", "CPU ns/record", "En iyiye gore",
+            "Byte/record", "C1/C2 CPU", "C1/C2 wall", "Efektif tput (rec/sn)"
+    );
+    private static final List<String> ROLE_HEADER = List.of(
+            "Senaryo", "Rol", "CPU (ms)", "CPU ns/record", "Wall (ms)", "Tput (rec/sn)",
+            "Encode (ms)", "Decode/split (ms)", "Parse (ms)", "Alloc byte/record"
+    );
+
+    private final List<ScenarioResult> scenarios;
+    private final double bestCpuNsPerRecord;
+
+    ReportModel(List<ScenarioResult> scenarios) {
+        this.scenarios = List.copyOf(scenarios);
+        this.bestCpuNsPerRecord = scenarios.stream()
+                .map(ScenarioResult::cpuNsPerRecord)
+                .filter(OptionalDouble::isPresent)
+                .mapToDouble(OptionalDouble::getAsDouble)
+                .min()
+                .orElse(0.0);
+    }
+
+    List<ScenarioResult> scenarios() {
+        return scenarios;
+    }
+
+    List<String> summaryHeader() {
+        return SUMMARY_HEADER;
+    }
+
+    List<List<String>> summaryRows() {
+        List<List<String>> rows = new ArrayList<>();
+        for (ScenarioResult scenario : scenarios) {
+            OptionalDouble cpuNsPerRecord = scenario.cpuNsPerRecord();
+            OptionalDouble vsBest = cpuNsPerRecord.isPresent() && bestCpuNsPerRecord > 0.0
+                    ? OptionalDouble.of(cpuNsPerRecord.getAsDouble() / bestCpuNsPerRecord)
+                    : OptionalDouble.empty();
+            rows.add(List.of(
+                    scenario.label(),
+                    format(scenario.records(), 0),
+                    format(scenario.e2eWallMs(), 0),
+                    format(scenario.totalCpuMs(), 0),
+                    format(cpuNsPerRecord, 1),
+                    vsBest.isPresent() ? format(vsBest, 2) + "x" : NOT_AVAILABLE,
+                    format(scenario.bytesPerRecord(), 1),
+                    format(scenario.consumerCpuRatio(), 4),
+                    format(scenario.consumerWallRatio(), 4),
+                    format(scenario.effectiveThroughput(), 1)
+            ));
+        }
+        return rows;
+    }
+
+    List<String> roleHeader() {
+        return ROLE_HEADER;
+    }
+
+    List<List<String>> roleRows() {
+        List<List<String>> rows = new ArrayList<>();
+        for (ScenarioResult scenario : scenarios) {
+            for (String role : ScenarioResult.ROLES) {
+                if (!scenario.hasRole(role)) {
+                    continue;
+                }
+                rows.add(List.of(
+                        scenario.label(),
+                        role,
+                        format(scenario.roleMetric(role, "process_cpu_time_ms"), 0),
+                        format(scenario.roleCpuNsPerRecord(role), 1),
+                        format(scenario.roleMetric(role, "wall_time_ms"), 0),
+                        format(scenario.roleMetric(role, "throughput_rec_per_sec"), 1),
+                        format(scenario.phaseMs(role, ScenarioResult.Phase.ENCODE), 0),
+                        format(scenario.phaseMs(role, ScenarioResult.Phase.DECODE_OR_SPLIT), 0),
+                        format(scenario.phaseMs(role, ScenarioResult.Phase.PARSE), 0),
+                        format(scenario.roleMetric(role, "role_thread_allocated_bytes_per_record"), 0)
+                ));
+            }
+        }
+        return rows;
+    }
+
+    List<Chart> charts() {
+        return List.of(
+                chart("Toplam CPU ns/record", "ns", ScenarioResult::cpuNsPerRecord),
+                chart("Byte/record (producer payload)", "byte", ScenarioResult::bytesPerRecord),
+                chart("Consumer-1 / Consumer-2 CPU orani", "oran", ScenarioResult::consumerCpuRatio),
+                chart("Efektif E2E throughput", "rec/sn", ScenarioResult::effectiveThroughput)
+        );
+    }
+
+    /**
+     * Same shape as the hand-written {@code compare_parallel_flow.md}: producer encode, topic, then
+     * decode/split and parse per consumer, edges labelled with phase and role CPU time.
+     */
+    String flowDiagram(ScenarioResult scenario, int index) {
+        String id = "S" + index;
+        StringBuilder sb = new StringBuilder();
+        sb.append("flowchart LR\n");
+        sb.append("  ").append(id).append("M[\"Map/Array Obj\"] -->|\"")
+                .append(edgeLabel(scenario, ScenarioResult.PRODUCER, ScenarioResult.Phase.ENCODE))
+                .append("\"| ").append(id).append("P[\"Producer: encode\"]\n");
+        sb.append("  ").append(id).append("P -->|\"wall=")
+                .append(format(scenario.roleMetric(ScenarioResult.PRODUCER, "wall_time_ms"), 0))
+                .append("ms byte/record=").append(format(scenario.bytesPerRecord(), 1))
+                .append("\"| ").append(id).append("T[\"Kafka Topic\"]\n");
+        appendConsumer(sb, scenario, id, ScenarioResult.CONSUMER_1, "C1", "parse selected");
+        appendConsumer(sb, scenario, id, ScenarioResult.CONSUMER_2, "C2", "parse full");
+        sb.append("  ").append(id).append("E[\"E2E wall=").append(format(scenario.e2eWallMs(), 0))
+                .append("ms<br/>CPU/record=").append(format(scenario.cpuNsPerRecord(), 1))
+                .append("ns<br/>C1/C2 CPU=").append(format(scenario.consumerCpuRatio(), 4)).append("\"]\n");
+        return sb.toString();
+    }
+
+    private static void appendConsumer(
+            StringBuilder sb,
+            ScenarioResult scenario,
+            String id,
+            String role,
+            String node,
+            String parseTitle
+    ) {
+        String consumerName = role.equals(ScenarioResult.CONSUMER_1) ? "Consumer-1" : "Consumer-2";
+        sb.append("  ").append(id).append("T -->|\"")
+                .append(edgeLabel(scenario, role, ScenarioResult.Phase.DECODE_OR_SPLIT))
+                .append("\"| ").append(id).append(node).append("[\"").append(consumerName)
+                .append(": decode/split\"]\n");
+        sb.append("  ").append(id).append(node).append(" -->|\"")
+                .append(edgeLabel(scenario, role, ScenarioResult.Phase.PARSE))
+                .append("\"| ").append(id).append(node).append("P[\"").append(consumerName)
+                .append(": ").append(parseTitle).append("\"]\n");
+        sb.append("  ").append(id).append(node).append("P --> ").append(id).append("E\n");
+    }
+
+    private static String edgeLabel(ScenarioResult scenario, String role, ScenarioResult.Phase phase) {
+        return phase.title + "=" + format(scenario.phaseMs(role, phase), 0)
+                + "ms cpu=" + format(scenario.roleMetric(role, "process_cpu_time_ms"), 0) + "ms";
+    }
+
+    private Chart chart(String title, String unit, Function<ScenarioResult, OptionalDouble> metric) {
+        List<String> labels = new ArrayList<>();
+        List<Double> values = new ArrayList<>();
+        for (ScenarioResult scenario : scenarios) {
+            OptionalDouble value = metric.apply(scenario);
+            if (value.isPresent()) {
+                labels.add(scenario.label());
+                values.add(value.getAsDouble());
+            }
+        }
+        return new Chart(title, unit, labels, values);
+    }
+
+    static String format(OptionalDouble value, int decimals) {
+        return value.isPresent() ? String.format(Locale.ROOT, "%." + decimals + "f", value.getAsDouble()) : NOT_AVAILABLE;
+    }
+
+    record Chart(String title, String unit, List<String> labels, List<Double> values) {
+
+        boolean isEmpty() {
+            return values.isEmpty();
+        }
+
+        double max() {
+            return values.stream().mapToDouble(Double::doubleValue).max().orElse(0.0);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.benchmark.report;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalDouble;
+
+/**
+ * One role's {@code *_metrics.kv} file. Both the kafka-benchmark runner ({@code scenario=}) and
+ * avro-vs-pipe ({@code case=}) write the same {@code key=value} layout.
+ */
+record RoleMetricsSnapshot(Path file, Map<String, String> values) {
+
+    static RoleMetricsSnapshot load(Path file) throws IOException {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            int separator = line.indexOf('=');
+            if (separator > 0) {
+                values.put(line.substring(0, separator).trim(), line.substring(separator + 1).trim());
+            }
+        }
+        return new RoleMetricsSnapshot(file, values);
+    }
+
+    String scenario() {
+        String scenario = values.get("scenario");
+        if (scenario != null) {
+            return scenario;
+        }
+        String appCase = values.get("case");
+        return appCase != null ? "avro-vs-pipe-" + appCase : null;
+    }
+
+    String role() {
+        return values.get("role");
+    }
+
+    /**
+     * First of {@code keys} that is present and numeric; the two projects name some phases differently.
+     */
+    OptionalDouble metric(String... keys) {
+        for (String key : keys) {
+            String value = values.get(key);
+            if (value == null || value.isEmpty()) {
+                continue;
+            }
+            try {
+                return OptionalDouble.of(Double.parseDouble(value));
+            } catch (NumberFormatException ignored) {
+                // non-numeric marker such as "n/a"
+            }
+        }
+        return OptionalDouble.empty();
+    }
+}
@@ -0,0 +1,140 @@
+package com.benchmark.report;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.TreeMap;
+
+/**
+ * Producer, consumer-1 and consumer-2 metrics of one scenario run, with the same derived values
+ * the run scripts print in {@code SCENARIO_FINAL}.
+ */
+final class ScenarioResult {
+
+    static final String PRODUCER = "producer";
+    static final String CONSUMER_1 = "consumer-1";
+    static final String CONSUMER_2 = "consumer-2";
+    static final String[] ROLES = {PRODUCER, CONSUMER_1, CONSUMER_2};
+
+    private final String label;
+    private final Path directory;
+    private final Map<String, RoleMetricsSnapshot> roles = new TreeMap<>();
+
+    ScenarioResult(String label, Path directory) {
+        this.label = label;
+        this.directory = directory;
+    }
+
+    void add(RoleMetricsSnapshot snapshot) {
+        roles.put(snapshot.role(), snapshot);
+    }
+
+    String label() {
+        return label;
+    }
+
+    Path directory() {
+        return directory;
+    }
+
+    boolean hasRole(String role) {
+        return roles.containsKey(role);
+    }
+
+    OptionalDouble roleMetric(String role, String... keys) {
+        RoleMetricsSnapshot snapshot = roles.get(role);
+        return snapshot != null ? snapshot.metric(keys) : OptionalDouble.empty();
+    }
+
+    OptionalDouble phaseMs(String role, Phase phase) {
+        return roleMetric(role, phase.keys);
+    }
+
+    OptionalDouble records() {
+        return roleMetric(PRODUCER, "records_processed");
+    }
+
+    OptionalDouble roleCpuNsPerRecord(String role) {
+        return perRecord(roleMetric(role, "process_cpu_time_ms"), roleMetric(role, "records_processed"));
+    }
+
+    OptionalDouble e2eWallMs() {
+        double minStart = Double.MAX_VALUE;
+        double maxEnd = 0.0;
+        for (String role : ROLES) {
+            OptionalDouble start = roleMetric(role, "start_epoch_ms");
+            OptionalDouble end = roleMetric(role, "end_epoch_ms");
+            if (start.isEmpty() || end.isEmpty()) {
+                return OptionalDouble.empty();
+            }
+            minStart = Math.min(minStart, start.getAsDouble());
+            maxEnd = Math.max(maxEnd, end.getAsDouble());
+        }
+        return OptionalDouble.of(maxEnd - minStart);
+    }
+
+    OptionalDouble totalCpuMs() {
+        double total = 0.0;
+        for (String role : ROLES) {
+            OptionalDouble cpu = roleMetric(role, "process_cpu_time_ms");
+            if (cpu.isEmpty()) {
+                return OptionalDouble.empty();
+            }
+            total += cpu.getAsDouble();
+        }
+        return OptionalDouble.of(total);
+    }
+
+    OptionalDouble cpuNsPerRecord() {
+        return perRecord(totalCpuMs(), records());
+    }
+
+    OptionalDouble bytesPerRecord() {
+        return roleMetric(PRODUCER, "avg_payload_bytes");
+    }
+
+    OptionalDouble effectiveThroughput() {
+        OptionalDouble records = records();
+        OptionalDouble wallMs = e2eWallMs();
+        if (records.isEmpty() || wallMs.isEmpty() || wallMs.getAsDouble() <= 0.0) {
+            return OptionalDouble.empty();
+        }
+        return OptionalDouble.of(records.getAsDouble() / (wallMs.getAsDouble() / 1000.0));
+    }
+
+    OptionalDouble consumerCpuRatio() {
+        return ratio(roleMetric(CONSUMER_1, "process_cpu_time_ms"), roleMetric(CONSUMER_2, "process_cpu_time_ms"));
+    }
+
+    OptionalDouble consumerWallRatio() {
+        return ratio(roleMetric(CONSUMER_1, "wall_time_ms"), roleMetric(CONSUMER_2, "wall_time_ms"));
+    }
+
+    private static OptionalDouble perRecord(OptionalDouble cpuMs, OptionalDouble records) {
+        if (cpuMs.isEmpty() || records.isEmpty() || records.getAsDouble() <= 0.0) {
+            return OptionalDouble.empty();
+        }
+        return OptionalDouble.of(cpuMs.getAsDouble() * 1_000_000.0 / records.getAsDouble());
+    }
+
+    private static OptionalDouble ratio(OptionalDouble numerator, OptionalDouble denominator) {
+        if (numerator.isEmpty() || denominator.isEmpty() || denominator.getAsDouble() <= 0.0) {
+            return OptionalDouble.empty();
+        }
+        return OptionalDouble.of(numerator.getAsDouble() / denominator.getAsDouble());
+    }
+
+    enum Phase {
+        ENCODE("encode", "phase_encode_or_build_ms", "arrow_map_to_producer_encode_ms"),
+        DECODE_OR_SPLIT("decode/split", "phase_decode_or_split_ms", "arrow_topic_to_consumer_decode_or_split_ms"),
+        PARSE("parse", "phase_parse_selected_or_full_ms", "arrow_topic_to_consumer_parse_selected_ms");
+
+        final String title;
+        private final String[] keys;
+
+        Phase(String title, String... keys) {
+            this.title = title;
+            this.keys = keys;
+        }
+    }
+}
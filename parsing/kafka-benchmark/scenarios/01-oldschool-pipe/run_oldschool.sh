@@ -8,7 +8,40 @@ COMPOSE_FILE="$ROOT_DIR/docker/docker-compose.yml"
 
 TOPIC_NAME="${TOPIC_NAME:-RAW_PIPE}"
 RECORD_COUNT="${RECORD_COUNT:-1000000}"
+PHASE_METRICS_ENABLED="${PHASE_METRICS_ENABLED:-true}"
+PHASE_SAMPLE_EVERY="${PHASE_SAMPLE_EVERY:-100}"
+JFR_RECORDING_ENABLED="${JFR_RECORDING_ENABLED:-false}"
+JFR_RECORD_DECODED_EVENTS="${JFR_RECORD_DECODED_EVENTS:-false}"
+SOAK_MODE="${SOAK_MODE:-false}"
+SOAK_DURATION_SECONDS="${SOAK_DURATION_SECONDS:-0}"
+METRICS_HTTP_ENABLED="${METRICS_HTTP_ENABLED:-false}"
+E2E_LATENCY_ENABLED="${E2E_LATENCY_ENABLED:-false}"
+PRODUCER_TARGET_RATE="${PRODUCER_TARGET_RATE:-0}"
+PRODUCER_ARRIVALS="${PRODUCER_ARRIVALS:-constant}"
+PRODUCER_ENCODE_MODE="${PRODUCER_ENCODE_MODE:-full}"
+PIPE_ENCODER="${PIPE_ENCODER:-string}"
+PIPE_NUMBER_PARSER="${PIPE_NUMBER_PARSER:-jdk}"
+DATA_PROFILE="${DATA_PROFILE:-static}"
+DATA_FIELD_COUNT="${DATA_FIELD_COUNT:-250}"
+DATA_SEED="${DATA_SEED:-42}"
+DATA_SPARSE_PERCENT="${DATA_SPARSE_PERCENT:-30}"
 RUN_TIMEOUT_SECONDS="${RUN_TIMEOUT_SECONDS:-7200}"
+CAPTURE_PAYLOADS="${CAPTURE_PAYLOADS:-false}"
+CAPTURE_SEGMENT_MB="${CAPTURE_SEGMENT_MB:-256}"
+JVM_OPTS="${JVM_OPTS:-}"
+WARMUP_RECORDS="${WARMUP_RECORDS:-0}"
+STEADY_STATE_SKIP_PERCENT="${STEADY_STATE_SKIP_PERCENT:-10}"
+APP_CDS="${APP_CDS:-false}"
+if [[ "$APP_CDS" == "true" ]]; then
+  JVM_OPTS="${JVM_OPTS:+$JVM_OPTS }-XX:SharedArchiveFile=/app/app.jsa"
+fi
+TOPIC_PARTITIONS="${TOPIC_PARTITIONS:-1}"
+CONSUMER_THREADING="${CONSUMER_THREADING:-single}"
+CONSUMER_THREAD_KIND="${CONSUMER_THREAD_KIND:-platform}"
+FAULT_RATE_PERCENT="${FAULT_RATE_PERCENT:-0}"
+FAULT_KINDS="${FAULT_KINDS:-truncated,non-numeric,bad-utf8,bad-varint}"
+RECORD_VALIDATION="${RECORD_VALIDATION:-off}"
+DEAD_LETTER="${DEAD_LETTER:-file}"
 
 ensure_java17() {
   if [[ -n "${JAVA_HOME:-}" && -x "$JAVA_HOME/bin/java" ]]; then
@@ -46,7 +79,8 @@ epoch_ms() {
 }
 
 mkdir -p "$LOG_DIR"
-rm -f "$PRODUCER_METRICS_FILE" "$CONSUMER1_METRICS_FILE" "$CONSUMER2_METRICS_FILE" "$BENCHMARK_LOG_FILE"
+rm -f "$PRODUCER_METRICS_FILE" "$CONSUMER1_METRICS_FILE" "$CONSUMER2_METRICS_FILE" "$BENCHMARK_LOG_FILE" "$LOG_DIR"/*_recording.jfr "$LOG_DIR"/*_e2e_timeline.csv "$LOG_DIR"/capture_metrics.kv
+rm -rf "$LOG_DIR"/*_dead_letter
 
 cleanup() {
   docker compose -f "$COMPOSE_FILE" down -v --remove-orphans >/dev/null 2>&1 || true
@@ -67,6 +101,33 @@ docker compose -f "$COMPOSE_FILE" down -v --remove-orphans >/dev/null 2>&1 || tr
 echo "[3/5] Start stack..."
 export TOPIC_NAME
 export RECORD_COUNT
+export PHASE_METRICS_ENABLED
+export PHASE_SAMPLE_EVERY
+export JFR_RECORDING_ENABLED
+export JFR_RECORD_DECODED_EVENTS
+export SOAK_MODE
+export SOAK_DURATION_SECONDS
+export METRICS_HTTP_ENABLED
+export E2E_LATENCY_ENABLED
+export PRODUCER_TARGET_RATE
+export PRODUCER_ARRIVALS
+export PRODUCER_ENCODE_MODE
+export PIPE_ENCODER
+export PIPE_NUMBER_PARSER
+export DATA_PROFILE
+export DATA_FIELD_COUNT
+export DATA_SEED
+export DATA_SPARSE_PERCENT
+export JVM_OPTS
+export WARMUP_RECORDS
+export STEADY_STATE_SKIP_PERCENT
+export TOPIC_PARTITIONS
+export CONSUMER_THREADING
+export CONSUMER_THREAD_KIND
+export FAULT_RATE_PERCENT
+export FAULT_KINDS
+export RECORD_VALIDATION
+export DEAD_LETTER
 docker_up_start_ms="$(epoch_ms)"
 docker compose -f "$COMPOSE_FILE" up -d --build zookeeper kafka producer consumer-1 consumer-2
 docker_up_end_ms="$(epoch_ms)"
@@ -124,6 +185,12 @@ wait_for_file "$PRODUCER_METRICS_FILE" "$deadline_epoch"
 wait_for_file "$CONSUMER1_METRICS_FILE" "$deadline_epoch"
 wait_for_file "$CONSUMER2_METRICS_FILE" "$deadline_epoch"
 
+if [[ "$CAPTURE_PAYLOADS" == "true" ]]; then
+  echo "Capture topic payloads to $LOG_DIR/capture (replay: scenarios/replay_decode.sh)..."
+  docker compose -f "$COMPOSE_FILE" run --rm --no-deps \
+    -e APP_ROLE=capture -e CAPTURE_SEGMENT_MB="$CAPTURE_SEGMENT_MB" consumer-1
+fi
+
 metrics_aggregation_start_ms="$(epoch_ms)"
 
 metric_value() {
@@ -132,6 +199,12 @@ metric_value() {
   awk -F= -v key="$metric_key" '$1 == key { print $2 }' "$file_path"
 }
 
+prefixed_metrics_line() {
+  local file_path="$1"
+  local prefix="$2"
+  awk -v prefix="$prefix" 'index($0, prefix) == 1 { printf "%s%s", sep, $0; sep = " " }' "$file_path"
+}
+
 producer_start="$(metric_value "$PRODUCER_METRICS_FILE" "start_epoch_ms")"
 producer_end="$(metric_value "$PRODUCER_METRICS_FILE" "end_epoch_ms")"
 producer_cpu="$(metric_value "$PRODUCER_METRICS_FILE" "process_cpu_time_ms")"
@@ -148,6 +221,8 @@ producer_phase_encode="$(metric_value "$PRODUCER_METRICS_FILE" "phase_encode_or_
 producer_phase_decode="$(metric_value "$PRODUCER_METRICS_FILE" "phase_decode_or_split_ms")"
 producer_phase_parse="$(metric_value "$PRODUCER_METRICS_FILE" "phase_parse_selected_or_full_ms")"
 producer_phase_loop="$(metric_value "$PRODUCER_METRICS_FILE" "phase_role_total_loop_ms")"
+producer_phase_sampled="$(metric_value "$PRODUCER_METRICS_FILE" "phase_sampled_records")"
+producer_phase_timer_overhead="$(metric_value "$PRODUCER_METRICS_FILE" "phase_timer_overhead_ns")"
 producer_object_create="$(metric_value "$PRODUCER_METRICS_FILE" "object_create_count")"
 producer_object_encode="$(metric_value "$PRODUCER_METRICS_FILE" "object_encode_count")"
 producer_object_decode="$(metric_value "$PRODUCER_METRICS_FILE" "object_decode_count")"
@@ -169,6 +244,8 @@ consumer1_phase_encode="$(metric_value "$CONSUMER1_METRICS_FILE" "phase_encode_o
 consumer1_phase_decode="$(metric_value "$CONSUMER1_METRICS_FILE" "phase_decode_or_split_ms")"
 consumer1_phase_parse="$(metric_value "$CONSUMER1_METRICS_FILE" "phase_parse_selected_or_full_ms")"
 consumer1_phase_loop="$(metric_value "$CONSUMER1_METRICS_FILE" "phase_role_total_loop_ms")"
+consumer1_phase_sampled="$(metric_value "$CONSUMER1_METRICS_FILE" "phase_sampled_records")"
+consumer1_phase_timer_overhead="$(metric_value "$CONSUMER1_METRICS_FILE" "phase_timer_overhead_ns")"
 consumer1_object_create="$(metric_value "$CONSUMER1_METRICS_FILE" "object_create_count")"
 consumer1_object_encode="$(metric_value "$CONSUMER1_METRICS_FILE" "object_encode_count")"
 consumer1_object_decode="$(metric_value "$CONSUMER1_METRICS_FILE" "object_decode_count")"
@@ -190,6 +267,8 @@ consumer2_phase_encode="$(metric_value "$CONSUMER2_METRICS_FILE" "phase_encode_o
 consumer2_phase_decode="$(metric_value "$CONSUMER2_METRICS_FILE" "phase_decode_or_split_ms")"
 consumer2_phase_parse="$(metric_value "$CONSUMER2_METRICS_FILE" "phase_parse_selected_or_full_ms")"
 consumer2_phase_loop="$(metric_value "$CONSUMER2_METRICS_FILE" "phase_role_total_loop_ms")"
+consumer2_phase_sampled="$(metric_value "$CONSUMER2_METRICS_FILE" "phase_sampled_records")"
+consumer2_phase_timer_overhead="$(metric_value "$CONSUMER2_METRICS_FILE" "phase_timer_overhead_ns")"
 consumer2_object_create="$(metric_value "$CONSUMER2_METRICS_FILE" "object_create_count")"
 consumer2_object_encode="$(metric_value "$CONSUMER2_METRICS_FILE" "object_encode_count")"
 consumer2_object_decode="$(metric_value "$CONSUMER2_METRICS_FILE" "object_decode_count")"
@@ -220,6 +299,33 @@ echo "[5/5] Write benchmark log..."
   echo "topic_name=$TOPIC_NAME"
   echo "record_count=$RECORD_COUNT"
   echo "slot_count=250"
+  echo "phase_metrics_enabled=$PHASE_METRICS_ENABLED"
+  echo "phase_sample_every=$PHASE_SAMPLE_EVERY"
+  echo "jfr_recording_enabled=$JFR_RECORDING_ENABLED"
+  echo "soak_mode=$SOAK_MODE"
+  echo "soak_duration_seconds=$SOAK_DURATION_SECONDS"
+  echo "e2e_latency_enabled=$E2E_LATENCY_ENABLED"
+  echo "producer_target_rate=$PRODUCER_TARGET_RATE"
+  echo "producer_arrivals=$PRODUCER_ARRIVALS"
+  echo "producer_encode_mode=$PRODUCER_ENCODE_MODE"
+  echo "pipe_encoder=$PIPE_ENCODER"
+  echo "pipe_number_parser=$PIPE_NUMBER_PARSER"
+  echo "data_profile=$DATA_PROFILE"
+  echo "data_field_count=$DATA_FIELD_COUNT"
+  echo "data_seed=$DATA_SEED"
+  echo "data_sparse_percent=$DATA_SPARSE_PERCENT"
+  echo "capture_payloads=$CAPTURE_PAYLOADS"
+  echo "jvm_opts=$JVM_OPTS"
+  echo "warmup_records=$WARMUP_RECORDS"
+  echo "steady_state_skip_percent=$STEADY_STATE_SKIP_PERCENT"
+  echo "app_cds=$APP_CDS"
+  echo "topic_partitions=$TOPIC_PARTITIONS"
+  echo "consumer_threading=$CONSUMER_THREADING"
+  echo "consumer_thread_kind=$CONSUMER_THREAD_KIND"
+  echo "fault_rate_percent=$FAULT_RATE_PERCENT"
+  echo "fault_kinds=$FAULT_KINDS"
+  echo "record_validation=$RECORD_VALIDATION"
+  echo "dead_letter=$DEAD_LETTER"
   echo "consumer_1_group=kb-oldschool-c1"
   echo "consumer_2_group=kb-oldschool-c2"
   echo
@@ -238,15 +344,41 @@ echo "[5/5] Write benchmark log..."
   echo "role=consumer-2 records_processed=$consumer2_records process_cpu_time_ms=$consumer2_cpu avg_process_cpu_pct=$consumer2_cpu_avg max_process_cpu_pct=$consumer2_cpu_max wall_time_ms=$consumer2_wall throughput_rec_per_sec=$consumer2_tput total_payload_bytes=$consumer2_total_payload avg_payload_bytes=$consumer2_avg_payload min_payload_bytes=$consumer2_min_payload max_payload_bytes=$consumer2_max_payload start_epoch_ms=$consumer2_start end_epoch_ms=$consumer2_end"
   echo
   echo "ROLE_PHASES"
-  echo "role=producer phase_encode_or_build_ms=$producer_phase_encode phase_decode_or_split_ms=$producer_phase_decode phase_parse_selected_or_full_ms=$producer_phase_parse phase_role_total_loop_ms=$producer_phase_loop"
-  echo "role=consumer-1 phase_encode_or_build_ms=$consumer1_phase_encode phase_decode_or_split_ms=$consumer1_phase_decode phase_parse_selected_or_full_ms=$consumer1_phase_parse phase_role_total_loop_ms=$consumer1_phase_loop"
-  echo "role=consumer-2 phase_encode_or_build_ms=$consumer2_phase_encode phase_decode_or_split_ms=$consumer2_phase_decode phase_parse_selected_or_full_ms=$consumer2_phase_parse phase_role_total_loop_ms=$consumer2_phase_loop"
+  echo "role=producer phase_encode_or_build_ms=$producer_phase_encode phase_decode_or_split_ms=$producer_phase_decode phase_parse_selected_or_full_ms=$producer_phase_parse phase_role_total_loop_ms=$producer_phase_loop phase_sampled_records=$producer_phase_sampled phase_timer_overhead_ns=$producer_phase_timer_overhead"
+  echo "role=consumer-1 phase_encode_or_build_ms=$consumer1_phase_encode phase_decode_or_split_ms=$consumer1_phase_decode phase_parse_selected_or_full_ms=$consumer1_phase_parse phase_role_total_loop_ms=$consumer1_phase_loop phase_sampled_records=$consumer1_phase_sampled phase_timer_overhead_ns=$consumer1_phase_timer_overhead"
+  echo "role=consumer-2 phase_encode_or_build_ms=$consumer2_phase_encode phase_decode_or_split_ms=$consumer2_phase_decode phase_parse_selected_or_full_ms=$consumer2_phase_parse phase_role_total_loop_ms=$consumer2_phase_loop phase_sampled_records=$consumer2_phase_sampled phase_timer_overhead_ns=$consumer2_phase_timer_overhead"
   echo
   echo "ROLE_OBJECT_STATS"
   echo "role=producer object_create_count=$producer_object_create object_encode_count=$producer_object_encode object_decode_count=$producer_object_decode object_skip_count=$producer_object_skip payload_total_bytes=$producer_total_payload payload_avg_bytes=$producer_avg_payload payload_min_bytes=$producer_min_payload payload_max_bytes=$producer_max_payload"
   echo "role=consumer-1 object_create_count=$consumer1_object_create object_encode_count=$consumer1_object_encode object_decode_count=$consumer1_object_decode object_skip_count=$consumer1_object_skip payload_total_bytes=$consumer1_total_payload payload_avg_bytes=$consumer1_avg_payload payload_min_bytes=$consumer1_min_payload payload_max_bytes=$consumer1_max_payload"
   echo "role=consumer-2 object_create_count=$consumer2_object_create object_encode_count=$consumer2_object_encode object_decode_count=$consumer2_object_decode object_skip_count=$consumer2_object_skip payload_total_bytes=$consumer2_total_payload payload_avg_bytes=$consumer2_avg_payload payload_min_bytes=$consumer2_min_payload payload_max_bytes=$consumer2_max_payload"
   echo
+  echo "ROLE_E2E_LATENCY"
+  echo "role=consumer-1 $(prefixed_metrics_line "$CONSUMER1_METRICS_FILE" e2e_latency_)"
+  echo "role=consumer-2 $(prefixed_metrics_line "$CONSUMER2_METRICS_FILE" e2e_latency_)"
+  echo
+  echo "ROLE_OPEN_LOOP"
+  echo "role=producer $(prefixed_metrics_line "$PRODUCER_METRICS_FILE" open_loop_)"
+  echo
+  echo "ROLE_PARTITIONS"
+  echo "role=consumer-1 $(prefixed_metrics_line "$CONSUMER1_METRICS_FILE" consumer_thread) $(prefixed_metrics_line "$CONSUMER1_METRICS_FILE" consumer_partitions) $(prefixed_metrics_line "$CONSUMER1_METRICS_FILE" partition_)"
+  echo "role=consumer-2 $(prefixed_metrics_line "$CONSUMER2_METRICS_FILE" consumer_thread) $(prefixed_metrics_line "$CONSUMER2_METRICS_FILE" consumer_partitions) $(prefixed_metrics_line "$CONSUMER2_METRICS_FILE" partition_)"
+  echo
+  echo "ROLE_STARTUP"
+  echo "role=producer $(prefixed_metrics_line "$PRODUCER_METRICS_FILE" startup_) $(prefixed_metrics_line "$PRODUCER_METRICS_FILE" steady_state_)"
+  echo "role=consumer-1 $(prefixed_metrics_line "$CONSUMER1_METRICS_FILE" startup_) $(prefixed_metrics_line "$CONSUMER1_METRICS_FILE" steady_state_)"
+  echo "role=consumer-2 $(prefixed_metrics_line "$CONSUMER2_METRICS_FILE" startup_) $(prefixed_metrics_line "$CONSUMER2_METRICS_FILE" steady_state_)"
+  echo
+  echo "ROLE_GC"
+  echo "role=producer $(prefixed_metrics_line "$PRODUCER_METRICS_FILE" gc_) $(prefixed_metrics_line "$PRODUCER_METRICS_FILE" jvm_)"
+  echo "role=consumer-1 $(prefixed_metrics_line "$CONSUMER1_METRICS_FILE" gc_) $(prefixed_metrics_line "$CONSUMER1_METRICS_FILE" jvm_)"
+  echo "role=consumer-2 $(prefixed_metrics_line "$CONSUMER2_METRICS_FILE" gc_) $(prefixed_metrics_line "$CONSUMER2_METRICS_FILE" jvm_)"
+  echo
+  echo "ROLE_VALIDATION"
+  echo "role=producer $(prefixed_metrics_line "$PRODUCER_METRICS_FILE" fault_)"
+  echo "role=consumer-1 $(prefixed_metrics_line "$CONSUMER1_METRICS_FILE" validation_) $(prefixed_metrics_line "$CONSUMER1_METRICS_FILE" dead_letter_)"
+  echo "role=consumer-2 $(prefixed_metrics_line "$CONSUMER2_METRICS_FILE" validation_) $(prefixed_metrics_line "$CONSUMER2_METRICS_FILE" dead_letter_)"
+  echo
   echo "SCENARIO_FINAL"
   echo "e2e_wall_time_ms=$e2e_wall_time_ms"
   echo "total_process_cpu_time_ms=$total_process_cpu_time_ms"
@@ -0,0 +1,172 @@
+package com.benchmark.scenario1;
+
+import com.benchmark.shared.AsciiNumbers;
+import com.benchmark.shared.DataProfile;
+import com.benchmark.shared.PipeRecordEncoder;
+import com.benchmark.shared.Utf8Validator;
+import com.benchmark.shared.runner.BinaryRecordCodec;
+import com.benchmark.shared.runner.DecodeContext;
+import com.benchmark.shared.runner.FaultInjection;
+import com.benchmark.shared.runner.ProducerEncodeMode;
+import com.benchmark.shared.runner.RecordFault;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Pipe records on a {@code ByteArraySerializer}: the producer writes digits and strings straight
+ * into a reused buffer (with {@code PRODUCER_ENCODE_MODE=incremental} only the sequence digits into
+ * a pre-rendered {@link PipeRecordTemplate}) and copies out only the exact-size payload Kafka needs. With the JDK number
+ * parser consumers turn the bytes into a String (what {@code StringDeserializer} does) and use the
+ * same split/parse as {@link PipeRecordCodec}. With {@link PipeNumberParser#ASCII} they stay on the
+ * bytes: split records the cell offsets by scanning for '|' (never part of a multi-byte UTF-8
+ * sequence), int/long cells go to the byte[] {@link AsciiNumbers} parsers and string cells sink
+ * their UTF-16 length, so the sink matches the String path for well-formed UTF-8.
+ */
+final class PipeBytesRecordCodec extends BinaryRecordCodec {
+
+    private final DataProfile profile;
+    private final PipeRecordEncoder encoder;
+    private final PipeRecordTemplate template;
+    private final PipeRecordCodec stringCodec;
+    private final boolean byteCells;
+    private final int[] selectedPositions;
+    private final int[] allPositions;
+    private final int[] cellStarts;
+
+    PipeBytesRecordCodec(DataProfile profile, ProducerEncodeMode encodeMode, PipeNumberParser numberParser) {
+        this.profile = profile;
+        this.encoder = new PipeRecordEncoder(profile);
+        this.template = encodeMode.incremental(profile) ? new PipeRecordTemplate(profile) : null;
+        this.stringCodec = new PipeRecordCodec(profile, ProducerEncodeMode.FULL, numberParser);
+        this.byteCells = numberParser == PipeNumberParser.ASCII;
+        this.selectedPositions = profile.consumer1SelectedPositions();
+        this.allPositions = IntStream.range(0, profile.totalFields()).toArray();
+        this.cellStarts = new int[profile.totalFields() + 1];
+    }
+
+    @Override
+    public byte[] encodeFull(long sequence) {
+        if (template != null) {
+            int length = template.render(sequence);
+            return Arrays.copyOf(template.buffer(), length);
+        }
+        int length = encoder.encode(sequence);
+        return Arrays.copyOf(encoder.buffer(), length);
+    }
+
+    @Override
+    public boolean supportsFault(RecordFault fault) {
+        switch (fault) {
+            case TRUNCATED:
+                return true;
+            case NON_NUMERIC:
+                return profile.intFields() + profile.longFields() > 0;
+            case BAD_UTF8:
+                return profile.stringFields() > 0;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public byte[] encodeFaulty(long sequence, RecordFault fault) {
+        switch (fault) {
+            case TRUNCATED:
+                return FaultInjection.truncate(encodeFull(sequence), sequence);
+            case NON_NUMERIC:
+                return PipeFaults.nonNumeric(encodeFull(sequence), PipeFaults.numericPosition(profile, sequence));
+            case BAD_UTF8:
+                return PipeFaults.badUtf8(encodeFull(sequence), PipeFaults.stringPosition(profile, sequence));
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public long decodeSelected(byte[] payload, DecodeContext context) {
+        if (!byteCells) {
+            return stringCodec.decodeSelected(new String(payload, StandardCharsets.UTF_8), context);
+        }
+        return decodeCells(payload, selectedPositions, context);
+    }
+
+    @Override
+    public long decodeFull(byte[] payload, DecodeContext context) {
+        if (!byteCells) {
+            return stringCodec.decodeFull(new String(payload, StandardCharsets.UTF_8), context);
+        }
+        return decodeCells(payload, allPositions, context);
+    }
+
+    private long decodeCells(byte[] payload, int[] positions, DecodeContext context) {
+        long splitStartNs = context.startPhase();
+        boolean complete = splitCells(payload);
+        context.endDecodeOrSplit(splitStartNs);
+
+        if (!complete) {
+            context.reject(RecordFault.TRUNCATED);
+            return 0L;
+        }
+
+        long parseStartNs = context.startPhase();
+        if (context.validating() && !valid(payload, positions, context)) {
+            context.endParse(parseStartNs);
+            return 0L;
+        }
+        long value = 0L;
+        for (int position : positions) {
+            int from = cellStarts[position];
+            int to = cellStarts[position + 1] - 1;
+            if (profile.isIntPosition(position)) {
+                value += AsciiNumbers.parseInt(payload, from, to);
+            } else if (profile.isLongPosition(position)) {
+                value += AsciiNumbers.parseLong(payload, from, to);
+            } else if (profile.isStringPosition(position)) {
+                value += Utf8Validator.utf16Length(payload, from, to);
+            }
+        }
+        context.endParse(parseStartNs);
+        return value;
+    }
+
+    /**
+     * Cell {@code i} spans {@code [cellStarts[i], cellStarts[i + 1] - 1)}, like {@code split("\\|", -1)};
+     * cells past the profile's field count are ignored. False when the record has fewer cells.
+     */
+    private boolean splitCells(byte[] payload) {
+        int total = profile.totalFields();
+        int cell = 1;
+        cellStarts[0] = 0;
+        for (int i = 0; i < payload.length && cell <= total; i++) {
+            if (payload[i] == '|') {
+                cellStarts[cell++] = i + 1;
+            }
+        }
+        if (cell < total) {
+            return false;
+        }
+        if (cell == total) {
+            cellStarts[total] = payload.length + 1;
+        }
+        return true;
+    }
+
+    private boolean valid(byte[] payload, int[] positions, DecodeContext context) {
+        for (int position : positions) {
+            int from = cellStarts[position];
+            int to = cellStarts[position + 1] - 1;
+            if (profile.isStringPosition(position)) {
+                if (!Utf8Validator.isValid(payload, from, to)) {
+                    context.reject(RecordFault.BAD_UTF8);
+                    return false;
+                }
+            } else if (!PipeFaults.numeric(payload, from, to)) {
+                context.reject(RecordFault.NON_NUMERIC);
+                return false;
+            }
+        }
+        return true;
+    }
+}
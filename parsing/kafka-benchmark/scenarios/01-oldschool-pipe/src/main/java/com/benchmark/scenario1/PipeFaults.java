@@ -0,0 +1,104 @@
+package com.benchmark.scenario1;
+
+import com.benchmark.shared.DataProfile;
+import com.benchmark.shared.runner.FaultInjection;
+
+/**
+ * Pipe-record faults for both producers. {@code non-numeric} puts an 'x' at the start of an int or
+ * long cell; {@code bad-utf8} puts an invalid byte at the start of a string cell. A String payload
+ * cannot carry invalid bytes through {@code StringSerializer}, so the String producer writes
+ * U+FFFD, which is exactly what {@code StringDeserializer} turns an invalid byte into. Pipe text
+ * has no varints.
+ */
+final class PipeFaults {
+
+    static final char REPLACEMENT = '\uFFFD';
+
+    private PipeFaults() {
+    }
+
+    static int numericPosition(DataProfile profile, long sequence) {
+        return FaultInjection.pick(sequence, profile.intFields() + profile.longFields());
+    }
+
+    static int stringPosition(DataProfile profile, long sequence) {
+        return profile.intFields() + profile.longFields() + FaultInjection.pick(sequence, profile.stringFields());
+    }
+
+    static String nonNumeric(String record, int position) {
+        int start = cellStart(record, position);
+        return record.substring(0, start) + 'x' + record.substring(start + 1);
+    }
+
+    static String badUtf8(String record, int position) {
+        int start = cellStart(record, position);
+        return record.substring(0, start) + REPLACEMENT + record.substring(start);
+    }
+
+    static byte[] nonNumeric(byte[] record, int position) {
+        byte[] faulty = record.clone();
+        faulty[cellStart(record, position)] = 'x';
+        return faulty;
+    }
+
+    static byte[] badUtf8(byte[] record, int position) {
+        int start = cellStart(record, position);
+        byte[] faulty = new byte[record.length + 1];
+        System.arraycopy(record, 0, faulty, 0, start);
+        faulty[start] = FaultInjection.INVALID_UTF8_BYTE;
+        System.arraycopy(record, start, faulty, start + 1, record.length - start);
+        return faulty;
+    }
+
+    /**
+     * True when the cell is an optional sign and 1-19 ASCII digits, so the parser will not throw
+     * for anything but overflow.
+     */
+    static boolean numeric(String cell) {
+        int position = !cell.isEmpty() && (cell.charAt(0) == '-' || cell.charAt(0) == '+') ? 1 : 0;
+        int digits = cell.length() - position;
+        if (digits <= 0 || digits > 19) {
+            return false;
+        }
+        for (; position < cell.length(); position++) {
+            char c = cell.charAt(position);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static boolean numeric(byte[] record, int from, int to) {
+        int position = from < to && (record[from] == '-' || record[from] == '+') ? from + 1 : from;
+        int digits = to - position;
+        if (digits <= 0 || digits > 19) {
+            return false;
+        }
+        for (; position < to; position++) {
+            if (record[position] < '0' || record[position] > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int cellStart(String record, int position) {
+        int start = 0;
+        for (int i = 0; i < position; i++) {
+            start = record.indexOf('|', start) + 1;
+        }
+        return start;
+    }
+
+    private static int cellStart(byte[] record, int position) {
+        int start = 0;
+        for (int i = 0; i < position; i++) {
+            while (record[start] != '|') {
+                start++;
+            }
+            start++;
+        }
+        return start;
+    }
+}
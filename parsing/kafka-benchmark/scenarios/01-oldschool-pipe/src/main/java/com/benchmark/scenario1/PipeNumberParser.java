@@ -0,0 +1,54 @@
+package com.benchmark.scenario1;
+
+import com.benchmark.shared.AsciiNumbers;
+
+/**
+ * Number parser used for pipe int/long cells on the consumer side.
+ */
+enum PipeNumberParser {
+    JDK("jdk") {
+        @Override
+        int parseInt(String cell) {
+            return Integer.parseInt(cell);
+        }
+
+        @Override
+        long parseLong(String cell) {
+            return Long.parseLong(cell);
+        }
+    },
+    ASCII("ascii") {
+        @Override
+        int parseInt(String cell) {
+            return AsciiNumbers.parseInt(cell);
+        }
+
+        @Override
+        long parseLong(String cell) {
+            return AsciiNumbers.parseLong(cell);
+        }
+    };
+
+    private final String value;
+
+    PipeNumberParser(String value) {
+        this.value = value;
+    }
+
+    abstract int parseInt(String cell);
+
+    abstract long parseLong(String cell);
+
+    String value() {
+        return value;
+    }
+
+    static PipeNumberParser from(String value) {
+        for (PipeNumberParser parser : values()) {
+            if (parser.value.equalsIgnoreCase(value)) {
+                return parser;
+            }
+        }
+        throw new IllegalArgumentException("Unknown PIPE_NUMBER_PARSER: " + value);
+    }
+}
@@ -0,0 +1,170 @@
+package com.benchmark.scenario1;
+
+import com.benchmark.shared.DataProfile;
+import com.benchmark.shared.runner.DecodeContext;
+import com.benchmark.shared.runner.FaultInjection;
+import com.benchmark.shared.runner.ProducerEncodeMode;
+import com.benchmark.shared.runner.RecordCodec;
+import com.benchmark.shared.runner.RecordFault;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.stream.IntStream;
+
+final class PipeRecordCodec implements RecordCodec<String> {
+
+    private final DataProfile profile;
+    private final int[] selectedPositions;
+    private final int[] allPositions;
+    private final PipeRecordTemplate template;
+    private final PipeNumberParser numberParser;
+
+    PipeRecordCodec(DataProfile profile, ProducerEncodeMode encodeMode, PipeNumberParser numberParser) {
+        this.profile = profile;
+        this.numberParser = numberParser;
+        this.selectedPositions = profile.consumer1SelectedPositions();
+        this.allPositions = IntStream.range(0, profile.totalFields()).toArray();
+        this.template = encodeMode.incremental(profile) ? new PipeRecordTemplate(profile) : null;
+    }
+
+    @Override
+    public Class<? extends Serializer<String>> serializerClass() {
+        return StringSerializer.class;
+    }
+
+    @Override
+    public Class<? extends Deserializer<String>> deserializerClass() {
+        return StringDeserializer.class;
+    }
+
+    @Override
+    public int payloadSize(String payload) {
+        return payload.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    @Override
+    public String encodeFull(long sequence) {
+        return template != null ? template.renderText(sequence) : profile.toPipeRecord(sequence);
+    }
+
+    @Override
+    public boolean supportsFault(RecordFault fault) {
+        switch (fault) {
+            case TRUNCATED:
+                return true;
+            case NON_NUMERIC:
+                return profile.intFields() + profile.longFields() > 0;
+            case BAD_UTF8:
+                return profile.stringFields() > 0;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public String encodeFaulty(long sequence, RecordFault fault) {
+        String record = encodeFull(sequence);
+        switch (fault) {
+            case TRUNCATED:
+                return FaultInjection.truncate(record, sequence);
+            case NON_NUMERIC:
+                return PipeFaults.nonNumeric(record, PipeFaults.numericPosition(profile, sequence));
+            case BAD_UTF8:
+                return PipeFaults.badUtf8(record, PipeFaults.stringPosition(profile, sequence));
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public long decodeSelected(String payload, DecodeContext context) {
+        long splitStartNs = context.startPhase();
+        String[] parts = payload.split("\\|", -1);
+        context.endDecodeOrSplit(splitStartNs);
+        context.objectCreated();
+
+        if (parts.length < profile.totalFields()) {
+            context.reject(RecordFault.TRUNCATED);
+            return 0L;
+        }
+
+        long parseStartNs = context.startPhase();
+        if (context.validating() && !valid(parts, selectedPositions, context)) {
+            context.endParse(parseStartNs);
+            return 0L;
+        }
+        long value = 0L;
+        for (int position : selectedPositions) {
+            String cell = parts[position];
+            if (profile.isIntPosition(position)) {
+                value += numberParser.parseInt(cell);
+            } else if (profile.isLongPosition(position)) {
+                value += numberParser.parseLong(cell);
+            } else if (profile.isStringPosition(position)) {
+                value += cell.length();
+            }
+        }
+        context.endParse(parseStartNs);
+        return value;
+    }
+
+    @Override
+    public long decodeFull(String payload, DecodeContext context) {
+        long splitStartNs = context.startPhase();
+        String[] parts = payload.split("\\|", -1);
+        context.endDecodeOrSplit(splitStartNs);
+        context.objectCreated();
+
+        if (parts.length < profile.totalFields()) {
+            context.reject(RecordFault.TRUNCATED);
+            return 0L;
+        }
+
+        long parseStartNs = context.startPhase();
+        if (context.validating() && !valid(parts, allPositions, context)) {
+            context.endParse(parseStartNs);
+            return 0L;
+        }
+        long value = 0L;
+
+        for (int i = 0; i < profile.intFields(); i++) {
+            value += numberParser.parseInt(parts[i]);
+        }
+
+        int longStart = profile.intFields();
+        int longEnd = longStart + profile.longFields();
+        for (int i = longStart; i < longEnd; i++) {
+            value += numberParser.parseLong(parts[i]);
+        }
+
+        for (int i = longEnd; i < profile.totalFields(); i++) {
+            value += parts[i].length();
+        }
+
+        context.endParse(parseStartNs);
+        return value;
+    }
+
+    /**
+     * Checks the cells the decode will read before parsing them, so a bad cell is a reject
+     * instead of a {@link NumberFormatException}.
+     */
+    private boolean valid(String[] parts, int[] positions, DecodeContext context) {
+        for (int position : positions) {
+            String cell = parts[position];
+            if (profile.isStringPosition(position)) {
+                if (cell.indexOf(PipeFaults.REPLACEMENT) >= 0) {
+                    context.reject(RecordFault.BAD_UTF8);
+                    return false;
+                }
+            } else if (!PipeFaults.numeric(cell)) {
+                context.reject(RecordFault.NON_NUMERIC);
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,61 @@
+package com.benchmark.scenario1;
+
+import com.benchmark.shared.DataProfile;
+import com.benchmark.shared.PipeRecordEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Pre-rendered static-profile pipe record split around the {@code long_0} cell. The UTF-8 prefix is
+ * written into a reused buffer once; {@link #render(long)} writes the sequence digits after it and
+ * moves the suffix only when the digit count changes, like {@link PipeRecordEncoder} the caller
+ * copies out the payload. {@link #renderText(long)} is the {@code StringSerializer} variant, which
+ * still has to build a String per record.
+ */
+final class PipeRecordTemplate {
+
+    private static final int MAX_LONG_CHARS = 20;
+
+    private final String prefixText;
+    private final String suffixText;
+    private final byte[] suffix;
+    private final int digitsStart;
+    private final byte[] buffer;
+    private int suffixStart = -1;
+
+    PipeRecordTemplate(DataProfile profile) {
+        String rendered = profile.toPipeRecord(0L);
+        int cellStart = 0;
+        for (int i = 0; i < profile.intFields(); i++) {
+            cellStart = rendered.indexOf('|', cellStart) + 1;
+        }
+        int cellEnd = rendered.indexOf('|', cellStart);
+        this.prefixText = rendered.substring(0, cellStart);
+        this.suffixText = rendered.substring(cellEnd);
+        byte[] prefix = prefixText.getBytes(StandardCharsets.UTF_8);
+        this.suffix = suffixText.getBytes(StandardCharsets.UTF_8);
+        this.digitsStart = prefix.length;
+        this.buffer = Arrays.copyOf(prefix, prefix.length + MAX_LONG_CHARS + suffix.length);
+    }
+
+    /**
+     * Renders {@code sequence} and returns the payload length in {@link #buffer()}.
+     */
+    int render(long sequence) {
+        int end = PipeRecordEncoder.writeLong(buffer, sequence, digitsStart);
+        if (end != suffixStart) {
+            System.arraycopy(suffix, 0, buffer, end, suffix.length);
+            suffixStart = end;
+        }
+        return end + suffix.length;
+    }
+
+    byte[] buffer() {
+        return buffer;
+    }
+
+    String renderText(long sequence) {
+        return prefixText + sequence + suffixText;
+    }
+}
@@ -0,0 +1,26 @@
+package com.benchmark.scenario2;
+
+enum AvroConsumerMode {
+    GENERIC("generic"),
+    POSITIONAL("positional"),
+    PRIMITIVE("primitive");
+
+    private final String value;
+
+    AvroConsumerMode(String value) {
+        this.value = value;
+    }
+
+    String value() {
+        return value;
+    }
+
+    static AvroConsumerMode from(String value) {
+        for (AvroConsumerMode mode : values()) {
+            if (mode.value.equals(value)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Unknown AVRO_CONSUMER_MODE: " + value);
+    }
+}
@@ -0,0 +1,312 @@
+package com.benchmark.scenario2;
+
+import com.benchmark.shared.DataProfile;
+import com.benchmark.shared.RecordValues;
+import com.benchmark.shared.Utf8Validator;
+import com.benchmark.shared.runner.BinaryRecordCodec;
+import com.benchmark.shared.runner.DecodeContext;
+import com.benchmark.shared.runner.FaultInjection;
+import com.benchmark.shared.runner.RecordFault;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.avro.util.Utf8;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+final class AvroRecordCodec extends BinaryRecordCodec {
+
+    private final DataProfile profile;
+    private final Schema fullSchema;
+    private final Schema reader10Schema;
+    private final AvroConsumerMode consumerMode;
+    private final ReaderFieldPlan selectedPlan;
+    private final ReaderFieldPlan fullPlan;
+    private final PrimitiveProjection selectedProjection;
+    private final PrimitiveProjection fullProjection;
+    private final LocalSchemaRegistry registry;
+    private final ResolvingReaderCache readerCache;
+    private final Schema[] writerSchemas;
+    private final int[] writerIds;
+    private final GenericDatumWriter<GenericRecord>[] writers;
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+    private BinaryEncoder encoder;
+    private BinaryDecoder decoder;
+
+    @SuppressWarnings("unchecked")
+    AvroRecordCodec(
+            DataProfile profile,
+            Schema fullSchema,
+            Schema reader10Schema,
+            int writerVersions,
+            AvroConsumerMode consumerMode
+    ) {
+        this.profile = profile;
+        this.fullSchema = fullSchema;
+        this.reader10Schema = reader10Schema;
+        this.consumerMode = consumerMode;
+        this.selectedPlan = new ReaderFieldPlan(reader10Schema);
+        this.fullPlan = new ReaderFieldPlan(fullSchema);
+        this.selectedProjection = new PrimitiveProjection(selectedPlan);
+        this.fullProjection = new PrimitiveProjection(fullPlan);
+        this.registry = LocalSchemaRegistry.withEvolvedVersions(fullSchema, writerVersions);
+        this.readerCache = new ResolvingReaderCache(registry);
+        this.writerSchemas = new Schema[writerVersions];
+        this.writerIds = new int[writerVersions];
+        this.writers = new GenericDatumWriter[writerVersions];
+        for (int version = 0; version < writerVersions; version++) {
+            writerSchemas[version] = LocalSchemaRegistry.evolve(fullSchema, version);
+            writerIds[version] = registry.register(writerSchemas[version]);
+            writers[version] = new GenericDatumWriter<>(writerSchemas[version]);
+        }
+    }
+
+    /**
+     * The producer's encode phase times this whole call, {@code toByteArray()} included; the
+     * pre-runner producer stopped the timer at {@code encoder.flush()}.
+     */
+    @Override
+    public byte[] encodeFull(long sequence) throws IOException {
+        int version = (int) ((sequence - 1L) % writers.length);
+        GenericRecord record = buildFullRecord(profile, writerSchemas[version], sequence);
+        out.reset();
+        SchemaIdFraming.writeHeader(out, writerIds[version]);
+        encoder = EncoderFactory.get().binaryEncoder(out, encoder);
+        writers[version].write(record, encoder);
+        encoder.flush();
+        return out.toByteArray();
+    }
+
+    @Override
+    public boolean supportsFault(RecordFault fault) {
+        switch (fault) {
+            case TRUNCATED:
+                return true;
+            case BAD_VARINT:
+                return profile.intFields() + profile.longFields() > 0;
+            case BAD_UTF8:
+                return profile.stringFields() > 0;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Field offsets are computed from the record's values: ints, longs and strings follow the
+     * header in schema order, numbers as zigzag varints and strings as length plus bytes.
+     */
+    @Override
+    public byte[] encodeFaulty(long sequence, RecordFault fault) throws IOException {
+        switch (fault) {
+            case TRUNCATED:
+                return FaultInjection.truncate(encodeFull(sequence), sequence);
+            case BAD_VARINT: {
+                byte[] payload = encodeFull(sequence);
+                int numbers = profile.intFields() + profile.longFields();
+                FaultInjection.corruptVarint(payload,
+                        numberOffset(profile.values(sequence), FaultInjection.pick(sequence, numbers)));
+                return payload;
+            }
+            case BAD_UTF8: {
+                byte[] payload = encodeFull(sequence);
+                int offset = stringOffset(profile.values(sequence),
+                        FaultInjection.pick(sequence, profile.stringFields()));
+                if (offset < 0) {
+                    return null;
+                }
+                payload[offset] = FaultInjection.INVALID_UTF8_BYTE;
+                return payload;
+            }
+            default:
+                return null;
+        }
+    }
+
+    private int numberOffset(RecordValues values, int index) {
+        int offset = SchemaIdFraming.HEADER_LENGTH;
+        for (int i = 0; i < index; i++) {
+            offset += i < profile.intFields()
+                    ? varintSize(zigZag(values.intAt(i)))
+                    : varintSize(zigZag(values.longAt(i - profile.intFields())));
+        }
+        return offset;
+    }
+
+    /**
+     * First byte of the first non-empty string at or after {@code from} (wrapping around), or -1
+     * when every string is empty.
+     */
+    private int stringOffset(RecordValues values, int from) {
+        int count = profile.stringFields();
+        int target = -1;
+        for (int i = 0; i < count && target < 0; i++) {
+            int index = (from + i) % count;
+            if (!values.stringAt(index).isEmpty()) {
+                target = index;
+            }
+        }
+        if (target < 0) {
+            return -1;
+        }
+
+        int offset = numberOffset(values, profile.intFields() + profile.longFields());
+        for (int i = 0; i < target; i++) {
+            int length = values.stringAt(i).getBytes(StandardCharsets.UTF_8).length;
+            offset += varintSize(zigZag(length)) + length;
+        }
+        return offset + varintSize(zigZag(values.stringAt(target).getBytes(StandardCharsets.UTF_8).length));
+    }
+
+    private static long zigZag(int value) {
+        return ((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL;
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static int varintSize(long unsigned) {
+        int size = 1;
+        while ((unsigned >>>= 7) != 0L) {
+            size++;
+        }
+        return size;
+    }
+
+    @Override
+    public long decodeSelected(byte[] payload, DecodeContext context) throws IOException {
+        return decode(payload, reader10Schema, selectedPlan, selectedProjection, context);
+    }
+
+    @Override
+    public long decodeFull(byte[] payload, DecodeContext context) throws IOException {
+        return decode(payload, fullSchema, fullPlan, fullProjection, context);
+    }
+
+    private long decode(
+            byte[] payload,
+            Schema readerSchema,
+            ReaderFieldPlan plan,
+            PrimitiveProjection projection,
+            DecodeContext context
+    ) throws IOException {
+        long decodeStartNs = context.startPhase();
+        int writerId = SchemaIdFraming.readSchemaId(payload);
+        ResolvingReaderCache.ResolvedReader reader = readerCache.get(writerId, readerSchema);
+        decoder = DecoderFactory.get().binaryDecoder(
+                payload,
+                SchemaIdFraming.HEADER_LENGTH,
+                payload.length - SchemaIdFraming.HEADER_LENGTH,
+                decoder
+        );
+
+        if (consumerMode == AvroConsumerMode.PRIMITIVE) {
+            boolean valid = projection.read(reader.resolver(decoder), context.validating());
+            context.endDecodeOrSplit(decodeStartNs);
+            if (!valid) {
+                context.reject(RecordFault.BAD_UTF8);
+                return 0L;
+            }
+
+            long parseStartNs = context.startPhase();
+            long value = projection.sink();
+            context.endParse(parseStartNs);
+            return value;
+        }
+
+        GenericRecord decoded = reader.read(decoder);
+        context.endDecodeOrSplit(decodeStartNs);
+        context.objectCreated();
+
+        long parseStartNs = context.startPhase();
+        if (context.validating() && !validStrings(decoded, plan)) {
+            context.endParse(parseStartNs);
+            context.reject(RecordFault.BAD_UTF8);
+            return 0L;
+        }
+        long value = consumerMode == AvroConsumerMode.POSITIONAL
+                ? plan.sinkByPosition(decoded)
+                : sinkRecord(decoded, readerSchema);
+        context.endParse(parseStartNs);
+        return value;
+    }
+
+    @Override
+    public Map<String, Long> codecMetrics() {
+        Map<String, Long> metrics = new LinkedHashMap<>();
+        metrics.put("writer_schema_versions", (long) registry.versionCount());
+        metrics.put("registry_lookup_count", registry.lookupCount());
+        metrics.put("registry_lookup_us", registry.lookupNs() / 1_000L);
+        metrics.put("resolver_cache_hit_count", readerCache.hitCount());
+        metrics.put("resolver_cache_miss_count", readerCache.missCount());
+        metrics.put("resolver_build_us", readerCache.resolverBuildNs() / 1_000L);
+        return metrics;
+    }
+
+    private static GenericRecord buildFullRecord(DataProfile profile, Schema writerSchema, long sequence) {
+        RecordValues values = profile.values(sequence);
+        GenericRecord record = new GenericData.Record(writerSchema);
+        for (int i = 0; i < profile.intFields(); i++) {
+            record.put("int_" + i, values.intAt(i));
+        }
+
+        for (int i = 0; i < profile.longFields(); i++) {
+            record.put("long_" + i, values.longAt(i));
+        }
+
+        for (int i = 0; i < profile.stringFields(); i++) {
+            record.put("str_" + i, values.stringAt(i));
+        }
+
+        for (int i = profile.totalFields(); i < writerSchema.getFields().size(); i++) {
+            record.put(i, sequence);
+        }
+
+        return record;
+    }
+
+    /**
+     * Generic records hold strings as {@link Utf8} and only decode them (with replacement) on
+     * {@code toString()}, so invalid bytes go unnoticed unless checked here.
+     */
+    private static boolean validStrings(GenericRecord record, ReaderFieldPlan plan) {
+        for (int position = 0; position < plan.fieldCount(); position++) {
+            if (plan.type(position) == Schema.Type.STRING && record.get(position) instanceof Utf8 utf8
+                    && !Utf8Validator.isValid(utf8.getBytes(), 0, utf8.getByteLength())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long sinkRecord(GenericRecord record, Schema readerSchema) {
+        long value = 0L;
+        for (Schema.Field field : readerSchema.getFields()) {
+            value += sinkValue(record.get(field.name()), field.schema().getType());
+        }
+        return value;
+    }
+
+    private static long sinkValue(Object value, Schema.Type type) {
+        if (value == null) {
+            return 0L;
+        }
+
+        if (type == Schema.Type.INT) {
+            return ((Number) value).intValue();
+        }
+        if (type == Schema.Type.LONG) {
+            return ((Number) value).longValue();
+        }
+        return value.toString().length();
+    }
+}
@@ -0,0 +1,93 @@
+package com.benchmark.scenario2;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-process stand-in for a schema registry subject. Schemas are stored as JSON text and parsed
+ * on every lookup, like a registry client does on a cache miss. Producer and consumers seed the
+ * same versions in the same order, so ids agree across processes.
+ */
+final class LocalSchemaRegistry {
+
+    private final List<String> schemasById = new ArrayList<>();
+    private final Map<String, Integer> idsBySchema = new HashMap<>();
+    private long lookupCount;
+    private long lookupNs;
+
+    static LocalSchemaRegistry withEvolvedVersions(Schema baseSchema, int versionCount) {
+        if (versionCount < 1) {
+            throw new IllegalArgumentException("Writer schema version count must be >= 1: " + versionCount);
+        }
+
+        LocalSchemaRegistry registry = new LocalSchemaRegistry();
+        for (int version = 1; version <= versionCount; version++) {
+            registry.register(evolve(baseSchema, version - 1));
+        }
+        return registry;
+    }
+
+    /**
+     * Version {@code n} of the writer appends {@code n - 1} trailing {@code evo_*} long fields with
+     * a default, which both reader schemas skip during resolution.
+     */
+    static Schema evolve(Schema baseSchema, int extraFieldCount) {
+        if (extraFieldCount == 0) {
+            return baseSchema;
+        }
+
+        SchemaBuilder.FieldAssembler<Schema> fields = SchemaBuilder.record(baseSchema.getName())
+                .namespace(baseSchema.getNamespace())
+                .fields();
+        for (Schema.Field field : baseSchema.getFields()) {
+            fields = fields.name(field.name()).type(field.schema()).noDefault();
+        }
+        for (int i = 0; i < extraFieldCount; i++) {
+            fields = fields.name("evo_" + i).type().longType().longDefault(0L);
+        }
+        return fields.endRecord();
+    }
+
+    int register(Schema schema) {
+        String text = schema.toString();
+        Integer existing = idsBySchema.get(text);
+        if (existing != null) {
+            return existing;
+        }
+
+        schemasById.add(text);
+        int id = schemasById.size();
+        idsBySchema.put(text, id);
+        return id;
+    }
+
+    int versionCount() {
+        return schemasById.size();
+    }
+
+    Schema getById(int id) throws IOException {
+        long startNs = System.nanoTime();
+        if (id < 1 || id > schemasById.size()) {
+            throw new IOException("Unknown schema id: " + id);
+        }
+
+        Schema schema = new Schema.Parser().parse(schemasById.get(id - 1));
+        lookupNs += System.nanoTime() - startNs;
+        lookupCount++;
+        return schema;
+    }
+
+    long lookupCount() {
+        return lookupCount;
+    }
+
+    long lookupNs() {
+        return lookupNs;
+    }
+}
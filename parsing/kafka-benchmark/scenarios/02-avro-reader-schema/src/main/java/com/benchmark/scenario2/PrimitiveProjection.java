@@ -0,0 +1,70 @@
+package com.benchmark.scenario2;
+
+import com.benchmark.shared.Utf8Validator;
+import org.apache.avro.Schema;
+import org.apache.avro.io.ResolvingDecoder;
+import org.apache.avro.util.Utf8;
+
+import java.io.IOException;
+
+/**
+ * Reusable primitive holder filled straight from a {@link ResolvingDecoder}, bypassing
+ * {@code GenericRecord}. Strings are read through one reused {@link Utf8} and kept as their
+ * {@code String.length()}, counted from the bytes without decoding, so the sink matches the
+ * {@code GenericRecord} modes for non-ASCII strings too.
+ */
+final class PrimitiveProjection {
+
+    private final ReaderFieldPlan plan;
+    private final int[] ints;
+    private final long[] longs;
+    private final int[] stringLengths;
+    private Utf8 scratch = new Utf8();
+
+    PrimitiveProjection(ReaderFieldPlan plan) {
+        this.plan = plan;
+        this.ints = new int[plan.intCount()];
+        this.longs = new long[plan.longCount()];
+        this.stringLengths = new int[plan.stringCount()];
+    }
+
+    /**
+     * Reads one record; with {@code validate} also checks every string's bytes and returns false
+     * when one is not valid UTF-8 (the record is still read to the end).
+     */
+    boolean read(ResolvingDecoder in, boolean validate) throws IOException {
+        boolean valid = true;
+        for (Schema.Field field : in.readFieldOrder()) {
+            int position = field.pos();
+            Schema.Type type = plan.type(position);
+            if (type == Schema.Type.INT) {
+                ints[plan.slot(position)] = in.readInt();
+            } else if (type == Schema.Type.LONG) {
+                longs[plan.slot(position)] = in.readLong();
+            } else {
+                scratch = in.readString(scratch);
+                stringLengths[plan.slot(position)] =
+                        Utf8Validator.utf16Length(scratch.getBytes(), 0, scratch.getByteLength());
+                if (validate && !Utf8Validator.isValid(scratch.getBytes(), 0, scratch.getByteLength())) {
+                    valid = false;
+                }
+            }
+        }
+        in.drain();
+        return valid;
+    }
+
+    long sink() {
+        long value = 0L;
+        for (int intValue : ints) {
+            value += intValue;
+        }
+        for (long longValue : longs) {
+            value += longValue;
+        }
+        for (int length : stringLengths) {
+            value += length;
+        }
+        return value;
+    }
+}
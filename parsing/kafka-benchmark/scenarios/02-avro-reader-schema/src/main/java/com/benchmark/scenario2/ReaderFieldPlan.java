@@ -0,0 +1,87 @@
+package com.benchmark.scenario2;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericRecord;
+
+/**
+ * Field types and per-type slots of a reader schema, resolved once by field position so the
+ * consumer loop never touches field names or {@link Schema.Field} objects.
+ */
+final class ReaderFieldPlan {
+
+    private final Schema.Type[] types;
+    private final int[] slots;
+    private final int intCount;
+    private final int longCount;
+    private final int stringCount;
+
+    ReaderFieldPlan(Schema readerSchema) {
+        int fieldCount = readerSchema.getFields().size();
+        this.types = new Schema.Type[fieldCount];
+        this.slots = new int[fieldCount];
+
+        int ints = 0;
+        int longs = 0;
+        int strings = 0;
+        for (Schema.Field field : readerSchema.getFields()) {
+            Schema.Type type = field.schema().getType();
+            types[field.pos()] = type;
+            if (type == Schema.Type.INT) {
+                slots[field.pos()] = ints++;
+            } else if (type == Schema.Type.LONG) {
+                slots[field.pos()] = longs++;
+            } else if (type == Schema.Type.STRING) {
+                slots[field.pos()] = strings++;
+            } else {
+                throw new IllegalArgumentException("Unsupported reader field type: " + field.name() + " " + type);
+            }
+        }
+        this.intCount = ints;
+        this.longCount = longs;
+        this.stringCount = strings;
+    }
+
+    int fieldCount() {
+        return types.length;
+    }
+
+    Schema.Type type(int position) {
+        return types[position];
+    }
+
+    int slot(int position) {
+        return slots[position];
+    }
+
+    int intCount() {
+        return intCount;
+    }
+
+    int longCount() {
+        return longCount;
+    }
+
+    int stringCount() {
+        return stringCount;
+    }
+
+    long sinkByPosition(GenericRecord record) {
+        long value = 0L;
+        for (int position = 0; position < types.length; position++) {
+            Object fieldValue = record.get(position);
+            if (fieldValue == null) {
+                continue;
+            }
+
+            Schema.Type type = types[position];
+            if (type == Schema.Type.INT) {
+                value += (Integer) fieldValue;
+            } else if (type == Schema.Type.LONG) {
+                value += (Long) fieldValue;
+            } else {
+                value += fieldValue.toString().length();
+            }
+        }
+        return value;
+    }
+}
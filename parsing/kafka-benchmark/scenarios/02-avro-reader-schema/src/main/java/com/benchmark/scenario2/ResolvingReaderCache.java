@@ -0,0 +1,94 @@
+package com.benchmark.scenario2;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.ResolvingDecoder;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Resolving readers keyed by (writer schema id, reader schema). A miss pays the registry lookup
+ * and the {@link ResolvingDecoder} grammar build once; hits only reconfigure the cached decoder.
+ * Reader schemas are matched by identity, so callers keep one instance per projection.
+ */
+final class ResolvingReaderCache {
+
+    private final LocalSchemaRegistry registry;
+    private final Map<Key, ResolvedReader> readers = new HashMap<>();
+    private long hitCount;
+    private long missCount;
+    private long resolverBuildNs;
+
+    ResolvingReaderCache(LocalSchemaRegistry registry) {
+        this.registry = registry;
+    }
+
+    ResolvedReader get(int writerId, Schema readerSchema) throws IOException {
+        Key key = new Key(writerId, readerSchema);
+        ResolvedReader reader = readers.get(key);
+        if (reader != null) {
+            hitCount++;
+            return reader;
+        }
+
+        missCount++;
+        Schema writerSchema = registry.getById(writerId);
+        long buildStartNs = System.nanoTime();
+        reader = new ResolvedReader(writerSchema, readerSchema);
+        resolverBuildNs += System.nanoTime() - buildStartNs;
+        readers.put(key, reader);
+        return reader;
+    }
+
+    long hitCount() {
+        return hitCount;
+    }
+
+    long missCount() {
+        return missCount;
+    }
+
+    long resolverBuildNs() {
+        return resolverBuildNs;
+    }
+
+    private record Key(int writerId, Schema readerSchema) {
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key && key.writerId == writerId && key.readerSchema == readerSchema;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * writerId + System.identityHashCode(readerSchema);
+        }
+    }
+
+    static final class ResolvedReader extends GenericDatumReader<GenericRecord> {
+
+        private final ResolvingDecoder resolver;
+
+        private ResolvedReader(Schema writerSchema, Schema readerSchema) throws IOException {
+            super(writerSchema, readerSchema);
+            this.resolver = DecoderFactory.get().resolvingDecoder(writerSchema, readerSchema, null);
+        }
+
+        GenericRecord read(BinaryDecoder in) throws IOException {
+            resolver.configure(in);
+            GenericRecord record = (GenericRecord) read(null, getExpected(), resolver);
+            resolver.drain();
+            return record;
+        }
+
+        ResolvingDecoder resolver(BinaryDecoder in) throws IOException {
+            resolver.configure(in);
+            return resolver;
+        }
+    }
+}
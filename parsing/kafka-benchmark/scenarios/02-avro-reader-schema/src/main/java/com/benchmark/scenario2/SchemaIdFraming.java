@@ -0,0 +1,38 @@
+package com.benchmark.scenario2;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Confluent wire format header: magic byte {@code 0} followed by a big-endian int schema id.
+ */
+final class SchemaIdFraming {
+
+    static final byte MAGIC_BYTE = 0;
+    static final int HEADER_LENGTH = 5;
+
+    private SchemaIdFraming() {
+    }
+
+    static void writeHeader(ByteArrayOutputStream out, int schemaId) {
+        out.write(MAGIC_BYTE);
+        out.write(schemaId >>> 24);
+        out.write(schemaId >>> 16);
+        out.write(schemaId >>> 8);
+        out.write(schemaId);
+    }
+
+    static int readSchemaId(byte[] payload) throws IOException {
+        if (payload.length < HEADER_LENGTH) {
+            throw new IOException("Payload shorter than schema id header: " + payload.length);
+        }
+        if (payload[0] != MAGIC_BYTE) {
+            throw new IOException("Unknown magic byte: " + payload[0]);
+        }
+
+        return ((payload[1] & 0xFF) << 24)
+                | ((payload[2] & 0xFF) << 16)
+                | ((payload[3] & 0xFF) << 8)
+                | (payload[4] & 0xFF);
+    }
+}
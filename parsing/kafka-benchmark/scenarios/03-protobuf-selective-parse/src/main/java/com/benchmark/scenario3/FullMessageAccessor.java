@@ -0,0 +1,29 @@
+package com.benchmark.scenario3;
+
+/**
+ * How consumer-2 reads a parsed {@code TestMessage}: {@code reflective} walks the descriptor with
+ * {@code getField} (boxed values), {@code typed} calls the generated getters via {@link TypedMessageSink}.
+ */
+enum FullMessageAccessor {
+    REFLECTIVE("reflective"),
+    TYPED("typed");
+
+    private final String value;
+
+    FullMessageAccessor(String value) {
+        this.value = value;
+    }
+
+    String value() {
+        return value;
+    }
+
+    static FullMessageAccessor from(String value) {
+        for (FullMessageAccessor accessor : values()) {
+            if (accessor.value.equalsIgnoreCase(value)) {
+                return accessor;
+            }
+        }
+        throw new IllegalArgumentException("Unknown PROTOBUF_FULL_ACCESSOR: " + value);
+    }
+}
@@ -0,0 +1,38 @@
+package com.benchmark.scenario3;
+
+import com.google.protobuf.CodedOutputStream;
+
+import java.io.IOException;
+
+/**
+ * Pre-encoded static-profile message with {@code long_0} left at its proto3 default, so the field
+ * is absent from the bytes. {@link #encode(long)} copies the fields before and after field 85 and
+ * writes only the {@code long_0} tag and varint in between; wire order stays by field number.
+ */
+final class ProtobufMessageTemplate {
+
+    static final int LONG_0_FIELD_NUMBER = 85;
+
+    private final byte[] template;
+    private final int prefixLength;
+
+    ProtobufMessageTemplate(byte[] template, int prefixLength) {
+        this.template = template;
+        this.prefixLength = prefixLength;
+    }
+
+    byte[] encode(long sequence) throws IOException {
+        if (sequence == 0L) {
+            return template.clone();
+        }
+
+        int fieldSize = CodedOutputStream.computeInt64Size(LONG_0_FIELD_NUMBER, sequence);
+        byte[] payload = new byte[template.length + fieldSize];
+        System.arraycopy(template, 0, payload, 0, prefixLength);
+        CodedOutputStream output = CodedOutputStream.newInstance(payload, prefixLength, fieldSize);
+        output.writeInt64(LONG_0_FIELD_NUMBER, sequence);
+        output.checkNoSpaceLeft();
+        System.arraycopy(template, prefixLength, payload, prefixLength + fieldSize, template.length - prefixLength);
+        return payload;
+    }
+}
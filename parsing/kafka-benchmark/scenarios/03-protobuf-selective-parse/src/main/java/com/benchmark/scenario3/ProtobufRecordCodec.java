@@ -0,0 +1,279 @@
+package com.benchmark.scenario3;
+
+import com.benchmark.model.TestMessageProto.TestMessage;
+import com.benchmark.shared.DataProfile;
+import com.benchmark.shared.RecordValues;
+import com.benchmark.shared.runner.BinaryRecordCodec;
+import com.benchmark.shared.runner.DecodeContext;
+import com.benchmark.shared.runner.FaultInjection;
+import com.benchmark.shared.runner.ProducerEncodeMode;
+import com.benchmark.shared.runner.RecordFault;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.Descriptors;
+import com.google.protobuf.WireFormat;
+
+import java.io.IOException;
+import java.util.List;
+
+final class ProtobufRecordCodec extends BinaryRecordCodec {
+
+    private static final int SEL_INT_A = 6;
+    private static final int SEL_INT_B = 14;
+    private static final int SEL_INT_C = 20;
+    private static final int SEL_INT_D = 26;
+    private static final int SEL_LONG_A = 94;
+    private static final int SEL_LONG_B = 131;
+    private static final int SEL_LONG_C = 135;
+    private static final int SEL_STR_A = 169;
+    private static final int SEL_STR_B = 221;
+    private static final int SEL_STR_C = 249;
+    private static final int LAST_VARINT_FIELD = 167;
+    private static final int FIRST_STRING_FIELD = 168;
+    private static final int STRING_FIELDS = 83;
+
+    private final DataProfile profile;
+    private final List<Descriptors.FieldDescriptor> fieldDescriptors;
+    private final ProtobufMessageTemplate template;
+    private final FullMessageAccessor fullAccessor;
+
+    ProtobufRecordCodec(
+            DataProfile profile,
+            List<Descriptors.FieldDescriptor> fieldDescriptors,
+            ProducerEncodeMode encodeMode,
+            FullMessageAccessor fullAccessor
+    ) {
+        profile.requireBaseFieldCount("Protobuf");
+        this.profile = profile;
+        this.fieldDescriptors = fieldDescriptors;
+        this.template = encodeMode.incremental(profile) ? buildTemplate() : null;
+        this.fullAccessor = fullAccessor;
+        if (fullAccessor == FullMessageAccessor.TYPED) {
+            verifyTypedSink();
+        }
+    }
+
+    @Override
+    public byte[] encodeFull(long sequence) throws IOException {
+        if (template != null) {
+            return template.encode(sequence);
+        }
+        return buildMessage(profile.values(sequence), Integer.MAX_VALUE).toByteArray();
+    }
+
+    @Override
+    public boolean supportsFault(RecordFault fault) {
+        return fault == RecordFault.TRUNCATED || fault == RecordFault.BAD_VARINT || fault == RecordFault.BAD_UTF8;
+    }
+
+    /**
+     * The wire format has no record framing, so a cut on a field boundary still parses as a
+     * shorter message. Proto3 omits default values, so the corrupted field is the first present
+     * one at or after a picked field number; a sparse record may have none.
+     */
+    @Override
+    public byte[] encodeFaulty(long sequence, RecordFault fault) throws IOException {
+        byte[] payload = encodeFull(sequence);
+        switch (fault) {
+            case TRUNCATED:
+                return FaultInjection.truncate(payload, sequence);
+            case BAD_VARINT: {
+                int offset = valueOffset(payload, WireFormat.WIRETYPE_VARINT,
+                        1 + FaultInjection.pick(sequence, LAST_VARINT_FIELD));
+                if (offset < 0) {
+                    return null;
+                }
+                FaultInjection.corruptVarint(payload, offset);
+                return payload;
+            }
+            case BAD_UTF8: {
+                int offset = valueOffset(payload, WireFormat.WIRETYPE_LENGTH_DELIMITED,
+                        FIRST_STRING_FIELD + FaultInjection.pick(sequence, STRING_FIELDS));
+                if (offset < 0) {
+                    return null;
+                }
+                payload[offset] = FaultInjection.INVALID_UTF8_BYTE;
+                return payload;
+            }
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Offset of the first varint, or first non-empty string byte, of a field numbered at least
+     * {@code fromField}; wraps around to the first such field, -1 when there is none.
+     */
+    private static int valueOffset(byte[] payload, int wireType, int fromField) throws IOException {
+        CodedInputStream input = CodedInputStream.newInstance(payload);
+        int first = -1;
+        while (!input.isAtEnd()) {
+            int tag = input.readTag();
+            if (WireFormat.getTagWireType(tag) != wireType) {
+                input.skipField(tag);
+                continue;
+            }
+            int offset;
+            if (wireType == WireFormat.WIRETYPE_LENGTH_DELIMITED) {
+                int length = input.readRawVarint32();
+                offset = length > 0 ? input.getTotalBytesRead() : -1;
+                input.skipRawBytes(length);
+            } else {
+                offset = input.getTotalBytesRead();
+                input.skipField(tag);
+            }
+            if (offset >= 0) {
+                if (WireFormat.getTagFieldNumber(tag) >= fromField) {
+                    return offset;
+                }
+                if (first < 0) {
+                    first = offset;
+                }
+            }
+        }
+        return first;
+    }
+
+    private ProtobufMessageTemplate buildTemplate() {
+        RecordValues values = profile.values(0L);
+        byte[] encoded = buildMessage(values, Integer.MAX_VALUE).toByteArray();
+        int prefixLength = buildMessage(values, ProtobufMessageTemplate.LONG_0_FIELD_NUMBER - 1).getSerializedSize();
+        return new ProtobufMessageTemplate(encoded, prefixLength);
+    }
+
+    private TestMessage buildMessage(RecordValues values, int maxFieldNumber) {
+        TestMessage.Builder builder = TestMessage.newBuilder();
+
+        for (Descriptors.FieldDescriptor field : fieldDescriptors) {
+            int fieldNumber = field.getNumber();
+            if (fieldNumber > maxFieldNumber) {
+                continue;
+            }
+            Object value;
+            if (fieldNumber <= 84) {
+                value = values.intAt(fieldNumber - 1);
+            } else if (fieldNumber <= 167) {
+                value = values.longAt(fieldNumber - 85);
+            } else {
+                value = values.stringAt(fieldNumber - 168);
+            }
+            builder.setField(field, value);
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Tag scan, selected reads and skips are one interleaved pass, so a sampled record times the whole
+     * loop once as decode; per-tag timers would cost more than the fields they measure. The parse phase
+     * stays 0 for this role.
+     */
+    @Override
+    public long decodeSelected(byte[] payload, DecodeContext context) throws IOException {
+        long decodeStartNs = context.startPhase();
+        CodedInputStream input = CodedInputStream.newInstance(payload);
+        long value = 0L;
+        long skipCount = 0L;
+
+        while (!input.isAtEnd()) {
+            int tag = input.readTag();
+            if (tag == 0) {
+                break;
+            }
+
+            int fieldNumber = WireFormat.getTagFieldNumber(tag);
+            switch (fieldNumber) {
+                case SEL_INT_A:
+                case SEL_INT_B:
+                case SEL_INT_C:
+                case SEL_INT_D:
+                    value += input.readInt32();
+                    break;
+                case SEL_LONG_A:
+                case SEL_LONG_B:
+                case SEL_LONG_C:
+                    value += input.readInt64();
+                    break;
+                case SEL_STR_A:
+                case SEL_STR_B:
+                case SEL_STR_C:
+                    value += input.readStringRequireUtf8().length();
+                    break;
+                default:
+                    input.skipField(tag);
+                    skipCount++;
+                    break;
+            }
+        }
+        context.endDecodeOrSplit(decodeStartNs);
+
+        context.fieldsSkipped(skipCount);
+        return value;
+    }
+
+    @Override
+    public long decodeFull(byte[] payload, DecodeContext context) throws IOException {
+        long decodeStartNs = context.startPhase();
+        TestMessage message = TestMessage.parseFrom(payload);
+        context.endDecodeOrSplit(decodeStartNs);
+        context.objectCreated();
+
+        long parseStartNs = context.startPhase();
+        long value = fullAccessor == FullMessageAccessor.TYPED
+                ? TypedMessageSink.sink(message)
+                : sinkFullMessage(message);
+        context.endParse(parseStartNs);
+        return value;
+    }
+
+    /**
+     * The typed sink is written out by hand from the schema; a probe message with a distinct value in
+     * every field must give the same sink through both paths.
+     */
+    private void verifyTypedSink() {
+        TestMessage.Builder builder = TestMessage.newBuilder();
+        for (Descriptors.FieldDescriptor field : fieldDescriptors) {
+            int fieldNumber = field.getNumber();
+            switch (field.getJavaType()) {
+                case INT:
+                    builder.setField(field, fieldNumber);
+                    break;
+                case LONG:
+                    builder.setField(field, (long) fieldNumber << 20);
+                    break;
+                case STRING:
+                    builder.setField(field, "s".repeat(fieldNumber % 17 + 1));
+                    break;
+                default:
+                    break;
+            }
+        }
+        TestMessage probe = builder.build();
+        long reflective = sinkFullMessage(probe);
+        long typed = TypedMessageSink.sink(probe);
+        if (reflective != typed) {
+            throw new IllegalStateException("TypedMessageSink does not match the TestMessage descriptor: reflective "
+                    + reflective + ", typed " + typed);
+        }
+    }
+
+    private long sinkFullMessage(TestMessage message) {
+        long value = 0L;
+        for (Descriptors.FieldDescriptor field : fieldDescriptors) {
+            Object fieldValue = message.getField(field);
+            switch (field.getJavaType()) {
+                case INT:
+                    value += ((Number) fieldValue).intValue();
+                    break;
+                case LONG:
+                    value += ((Number) fieldValue).longValue();
+                    break;
+                case STRING:
+                    value += fieldValue.toString().length();
+                    break;
+                default:
+                    break;
+            }
+        }
+        return value;
+    }
+}
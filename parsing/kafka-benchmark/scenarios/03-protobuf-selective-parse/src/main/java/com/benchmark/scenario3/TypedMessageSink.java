@@ -0,0 +1,286 @@
+package com.benchmark.scenario3;
+
+import com.benchmark.model.TestMessageProto.TestMessage;
+
+/**
+ * Full-message sink over the protoc-generated typed getters, in field-number order: no
+ * {@code FieldDescriptor} lookup and no boxing per field. Written out from
+ * {@code full_record.proto} ({@code int_0..int_83}, {@code long_0..long_82}, {@code str_0..str_82});
+ * {@link ProtobufRecordCodec} checks it against the descriptor walk when it is created, so a schema
+ * change that is not mirrored here fails at start-up instead of skewing the sink. Split in three so
+ * each method stays well below HotSpot's huge-method limit.
+ */
+final class TypedMessageSink {
+
+    private TypedMessageSink() {
+    }
+
+    static long sink(TestMessage message) {
+        return sinkInts(message) + sinkLongs(message) + sinkStrings(message);
+    }
+
+    private static long sinkInts(TestMessage message) {
+        long value = 0L;
+        value += message.getInt0();
+        value += message.getInt1();
+        value += message.getInt2();
+        value += message.getInt3();
+        value += message.getInt4();
+        value += message.getInt5();
+        value += message.getInt6();
+        value += message.getInt7();
+        value += message.getInt8();
+        value += message.getInt9();
+        value += message.getInt10();
+        value += message.getInt11();
+        value += message.getInt12();
+        value += message.getInt13();
+        value += message.getInt14();
+        value += message.getInt15();
+        value += message.getInt16();
+        value += message.getInt17();
+        value += message.getInt18();
+        value += message.getInt19();
+        value += message.getInt20();
+        value += message.getInt21();
+        value += message.getInt22();
+        value += message.getInt23();
+        value += message.getInt24();
+        value += message.getInt25();
+        value += message.getInt26();
+        value += message.getInt27();
+        value += message.getInt28();
+        value += message.getInt29();
+        value += message.getInt30();
+        value += message.getInt31();
+        value += message.getInt32();
+        value += message.getInt33();
+        value += message.getInt34();
+        value += message.getInt35();
+        value += message.getInt36();
+        value += message.getInt37();
+        value += message.getInt38();
+        value += message.getInt39();
+        value += message.getInt40();
+        value += message.getInt41();
+        value += message.getInt42();
+        value += message.getInt43();
+        value += message.getInt44();
+        value += message.getInt45();
+        value += message.getInt46();
+        value += message.getInt47();
+        value += message.getInt48();
+        value += message.getInt49();
+        value += message.getInt50();
+        value += message.getInt51();
+        value += message.getInt52();
+        value += message.getInt53();
+        value += message.getInt54();
+        value += message.getInt55();
+        value += message.getInt56();
+        value += message.getInt57();
+        value += message.getInt58();
+        value += message.getInt59();
+        value += message.getInt60();
+        value += message.getInt61();
+        value += message.getInt62();
+        value += message.getInt63();
+        value += message.getInt64();
+        value += message.getInt65();
+        value += message.getInt66();
+        value += message.getInt67();
+        value += message.getInt68();
+        value += message.getInt69();
+        value += message.getInt70();
+        value += message.getInt71();
+        value += message.getInt72();
+        value += message.getInt73();
+        value += message.getInt74();
+        value += message.getInt75();
+        value += message.getInt76();
+        value += message.getInt77();
+        value += message.getInt78();
+        value += message.getInt79();
+        value += message.getInt80();
+        value += message.getInt81();
+        value += message.getInt82();
+        value += message.getInt83();
+        return value;
+    }
+
+    private static long sinkLongs(TestMessage message) {
+        long value = 0L;
+        value += message.getLong0();
+        value += message.getLong1();
+        value += message.getLong2();
+        value += message.getLong3();
+        value += message.getLong4();
+        value += message.getLong5();
+        value += message.getLong6();
+        value += message.getLong7();
+        value += message.getLong8();
+        value += message.getLong9();
+        value += message.getLong10();
+        value += message.getLong11();
+        value += message.getLong12();
+        value += message.getLong13();
+        value += message.getLong14();
+        value += message.getLong15();
+        value += message.getLong16();
+        value += message.getLong17();
+        value += message.getLong18();
+        value += message.getLong19();
+        value += message.getLong20();
+        value += message.getLong21();
+        value += message.getLong22();
+        value += message.getLong23();
+        value += message.getLong24();
+        value += message.getLong25();
+        value += message.getLong26();
+        value += message.getLong27();
+        value += message.getLong28();
+        value += message.getLong29();
+        value += message.getLong30();
+        value += message.getLong31();
+        value += message.getLong32();
+        value += message.getLong33();
+        value += message.getLong34();
+        value += message.getLong35();
+        value += message.getLong36();
+        value += message.getLong37();
+        value += message.getLong38();
+        value += message.getLong39();
+        value += message.getLong40();
+        value += message.getLong41();
+        value += message.getLong42();
+        value += message.getLong43();
+        value += message.getLong44();
+        value += message.getLong45();
+        value += message.getLong46();
+        value += message.getLong47();
+        value += message.getLong48();
+        value += message.getLong49();
+        value += message.getLong50();
+        value += message.getLong51();
+        value += message.getLong52();
+        value += message.getLong53();
+        value += message.getLong54();
+        value += message.getLong55();
+        value += message.getLong56();
+        value += message.getLong57();
+        value += message.getLong58();
+        value += message.getLong59();
+        value += message.getLong60();
+        value += message.getLong61();
+        value += message.getLong62();
+        value += message.getLong63();
+        value += message.getLong64();
+        value += message.getLong65();
+        value += message.getLong66();
+        value += message.getLong67();
+        value += message.getLong68();
+        value += message.getLong69();
+        value += message.getLong70();
+        value += message.getLong71();
+        value += message.getLong72();
+        value += message.getLong73();
+        value += message.getLong74();
+        value += message.getLong75();
+        value += message.getLong76();
+        value += message.getLong77();
+        value += message.getLong78();
+        value += message.getLong79();
+        value += message.getLong80();
+        value += message.getLong81();
+        value += message.getLong82();
+        return value;
+    }
+
+    private static long sinkStrings(TestMessage message) {
+        long value = 0L;
+        value += message.getStr0().length();
+        value += message.getStr1().length();
+        value += message.getStr2().length();
+        value += message.getStr3().length();
+        value += message.getStr4().length();
+        value += message.getStr5().length();
+        value += message.getStr6().length();
+        value += message.getStr7().length();
+        value += message.getStr8().length();
+        value += message.getStr9().length();
+        value += message.getStr10().length();
+        value += message.getStr11().length();
+        value += message.getStr12().length();
+        value += message.getStr13().length();
+        value += message.getStr14().length();
+        value += message.getStr15().length();
+        value += message.getStr16().length();
+        value += message.getStr17().length();
+        value += message.getStr18().length();
+        value += message.getStr19().length();
+        value += message.getStr20().length();
+        value += message.getStr21().length();
+        value += message.getStr22().length();
+        value += message.getStr23().length();
+        value += message.getStr24().length();
+        value += message.getStr25().length();
+        value += message.getStr26().length();
+        value += message.getStr27().length();
+        value += message.getStr28().length();
+        value += message.getStr29().length();
+        value += message.getStr30().length();
+        value += message.getStr31().length();
+        value += message.getStr32().length();
+        value += message.getStr33().length();
+        value += message.getStr34().length();
+        value += message.getStr35().length();
+        value += message.getStr36().length();
+        value += message.getStr37().length();
+        value += message.getStr38().length();
+        value += message.getStr39().length();
+        value += message.getStr40().length();
+        value += message.getStr41().length();
+        value += message.getStr42().length();
+        value += message.getStr43().length();
+        value += message.getStr44().length();
+        value += message.getStr45().length();
+        value += message.getStr46().length();
+        value += message.getStr47().length();
+        value += message.getStr48().length();
+        value += message.getStr49().length();
+        value += message.getStr50().length();
+        value += message.getStr51().length();
+        value += message.getStr52().length();
+        value += message.getStr53().length();
+        value += message.getStr54().length();
+        value += message.getStr55().length();
+        value += message.getStr56().length();
+        value += message.getStr57().length();
+        value += message.getStr58().length();
+        value += message.getStr59().length();
+        value += message.getStr60().length();
+        value += message.getStr61().length();
+        value += message.getStr62().length();
+        value += message.getStr63().length();
+        value += message.getStr64().length();
+        value += message.getStr65().length();
+        value += message.getStr66().length();
+        value += message.getStr67().length();
+        value += message.getStr68().length();
+        value += message.getStr69().length();
+        value += message.getStr70().length();
+        value += message.getStr71().length();
+        value += message.getStr72().length();
+        value += message.getStr73().length();
+        value += message.getStr74().length();
+        value += message.getStr75().length();
+        value += message.getStr76().length();
+        value += message.getStr77().length();
+        value += message.getStr78().length();
+        value += message.getStr79().length();
+        value += message.getStr80().length();
+        value += message.getStr81().length();
+        value += message.getStr82().length();
+        return value;
+    }
+}
@@ -0,0 +1,130 @@
+package com.benchmark.scenario4;
+
+import com.benchmark.shared.DataProfile;
+import com.benchmark.shared.RecordValues;
+import com.benchmark.shared.StaticMappedObject;
+
+import java.util.HashMap;
+import java.util.Map;
+
+final class DictionaryEncoder {
+
+    private final DataProfile profile;
+    private final StringDictionaryMode mode;
+    private final int batchRecords;
+    private final int maxEntries;
+    private final LayoutBuffer buffer = new LayoutBuffer();
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final int[] refs = new int[StaticMappedObject.STRING_FIELDS];
+
+    private int epoch;
+    private int recordsInEpoch;
+    private long epochCount;
+    private long definitionCount;
+    private long hitCount;
+    private long inlineCount;
+
+    DictionaryEncoder(DataProfile profile, StringDictionaryMode mode, int batchRecords, int maxEntries) {
+        this.profile = profile;
+        this.mode = mode;
+        this.batchRecords = batchRecords;
+        this.maxEntries = maxEntries;
+    }
+
+    int encode(long sequence) {
+        if (mode == StringDictionaryMode.BATCH && recordsInEpoch == batchRecords) {
+            ids.clear();
+            epoch++;
+            recordsInEpoch = 0;
+        }
+        if (recordsInEpoch++ == 0) {
+            epochCount++;
+        }
+
+        RecordValues values = profile.values(sequence);
+        byte[] bytes = buffer.bytes();
+        FixedLayout.SHORT_LE.set(bytes, 0, (short) DictionaryLayout.BLOCK_LENGTH);
+        FixedLayout.SHORT_LE.set(bytes, 2, (short) DictionaryLayout.TEMPLATE_ID);
+        FixedLayout.SHORT_LE.set(bytes, 4, (short) FixedLayout.SCHEMA_ID);
+        FixedLayout.SHORT_LE.set(bytes, 6, (short) FixedLayout.SCHEMA_VERSION);
+        FixedLayout.INT_LE.set(bytes, DictionaryLayout.EPOCH_OFFSET, epoch);
+
+        for (int i = 0; i < StaticMappedObject.INT_FIELDS; i++) {
+            FixedLayout.INT_LE.set(bytes, DictionaryLayout.intOffset(i), values.intAt(i));
+        }
+
+        for (int i = 0; i < StaticMappedObject.LONG_FIELDS; i++) {
+            FixedLayout.LONG_LE.set(bytes, DictionaryLayout.longOffset(i), values.longAt(i));
+        }
+
+        int definitions = 0;
+        int position = DictionaryLayout.DEFINITIONS_OFFSET + Short.BYTES;
+        for (int i = 0; i < StaticMappedObject.STRING_FIELDS; i++) {
+            String value = values.stringAt(i);
+            Integer id = ids.get(value);
+            int ref;
+            if (id != null) {
+                ref = id;
+                hitCount++;
+            } else if (ids.size() < maxEntries) {
+                ref = ids.size();
+                ids.put(value, ref);
+                buffer.ensureCapacity(position + Short.BYTES);
+                FixedLayout.SHORT_LE.set(buffer.bytes(), position, (short) ref);
+                position = writeLengthPrefixed(value, position + Short.BYTES);
+                definitions++;
+                definitionCount++;
+            } else {
+                ref = DictionaryLayout.INLINE_REF;
+            }
+            refs[i] = ref;
+            FixedLayout.SHORT_LE.set(buffer.bytes(), DictionaryLayout.stringRefOffset(i), (short) ref);
+        }
+        FixedLayout.SHORT_LE.set(buffer.bytes(), DictionaryLayout.DEFINITIONS_OFFSET, (short) definitions);
+
+        for (int i = 0; i < StaticMappedObject.STRING_FIELDS; i++) {
+            if (refs[i] == DictionaryLayout.INLINE_REF) {
+                position = writeLengthPrefixed(values.stringAt(i), position);
+                inlineCount++;
+            }
+        }
+
+        return position;
+    }
+
+    byte[] buffer() {
+        return buffer.bytes();
+    }
+
+    int entryCount() {
+        return ids.size();
+    }
+
+    long epochCount() {
+        return epochCount;
+    }
+
+    long definitionCount() {
+        return definitionCount;
+    }
+
+    long hitCount() {
+        return hitCount;
+    }
+
+    long inlineCount() {
+        return inlineCount;
+    }
+
+    private int writeLengthPrefixed(String value, int position) {
+        int start = position + Short.BYTES;
+        buffer.ensureCapacity(start);
+        int end = buffer.writeString(value, start);
+        int length = end - start;
+        if (length > DictionaryLayout.MAX_STRING_LENGTH) {
+            throw new IllegalStateException("String exceeds u16 length range: " + length);
+        }
+        FixedLayout.SHORT_LE.set(buffer.bytes(), position, (short) length);
+        return end;
+    }
+}
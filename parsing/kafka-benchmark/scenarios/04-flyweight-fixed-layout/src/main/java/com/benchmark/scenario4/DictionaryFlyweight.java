@@ -0,0 +1,80 @@
+package com.benchmark.scenario4;
+
+import java.nio.charset.StandardCharsets;
+
+final class DictionaryFlyweight {
+
+    private final StringDictionary dictionary;
+    private byte[] buffer;
+    private int inlineOffset;
+
+    DictionaryFlyweight(StringDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Wraps the payload and feeds its definitions to the dictionary. Definitions are applied on
+     * every path, selected or full, so later records can resolve their refs.
+     */
+    boolean wrap(byte[] payload) {
+        this.buffer = payload;
+        if (payload.length < DictionaryLayout.DEFINITIONS_OFFSET + Short.BYTES
+                || (short) FixedLayout.SHORT_LE.get(payload, 2) != DictionaryLayout.TEMPLATE_ID) {
+            return false;
+        }
+
+        int epoch = (int) FixedLayout.INT_LE.get(payload, DictionaryLayout.EPOCH_OFFSET);
+        int definitions = Short.toUnsignedInt((short) FixedLayout.SHORT_LE.get(payload, DictionaryLayout.DEFINITIONS_OFFSET));
+        int position = DictionaryLayout.DEFINITIONS_OFFSET + Short.BYTES;
+        if (!dictionary.apply(payload, epoch, position, definitions)) {
+            return false;
+        }
+        for (int i = 0; i < definitions; i++) {
+            position += 2 * Short.BYTES + u16(position + Short.BYTES);
+        }
+        this.inlineOffset = position;
+        return true;
+    }
+
+    int intAt(int index) {
+        return (int) FixedLayout.INT_LE.get(buffer, DictionaryLayout.intOffset(index));
+    }
+
+    long longAt(int index) {
+        return (long) FixedLayout.LONG_LE.get(buffer, DictionaryLayout.longOffset(index));
+    }
+
+    int stringRef(int index) {
+        return u16(DictionaryLayout.stringRefOffset(index));
+    }
+
+    /**
+     * Offset of the length prefix of the inline string for field {@code index}; walks the inline
+     * strings of the preceding fields.
+     */
+    int inlineStringOffset(int index) {
+        int position = inlineOffset;
+        for (int i = 0; i < index; i++) {
+            if (stringRef(i) == DictionaryLayout.INLINE_REF) {
+                position += Short.BYTES + u16(position);
+            }
+        }
+        return position;
+    }
+
+    int inlineOffset() {
+        return inlineOffset;
+    }
+
+    int inlineLength(int offset) {
+        return u16(offset);
+    }
+
+    String inlineString(int offset) {
+        return new String(buffer, offset + Short.BYTES, u16(offset), StandardCharsets.UTF_8);
+    }
+
+    private int u16(int offset) {
+        return Short.toUnsignedInt((short) FixedLayout.SHORT_LE.get(buffer, offset));
+    }
+}
@@ -0,0 +1,45 @@
+package com.benchmark.scenario4;
+
+import com.benchmark.shared.StaticMappedObject;
+
+/**
+ * Fixed layout with dictionary-encoded strings:
+ * <pre>
+ * [header: blockLength u16 | templateId u16 | schemaId u16 | version u16]
+ * [dictionary epoch u32][84 x int32][83 x int64][83 x u16 string refs]
+ * [definition count u16][definitions: id u16 | length u16 | bytes]
+ * [inline strings: length u16 | bytes, in field order]
+ * </pre>
+ * A ref points at a dictionary entry. Entries are defined in-band by the first record that uses
+ * them, so consumers build the same dictionary by reading the topic in order. A new epoch starts
+ * an empty dictionary. Strings that no longer fit the dictionary use {@link #INLINE_REF}.
+ */
+final class DictionaryLayout {
+
+    static final int TEMPLATE_ID = 2;
+    static final int INLINE_REF = 0xFFFF;
+    static final int MAX_ENTRIES = INLINE_REF;
+    static final int MAX_STRING_LENGTH = 0xFFFF;
+
+    static final int EPOCH_OFFSET = FixedLayout.HEADER_LENGTH;
+    static final int INT_BLOCK_OFFSET = EPOCH_OFFSET + Integer.BYTES;
+    static final int LONG_BLOCK_OFFSET = INT_BLOCK_OFFSET + StaticMappedObject.INT_FIELDS * Integer.BYTES;
+    static final int STRING_REF_BLOCK_OFFSET = LONG_BLOCK_OFFSET + StaticMappedObject.LONG_FIELDS * Long.BYTES;
+    static final int DEFINITIONS_OFFSET = STRING_REF_BLOCK_OFFSET + StaticMappedObject.STRING_FIELDS * Short.BYTES;
+    static final int BLOCK_LENGTH = DEFINITIONS_OFFSET - FixedLayout.HEADER_LENGTH;
+
+    private DictionaryLayout() {
+    }
+
+    static int intOffset(int index) {
+        return INT_BLOCK_OFFSET + index * Integer.BYTES;
+    }
+
+    static int longOffset(int index) {
+        return LONG_BLOCK_OFFSET + index * Long.BYTES;
+    }
+
+    static int stringRefOffset(int index) {
+        return STRING_REF_BLOCK_OFFSET + index * Short.BYTES;
+    }
+}
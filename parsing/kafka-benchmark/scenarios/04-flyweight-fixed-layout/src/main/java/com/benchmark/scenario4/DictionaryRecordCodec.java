@@ -0,0 +1,155 @@
+package com.benchmark.scenario4;
+
+import com.benchmark.shared.DataProfile;
+import com.benchmark.shared.StaticMappedObject;
+import com.benchmark.shared.runner.BinaryRecordCodec;
+import com.benchmark.shared.runner.DecodeContext;
+import com.benchmark.shared.runner.RecordFault;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Fixed layout with the string tail replaced by dictionary refs (see {@link DictionaryLayout}).
+ * Consumer-1 resolves selected refs to byte lengths; consumer-2 resolves every ref to the interned
+ * String in a reused holder, so only definitions and inline fallbacks are UTF-8 decoded.
+ * The producer injects no faults: a cut or altered record would desync the consumers' dictionary
+ * for every later record, not just break one.
+ */
+final class DictionaryRecordCodec extends BinaryRecordCodec {
+
+    private final DictionaryEncoder encoder;
+    private final StringDictionary dictionary = new StringDictionary();
+    private final DictionaryFlyweight flyweight = new DictionaryFlyweight(dictionary);
+    private final String[] decodedStrings = new String[StaticMappedObject.STRING_FIELDS];
+    private final int[] selectedIntIndexes;
+    private final int[] selectedLongIndexes;
+    private final int[] selectedStringIndexes;
+
+    DictionaryRecordCodec(DataProfile profile, StringDictionaryMode mode, int batchRecords, int maxEntries) {
+        profile.requireBaseFieldCount("Dictionary layout");
+        if (mode == StringDictionaryMode.NONE) {
+            throw new IllegalArgumentException("DictionaryRecordCodec needs STRING_DICTIONARY=session or batch");
+        }
+        if (batchRecords <= 0) {
+            throw new IllegalArgumentException("STRING_DICTIONARY_BATCH_RECORDS must be > 0: " + batchRecords);
+        }
+        if (maxEntries <= 0 || maxEntries > DictionaryLayout.MAX_ENTRIES) {
+            throw new IllegalArgumentException("STRING_DICTIONARY_MAX_ENTRIES must be in [1, "
+                    + DictionaryLayout.MAX_ENTRIES + "]: " + maxEntries);
+        }
+        this.encoder = new DictionaryEncoder(profile, mode, batchRecords, maxEntries);
+        int[] positions = StaticMappedObject.consumer1SelectedPositions();
+        int longStart = StaticMappedObject.INT_FIELDS;
+        int stringStart = longStart + StaticMappedObject.LONG_FIELDS;
+
+        this.selectedIntIndexes = Arrays.stream(positions)
+                .filter(StaticMappedObject::isIntPosition)
+                .toArray();
+        this.selectedLongIndexes = Arrays.stream(positions)
+                .filter(StaticMappedObject::isLongPosition)
+                .map(position -> position - longStart)
+                .toArray();
+        this.selectedStringIndexes = Arrays.stream(positions)
+                .filter(StaticMappedObject::isStringPosition)
+                .map(position -> position - stringStart)
+                .toArray();
+    }
+
+    @Override
+    public byte[] encodeFull(long sequence) {
+        int length = encoder.encode(sequence);
+        return Arrays.copyOf(encoder.buffer(), length);
+    }
+
+    @Override
+    public long decodeSelected(byte[] payload, DecodeContext context) {
+        long wrapStartNs = context.startPhase();
+        boolean valid = flyweight.wrap(payload);
+        context.endDecodeOrSplit(wrapStartNs);
+
+        if (!valid) {
+            context.reject(RecordFault.MALFORMED);
+            return 0L;
+        }
+
+        long parseStartNs = context.startPhase();
+        long value = 0L;
+        for (int index : selectedIntIndexes) {
+            value += flyweight.intAt(index);
+        }
+        for (int index : selectedLongIndexes) {
+            value += flyweight.longAt(index);
+        }
+        for (int index : selectedStringIndexes) {
+            int ref = flyweight.stringRef(index);
+            if (ref == DictionaryLayout.INLINE_REF) {
+                value += flyweight.inlineLength(flyweight.inlineStringOffset(index));
+            } else if (dictionary.contains(ref)) {
+                value += dictionary.byteLength(ref);
+            } else {
+                context.reject(RecordFault.MALFORMED);
+                value = 0L;
+                break;
+            }
+        }
+        context.endParse(parseStartNs);
+        return value;
+    }
+
+    @Override
+    public long decodeFull(byte[] payload, DecodeContext context) {
+        long wrapStartNs = context.startPhase();
+        boolean valid = flyweight.wrap(payload);
+        context.endDecodeOrSplit(wrapStartNs);
+
+        if (!valid) {
+            context.reject(RecordFault.MALFORMED);
+            return 0L;
+        }
+
+        long parseStartNs = context.startPhase();
+        long value = 0L;
+        for (int i = 0; i < StaticMappedObject.INT_FIELDS; i++) {
+            value += flyweight.intAt(i);
+        }
+        for (int i = 0; i < StaticMappedObject.LONG_FIELDS; i++) {
+            value += flyweight.longAt(i);
+        }
+        int inlineOffset = flyweight.inlineOffset();
+        for (int i = 0; i < StaticMappedObject.STRING_FIELDS; i++) {
+            int ref = flyweight.stringRef(i);
+            if (ref == DictionaryLayout.INLINE_REF) {
+                int length = flyweight.inlineLength(inlineOffset);
+                decodedStrings[i] = flyweight.inlineString(inlineOffset);
+                value += length;
+                inlineOffset += Short.BYTES + length;
+            } else if (dictionary.contains(ref)) {
+                decodedStrings[i] = dictionary.value(ref);
+                value += dictionary.byteLength(ref);
+            } else {
+                context.reject(RecordFault.MALFORMED);
+                value = 0L;
+                break;
+            }
+        }
+        context.endParse(parseStartNs);
+        return value;
+    }
+
+    @Override
+    public Map<String, Long> codecMetrics() {
+        Map<String, Long> metrics = new LinkedHashMap<>();
+        metrics.put("dictionary_encode_entries", (long) encoder.entryCount());
+        metrics.put("dictionary_encode_epochs", encoder.epochCount());
+        metrics.put("dictionary_encode_definitions", encoder.definitionCount());
+        metrics.put("dictionary_encode_hits", encoder.hitCount());
+        metrics.put("dictionary_encode_inline", encoder.inlineCount());
+        metrics.put("dictionary_decode_entries", (long) dictionary.size());
+        metrics.put("dictionary_decode_epochs", dictionary.epochCount());
+        metrics.put("dictionary_decode_definitions", dictionary.definitionCount());
+        metrics.put("dictionary_decode_misses", dictionary.missCount());
+        return metrics;
+    }
+}
@@ -0,0 +1,50 @@
+package com.benchmark.scenario4;
+
+import com.benchmark.shared.StaticMappedObject;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * SBE-style message layout derived from {@link StaticMappedObject}:
+ * <pre>
+ * [header: blockLength u16 | templateId u16 | schemaId u16 | version u16]
+ * [84 x int32][83 x int64][83 x u16 string end offsets]
+ * [string bytes, back to back]
+ * </pre>
+ * Numeric fields sit at fixed offsets; string end offsets are relative to the start of the tail.
+ */
+final class FixedLayout {
+
+    static final int TEMPLATE_ID = 1;
+    static final int SCHEMA_ID = 1;
+    static final int SCHEMA_VERSION = 0;
+
+    static final int HEADER_LENGTH = 4 * Short.BYTES;
+    static final int INT_BLOCK_OFFSET = HEADER_LENGTH;
+    static final int LONG_BLOCK_OFFSET = INT_BLOCK_OFFSET + StaticMappedObject.INT_FIELDS * Integer.BYTES;
+    static final int STRING_END_BLOCK_OFFSET = LONG_BLOCK_OFFSET + StaticMappedObject.LONG_FIELDS * Long.BYTES;
+    static final int VAR_DATA_OFFSET = STRING_END_BLOCK_OFFSET + StaticMappedObject.STRING_FIELDS * Short.BYTES;
+    static final int BLOCK_LENGTH = VAR_DATA_OFFSET - HEADER_LENGTH;
+    static final int MAX_VAR_DATA_LENGTH = 0xFFFF;
+
+    static final VarHandle SHORT_LE = MethodHandles.byteArrayViewVarHandle(short[].class, ByteOrder.LITTLE_ENDIAN);
+    static final VarHandle INT_LE = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    static final VarHandle LONG_LE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private FixedLayout() {
+    }
+
+    static int intOffset(int index) {
+        return INT_BLOCK_OFFSET + index * Integer.BYTES;
+    }
+
+    static int longOffset(int index) {
+        return LONG_BLOCK_OFFSET + index * Long.BYTES;
+    }
+
+    static int stringEndOffset(int index) {
+        return STRING_END_BLOCK_OFFSET + index * Short.BYTES;
+    }
+}
@@ -0,0 +1,48 @@
+package com.benchmark.scenario4;
+
+import com.benchmark.shared.DataProfile;
+import com.benchmark.shared.RecordValues;
+import com.benchmark.shared.StaticMappedObject;
+
+final class FixedLayoutEncoder {
+
+    private final DataProfile profile;
+    private final LayoutBuffer buffer = new LayoutBuffer();
+
+    FixedLayoutEncoder(DataProfile profile) {
+        this.profile = profile;
+    }
+
+    int encode(long sequence) {
+        RecordValues values = profile.values(sequence);
+        byte[] bytes = buffer.bytes();
+        FixedLayout.SHORT_LE.set(bytes, 0, (short) FixedLayout.BLOCK_LENGTH);
+        FixedLayout.SHORT_LE.set(bytes, 2, (short) FixedLayout.TEMPLATE_ID);
+        FixedLayout.SHORT_LE.set(bytes, 4, (short) FixedLayout.SCHEMA_ID);
+        FixedLayout.SHORT_LE.set(bytes, 6, (short) FixedLayout.SCHEMA_VERSION);
+
+        for (int i = 0; i < StaticMappedObject.INT_FIELDS; i++) {
+            FixedLayout.INT_LE.set(bytes, FixedLayout.intOffset(i), values.intAt(i));
+        }
+
+        for (int i = 0; i < StaticMappedObject.LONG_FIELDS; i++) {
+            FixedLayout.LONG_LE.set(bytes, FixedLayout.longOffset(i), values.longAt(i));
+        }
+
+        int position = FixedLayout.VAR_DATA_OFFSET;
+        for (int i = 0; i < StaticMappedObject.STRING_FIELDS; i++) {
+            position = buffer.writeString(values.stringAt(i), position);
+            int end = position - FixedLayout.VAR_DATA_OFFSET;
+            if (end > FixedLayout.MAX_VAR_DATA_LENGTH) {
+                throw new IllegalStateException("String tail exceeds u16 offset range: " + end);
+            }
+            FixedLayout.SHORT_LE.set(buffer.bytes(), FixedLayout.stringEndOffset(i), (short) end);
+        }
+
+        return position;
+    }
+
+    byte[] buffer() {
+        return buffer.bytes();
+    }
+}
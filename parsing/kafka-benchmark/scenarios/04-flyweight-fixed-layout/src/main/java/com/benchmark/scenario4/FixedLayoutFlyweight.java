@@ -0,0 +1,57 @@
+package com.benchmark.scenario4;
+
+import com.benchmark.shared.StaticMappedObject;
+import com.benchmark.shared.Utf8Validator;
+
+final class FixedLayoutFlyweight {
+
+    private byte[] buffer;
+
+    boolean wrap(byte[] payload) {
+        this.buffer = payload;
+        return payload.length >= FixedLayout.VAR_DATA_OFFSET
+                && (short) FixedLayout.SHORT_LE.get(payload, 2) == FixedLayout.TEMPLATE_ID;
+    }
+
+    int intAt(int index) {
+        return (int) FixedLayout.INT_LE.get(buffer, FixedLayout.intOffset(index));
+    }
+
+    long longAt(int index) {
+        return (long) FixedLayout.LONG_LE.get(buffer, FixedLayout.longOffset(index));
+    }
+
+    int stringLength(int index) {
+        int end = stringEnd(index);
+        int start = stringStart(index);
+        return end - start;
+    }
+
+    /**
+     * Offset of string {@code index} relative to the start of the tail.
+     */
+    int stringStart(int index) {
+        return index == 0 ? 0 : stringEnd(index - 1);
+    }
+
+    /**
+     * True when the tail ends exactly where the last string end offset says; a payload cut inside
+     * the tail still wraps and reads every number and string length.
+     */
+    boolean complete() {
+        return FixedLayout.VAR_DATA_OFFSET + stringEnd(StaticMappedObject.STRING_FIELDS - 1) == buffer.length;
+    }
+
+    /**
+     * True when string {@code index} lies inside the payload and is well-formed UTF-8. The
+     * decode paths only read lengths, so nothing else ever looks at these bytes.
+     */
+    boolean validString(int index) {
+        return Utf8Validator.isValid(buffer, FixedLayout.VAR_DATA_OFFSET + stringStart(index),
+                FixedLayout.VAR_DATA_OFFSET + stringEnd(index));
+    }
+
+    private int stringEnd(int index) {
+        return Short.toUnsignedInt((short) FixedLayout.SHORT_LE.get(buffer, FixedLayout.stringEndOffset(index)));
+    }
+}
@@ -0,0 +1,164 @@
+package com.benchmark.scenario4;
+
+import com.benchmark.shared.DataProfile;
+import com.benchmark.shared.StaticMappedObject;
+import com.benchmark.shared.runner.BinaryRecordCodec;
+import com.benchmark.shared.runner.DecodeContext;
+import com.benchmark.shared.runner.FaultInjection;
+import com.benchmark.shared.runner.RecordFault;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+final class FixedLayoutRecordCodec extends BinaryRecordCodec {
+
+    private final FixedLayoutEncoder encoder;
+    private final FixedLayoutFlyweight flyweight = new FixedLayoutFlyweight();
+    private final int[] selectedIntIndexes;
+    private final int[] selectedLongIndexes;
+    private final int[] selectedStringIndexes;
+    private final int[] allStringIndexes;
+
+    FixedLayoutRecordCodec(DataProfile profile) {
+        profile.requireBaseFieldCount("Fixed layout");
+        this.encoder = new FixedLayoutEncoder(profile);
+        int[] positions = StaticMappedObject.consumer1SelectedPositions();
+        int longStart = StaticMappedObject.INT_FIELDS;
+        int stringStart = longStart + StaticMappedObject.LONG_FIELDS;
+
+        this.selectedIntIndexes = Arrays.stream(positions)
+                .filter(StaticMappedObject::isIntPosition)
+                .toArray();
+        this.selectedLongIndexes = Arrays.stream(positions)
+                .filter(StaticMappedObject::isLongPosition)
+                .map(position -> position - longStart)
+                .toArray();
+        this.selectedStringIndexes = Arrays.stream(positions)
+                .filter(StaticMappedObject::isStringPosition)
+                .map(position -> position - stringStart)
+                .toArray();
+        this.allStringIndexes = IntStream.range(0, StaticMappedObject.STRING_FIELDS).toArray();
+    }
+
+    @Override
+    public byte[] encodeFull(long sequence) {
+        int length = encoder.encode(sequence);
+        return Arrays.copyOf(encoder.buffer(), length);
+    }
+
+    @Override
+    public boolean supportsFault(RecordFault fault) {
+        return fault == RecordFault.TRUNCATED || fault == RecordFault.BAD_UTF8;
+    }
+
+    /**
+     * Fixed offsets have no varints and no text numbers; {@code bad-utf8} overwrites the first
+     * byte of a non-empty string in the tail.
+     */
+    @Override
+    public byte[] encodeFaulty(long sequence, RecordFault fault) {
+        switch (fault) {
+            case TRUNCATED:
+                return FaultInjection.truncate(encodeFull(sequence), sequence);
+            case BAD_UTF8: {
+                byte[] payload = encodeFull(sequence);
+                FixedLayoutFlyweight layout = new FixedLayoutFlyweight();
+                layout.wrap(payload);
+                int from = FaultInjection.pick(sequence, StaticMappedObject.STRING_FIELDS);
+                for (int i = 0; i < StaticMappedObject.STRING_FIELDS; i++) {
+                    int index = (from + i) % StaticMappedObject.STRING_FIELDS;
+                    if (layout.stringLength(index) > 0) {
+                        payload[FixedLayout.VAR_DATA_OFFSET + layout.stringStart(index)] =
+                                FaultInjection.INVALID_UTF8_BYTE;
+                        return payload;
+                    }
+                }
+                return null;
+            }
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public long decodeSelected(byte[] payload, DecodeContext context) {
+        long wrapStartNs = context.startPhase();
+        boolean valid = flyweight.wrap(payload);
+        context.endDecodeOrSplit(wrapStartNs);
+
+        if (!valid) {
+            context.reject(wrapFault(payload));
+            return 0L;
+        }
+
+        long parseStartNs = context.startPhase();
+        if (context.validating() && !validTail(selectedStringIndexes, context)) {
+            context.endParse(parseStartNs);
+            return 0L;
+        }
+        long value = 0L;
+        for (int index : selectedIntIndexes) {
+            value += flyweight.intAt(index);
+        }
+        for (int index : selectedLongIndexes) {
+            value += flyweight.longAt(index);
+        }
+        for (int index : selectedStringIndexes) {
+            value += flyweight.stringLength(index);
+        }
+        context.endParse(parseStartNs);
+        return value;
+    }
+
+    @Override
+    public long decodeFull(byte[] payload, DecodeContext context) {
+        long wrapStartNs = context.startPhase();
+        boolean valid = flyweight.wrap(payload);
+        context.endDecodeOrSplit(wrapStartNs);
+
+        if (!valid) {
+            context.reject(wrapFault(payload));
+            return 0L;
+        }
+
+        long parseStartNs = context.startPhase();
+        if (context.validating() && !validTail(allStringIndexes, context)) {
+            context.endParse(parseStartNs);
+            return 0L;
+        }
+        long value = 0L;
+        for (int i = 0; i < StaticMappedObject.INT_FIELDS; i++) {
+            value += flyweight.intAt(i);
+        }
+        for (int i = 0; i < StaticMappedObject.LONG_FIELDS; i++) {
+            value += flyweight.longAt(i);
+        }
+        for (int i = 0; i < StaticMappedObject.STRING_FIELDS; i++) {
+            value += flyweight.stringLength(i);
+        }
+        context.endParse(parseStartNs);
+        return value;
+    }
+
+    /**
+     * A payload shorter than the fixed block was cut off; a full block with another template id
+     * is not this layout at all.
+     */
+    private static RecordFault wrapFault(byte[] payload) {
+        return payload.length < FixedLayout.VAR_DATA_OFFSET ? RecordFault.TRUNCATED : RecordFault.MALFORMED;
+    }
+
+    private boolean validTail(int[] stringIndexes, DecodeContext context) {
+        if (!flyweight.complete()) {
+            context.reject(RecordFault.TRUNCATED);
+            return false;
+        }
+        for (int index : stringIndexes) {
+            if (!flyweight.validString(index)) {
+                context.reject(RecordFault.BAD_UTF8);
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,48 @@
+package com.benchmark.scenario4;
+
+import com.benchmark.shared.DataProfile;
+import com.benchmark.shared.runner.ScenarioDefinition;
+import com.benchmark.shared.runner.ScenarioRunner;
+
+public final class FlyweightFixedLayoutMain {
+
+    private static final ScenarioDefinition SCENARIO = new ScenarioDefinition(
+            "flyweight-fixed-layout",
+            "FIXED_LAYOUT_FULL",
+            "kb-fixed-c1",
+            "kb-fixed-c2"
+    );
+
+    private FlyweightFixedLayoutMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        DataProfile profile = ScenarioRunner.dataProfile();
+        StringDictionaryMode dictionaryMode = StringDictionaryMode.from(
+                ScenarioRunner.setting("STRING_DICTIONARY", "benchmark.string.dictionary", "none"));
+
+        if (dictionaryMode == StringDictionaryMode.NONE) {
+            ScenarioRunner.run(SCENARIO, () -> new FixedLayoutRecordCodec(profile));
+            return;
+        }
+
+        // Definitions are written once, in send order; a consumer that misses them (another partition's
+        // records, or a worker that owns a different partition) can only count misses and reject refs.
+        int topicPartitions = Integer.parseInt(
+                ScenarioRunner.setting("TOPIC_PARTITIONS", "benchmark.topic.partitions", "1"));
+        String consumerThreading = ScenarioRunner.setting(
+                "CONSUMER_THREADING", "benchmark.consumer.threading", "single");
+        if (topicPartitions > 1 || consumerThreading.equals("per-partition")) {
+            throw new IllegalArgumentException("STRING_DICTIONARY=" + dictionaryMode.value()
+                    + " needs one ordered stream; use TOPIC_PARTITIONS=1 and CONSUMER_THREADING=single (got "
+                    + topicPartitions + ", " + consumerThreading + ")");
+        }
+
+        int batchRecords = Integer.parseInt(ScenarioRunner.setting(
+                "STRING_DICTIONARY_BATCH_RECORDS", "benchmark.string.dictionary.batch.records", "1000"));
+        int maxEntries = Integer.parseInt(ScenarioRunner.setting(
+                "STRING_DICTIONARY_MAX_ENTRIES", "benchmark.string.dictionary.max.entries", "4096"));
+        ScenarioRunner.run(SCENARIO,
+                () -> new DictionaryRecordCodec(profile, dictionaryMode, batchRecords, maxEntries));
+    }
+}
@@ -0,0 +1,43 @@
+package com.benchmark.scenario4;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Growable encode buffer shared by the layout encoders. Strings are written as raw UTF-8 with an
+ * ASCII fast path; callers own all length/offset bookkeeping.
+ */
+final class LayoutBuffer {
+
+    private byte[] bytes = new byte[4096];
+
+    byte[] bytes() {
+        return bytes;
+    }
+
+    int writeString(String value, int position) {
+        int length = value.length();
+        ensureCapacity(position + length);
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                return writeUtf8(value, position);
+            }
+            bytes[position + i] = (byte) c;
+        }
+        return position + length;
+    }
+
+    void ensureCapacity(int required) {
+        if (required > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(required, bytes.length * 2));
+        }
+    }
+
+    private int writeUtf8(String value, int position) {
+        byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+        ensureCapacity(position + encoded.length);
+        System.arraycopy(encoded, 0, bytes, position, encoded.length);
+        return position + encoded.length;
+    }
+}
@@ -0,0 +1,85 @@
+package com.benchmark.scenario4;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Consumer-side copy of the producer dictionary. Each entry is decoded once when its definition
+ * arrives; later records resolve refs to the same String instance or its UTF-8 length.
+ */
+final class StringDictionary {
+
+    private String[] values = new String[256];
+    private int[] byteLengths = new int[256];
+    private int size;
+    private int epoch = -1;
+
+    private long definitionCount;
+    private long epochCount;
+    private long missCount;
+
+    /**
+     * Switches to {@code recordEpoch} and applies the record's definitions. Returns false when a
+     * definition does not extend the dictionary in order, i.e. earlier records were not seen.
+     */
+    boolean apply(byte[] payload, int recordEpoch, int definitionsOffset, int definitions) {
+        if (recordEpoch != epoch) {
+            epoch = recordEpoch;
+            size = 0;
+            epochCount++;
+        }
+
+        int position = definitionsOffset;
+        for (int i = 0; i < definitions; i++) {
+            int id = Short.toUnsignedInt((short) FixedLayout.SHORT_LE.get(payload, position));
+            int length = Short.toUnsignedInt((short) FixedLayout.SHORT_LE.get(payload, position + Short.BYTES));
+            int start = position + 2 * Short.BYTES;
+            if (id != size) {
+                missCount++;
+                return false;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+                byteLengths = Arrays.copyOf(byteLengths, size * 2);
+            }
+            values[size] = new String(payload, start, length, StandardCharsets.UTF_8);
+            byteLengths[size] = length;
+            size++;
+            definitionCount++;
+            position = start + length;
+        }
+        return true;
+    }
+
+    boolean contains(int ref) {
+        if (ref < size) {
+            return true;
+        }
+        missCount++;
+        return false;
+    }
+
+    String value(int ref) {
+        return values[ref];
+    }
+
+    int byteLength(int ref) {
+        return byteLengths[ref];
+    }
+
+    int size() {
+        return size;
+    }
+
+    long definitionCount() {
+        return definitionCount;
+    }
+
+    long epochCount() {
+        return epochCount;
+    }
+
+    long missCount() {
+        return missCount;
+    }
+}
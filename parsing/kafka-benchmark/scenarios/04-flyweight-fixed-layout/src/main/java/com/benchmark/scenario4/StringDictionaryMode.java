@@ -0,0 +1,30 @@
+package com.benchmark.scenario4;
+
+/**
+ * Scope of the string dictionary: {@code session} keeps one dictionary for the whole producer run,
+ * {@code batch} starts a new epoch every {@code STRING_DICTIONARY_BATCH_RECORDS} records.
+ */
+enum StringDictionaryMode {
+    NONE("none"),
+    SESSION("session"),
+    BATCH("batch");
+
+    private final String value;
+
+    StringDictionaryMode(String value) {
+        this.value = value;
+    }
+
+    String value() {
+        return value;
+    }
+
+    static StringDictionaryMode from(String value) {
+        for (StringDictionaryMode mode : values()) {
+            if (mode.value.equalsIgnoreCase(value)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Unknown STRING_DICTIONARY: " + value);
+    }
+}
@@ -0,0 +1,23 @@
+package com.benchmark.scenario5;
+
+import com.benchmark.shared.DataProfile;
+import com.benchmark.shared.runner.ScenarioDefinition;
+import com.benchmark.shared.runner.ScenarioRunner;
+
+public final class FlatBuffersRandomAccessMain {
+
+    private static final ScenarioDefinition SCENARIO = new ScenarioDefinition(
+            "flatbuffers-random-access",
+            "FLATBUF_FULL",
+            "kb-flat-c1",
+            "kb-flat-c2"
+    );
+
+    private FlatBuffersRandomAccessMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        DataProfile profile = ScenarioRunner.dataProfile();
+        ScenarioRunner.run(SCENARIO, () -> new FlatBuffersRecordCodec(profile));
+    }
+}
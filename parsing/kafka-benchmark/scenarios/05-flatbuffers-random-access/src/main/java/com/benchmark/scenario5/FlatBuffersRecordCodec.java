@@ -0,0 +1,171 @@
+package com.benchmark.scenario5;
+
+import com.benchmark.shared.DataProfile;
+import com.benchmark.shared.RecordValues;
+import com.benchmark.shared.StaticMappedObject;
+import com.benchmark.shared.runner.BinaryRecordCodec;
+import com.benchmark.shared.runner.DecodeContext;
+import com.benchmark.shared.runner.FaultInjection;
+import com.benchmark.shared.runner.RecordFault;
+import com.google.flatbuffers.FlatBufferBuilder;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+final class FlatBuffersRecordCodec extends BinaryRecordCodec {
+
+    private static final int LONG_START = StaticMappedObject.INT_FIELDS;
+    private static final int STRING_START = LONG_START + StaticMappedObject.LONG_FIELDS;
+
+    private final DataProfile profile;
+    private final FlatBufferBuilder builder = new FlatBufferBuilder(4096);
+    private final int[] stringOffsets = new int[StaticMappedObject.STRING_FIELDS];
+    private final TestRecordTable table = new TestRecordTable();
+    private final int[] selectedIntIds;
+    private final int[] selectedLongIds;
+    private final int[] selectedStringIds;
+    private final int[] allStringIds = IntStream.range(STRING_START, StaticMappedObject.TOTAL_FIELDS).toArray();
+
+    FlatBuffersRecordCodec(DataProfile profile) {
+        profile.requireBaseFieldCount("FlatBuffers");
+        this.profile = profile;
+        int[] positions = StaticMappedObject.consumer1SelectedPositions();
+        this.selectedIntIds = Arrays.stream(positions).filter(StaticMappedObject::isIntPosition).toArray();
+        this.selectedLongIds = Arrays.stream(positions).filter(StaticMappedObject::isLongPosition).toArray();
+        this.selectedStringIds = Arrays.stream(positions).filter(StaticMappedObject::isStringPosition).toArray();
+    }
+
+    @Override
+    public byte[] encodeFull(long sequence) {
+        RecordValues values = profile.values(sequence);
+        builder.clear();
+
+        for (int i = 0; i < StaticMappedObject.STRING_FIELDS; i++) {
+            stringOffsets[i] = builder.createString(values.stringAt(i));
+        }
+
+        builder.startTable(StaticMappedObject.TOTAL_FIELDS);
+        for (int i = 0; i < StaticMappedObject.LONG_FIELDS; i++) {
+            builder.addLong(LONG_START + i, values.longAt(i), 0L);
+        }
+        for (int i = 0; i < StaticMappedObject.INT_FIELDS; i++) {
+            builder.addInt(i, values.intAt(i), 0);
+        }
+        for (int i = 0; i < StaticMappedObject.STRING_FIELDS; i++) {
+            builder.addOffset(STRING_START + i, stringOffsets[i], 0);
+        }
+        builder.finish(builder.endTable());
+
+        return builder.sizedByteArray();
+    }
+
+    @Override
+    public boolean supportsFault(RecordFault fault) {
+        return fault == RecordFault.TRUNCATED || fault == RecordFault.BAD_UTF8;
+    }
+
+    /**
+     * No varints and no text numbers; {@code bad-utf8} overwrites the first byte of a non-empty
+     * string.
+     */
+    @Override
+    public byte[] encodeFaulty(long sequence, RecordFault fault) {
+        switch (fault) {
+            case TRUNCATED:
+                return FaultInjection.truncate(encodeFull(sequence), sequence);
+            case BAD_UTF8: {
+                byte[] payload = encodeFull(sequence);
+                TestRecordTable faulty = new TestRecordTable()
+                        .assign(ByteBuffer.wrap(payload).order(ByteOrder.LITTLE_ENDIAN));
+                int from = FaultInjection.pick(sequence, StaticMappedObject.STRING_FIELDS);
+                for (int i = 0; i < StaticMappedObject.STRING_FIELDS; i++) {
+                    int fieldId = STRING_START + (from + i) % StaticMappedObject.STRING_FIELDS;
+                    if (faulty.stringLength(fieldId) > 0) {
+                        payload[faulty.stringStart(fieldId)] = FaultInjection.INVALID_UTF8_BYTE;
+                        return payload;
+                    }
+                }
+                return null;
+            }
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public long decodeSelected(byte[] payload, DecodeContext context) {
+        long decodeStartNs = context.startPhase();
+        boolean valid = assign(payload, selectedStringIds, context);
+        context.endDecodeOrSplit(decodeStartNs);
+        if (!valid) {
+            return 0L;
+        }
+        context.objectCreated();
+
+        long parseStartNs = context.startPhase();
+        long value = 0L;
+        for (int fieldId : selectedIntIds) {
+            value += table.intAt(fieldId);
+        }
+        for (int fieldId : selectedLongIds) {
+            value += table.longAt(fieldId);
+        }
+        for (int fieldId : selectedStringIds) {
+            value += table.stringLength(fieldId);
+        }
+        context.endParse(parseStartNs);
+        return value;
+    }
+
+    @Override
+    public long decodeFull(byte[] payload, DecodeContext context) {
+        long decodeStartNs = context.startPhase();
+        boolean valid = assign(payload, allStringIds, context);
+        context.endDecodeOrSplit(decodeStartNs);
+        if (!valid) {
+            return 0L;
+        }
+        context.objectCreated();
+
+        long parseStartNs = context.startPhase();
+        long value = 0L;
+        for (int fieldId = 0; fieldId < LONG_START; fieldId++) {
+            value += table.intAt(fieldId);
+        }
+        for (int fieldId = LONG_START; fieldId < STRING_START; fieldId++) {
+            value += table.longAt(fieldId);
+        }
+        for (int fieldId = STRING_START; fieldId < StaticMappedObject.TOTAL_FIELDS; fieldId++) {
+            value += table.stringLength(fieldId);
+        }
+        context.endParse(parseStartNs);
+        return value;
+    }
+
+    /**
+     * Assigns the table; when validating, only after the verifier bounds checks pass and the
+     * strings the decode will read are well-formed UTF-8. A buffer without length framing cannot
+     * tell a cut from bad offsets, so bounds failures are {@code malformed}.
+     */
+    private boolean assign(byte[] payload, int[] stringIds, DecodeContext context) {
+        ByteBuffer buffer = ByteBuffer.wrap(payload).order(ByteOrder.LITTLE_ENDIAN);
+        if (!context.validating()) {
+            table.assign(buffer);
+            return true;
+        }
+        if (!TestRecordTable.inBounds(buffer, stringIds)) {
+            context.reject(RecordFault.MALFORMED);
+            return false;
+        }
+        table.assign(buffer);
+        for (int fieldId : stringIds) {
+            if (!table.validString(fieldId)) {
+                context.reject(RecordFault.BAD_UTF8);
+                return false;
+            }
+        }
+        return true;
+    }
+}
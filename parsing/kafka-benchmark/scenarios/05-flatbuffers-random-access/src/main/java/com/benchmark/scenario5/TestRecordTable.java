@@ -0,0 +1,108 @@
+package com.benchmark.scenario5;
+
+import com.benchmark.shared.StaticMappedObject;
+import com.benchmark.shared.Utf8Validator;
+import com.google.flatbuffers.Table;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Accessor for {@code shared/schemas/flatbuffers/full_record.fbs}, equivalent to what flatc
+ * generates but addressed by field id so consumers can look up any slot through the vtable.
+ */
+final class TestRecordTable extends Table {
+
+    private static final int LONG_START = StaticMappedObject.INT_FIELDS;
+    private static final int STRING_START = LONG_START + StaticMappedObject.LONG_FIELDS;
+
+    TestRecordTable assign(ByteBuffer buffer) {
+        __reset(buffer.getInt(buffer.position()) + buffer.position(), buffer);
+        return this;
+    }
+
+    int intAt(int fieldId) {
+        int offset = __offset(vtableOffset(fieldId));
+        return offset != 0 ? bb.getInt(offset + bb_pos) : 0;
+    }
+
+    long longAt(int fieldId) {
+        int offset = __offset(vtableOffset(fieldId));
+        return offset != 0 ? bb.getLong(offset + bb_pos) : 0L;
+    }
+
+    int stringLength(int fieldId) {
+        int offset = __offset(vtableOffset(fieldId));
+        return offset != 0 ? __vector_len(offset) : 0;
+    }
+
+    /**
+     * Buffer position of the first byte of string {@code fieldId}, -1 when the field is absent.
+     */
+    int stringStart(int fieldId) {
+        int offset = __offset(vtableOffset(fieldId));
+        return offset != 0 ? __vector(offset) : -1;
+    }
+
+    boolean validString(int fieldId) {
+        int start = stringStart(fieldId);
+        return start < 0 || Utf8Validator.isValid(bb.array(), start, start + stringLength(fieldId));
+    }
+
+    static int vtableOffset(int fieldId) {
+        return 4 + fieldId * 2;
+    }
+
+    /**
+     * The bounds checks a flatc verifier runs before accessors touch untrusted bytes: root table
+     * and vtable inside the buffer, every present field inside the table, and each string in
+     * {@code stringFieldIds} (length, bytes and terminator) inside the buffer. The accessors above
+     * trust all of these and would read past a cut buffer or return garbage.
+     */
+    static boolean inBounds(ByteBuffer bb, int[] stringFieldIds) {
+        int limit = bb.limit();
+        if (limit < Integer.BYTES) {
+            return false;
+        }
+        long root = Integer.toUnsignedLong(bb.getInt(0));
+        if (root < Integer.BYTES || root > limit - Integer.BYTES) {
+            return false;
+        }
+        long vtable = root - bb.getInt((int) root);
+        if (vtable < 0 || vtable > limit - 2L * Short.BYTES) {
+            return false;
+        }
+        int vtableSize = Short.toUnsignedInt(bb.getShort((int) vtable));
+        int tableSize = Short.toUnsignedInt(bb.getShort((int) vtable + Short.BYTES));
+        if (vtableSize < 2 * Short.BYTES || (vtableSize & 1) != 0 || vtable + vtableSize > limit
+                || tableSize < Integer.BYTES || root + tableSize > limit) {
+            return false;
+        }
+
+        for (int entry = 2 * Short.BYTES; entry < vtableSize; entry += Short.BYTES) {
+            int fieldOffset = Short.toUnsignedInt(bb.getShort((int) vtable + entry));
+            int fieldId = (entry - 2 * Short.BYTES) / Short.BYTES;
+            int fieldSize = fieldId >= LONG_START && fieldId < STRING_START ? Long.BYTES : Integer.BYTES;
+            if (fieldOffset != 0 && (fieldOffset < Integer.BYTES || fieldOffset + fieldSize > tableSize)) {
+                return false;
+            }
+        }
+
+        for (int fieldId : stringFieldIds) {
+            int entry = vtableOffset(fieldId);
+            int fieldOffset = entry < vtableSize ? Short.toUnsignedInt(bb.getShort((int) vtable + entry)) : 0;
+            if (fieldOffset == 0) {
+                continue;
+            }
+            long position = root + fieldOffset;
+            long string = position + Integer.toUnsignedLong(bb.getInt((int) position));
+            if (string > limit - Integer.BYTES) {
+                return false;
+            }
+            long length = Integer.toUnsignedLong(bb.getInt((int) string));
+            if (string + Integer.BYTES + length + 1 > limit) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,102 @@
+#!/usr/bin/env bash
+set -euo pipefail
+
+# Kullanim: scenarios/replay_decode.sh <senaryo-klasoru>   (orn. 01-oldschool-pipe)
+# Once senaryoyu CAPTURE_PAYLOADS=true ile kosun; bu script consumer-1 ve consumer-2'yi broker olmadan,
+# capture segmentlerini mmap ile okuyarak ayni decode koduyla sirayla calistirir.
+
+ROOT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")/.." && pwd)"
+SCENARIO="${1:?Kullanim: replay_decode.sh <senaryo-klasoru, orn. 01-oldschool-pipe>}"
+SCENARIO_DIR="$ROOT_DIR/scenarios/$SCENARIO"
+CAPTURE_DIR="${CAPTURE_DIR:-$SCENARIO_DIR/logs/capture}"
+REPLAY_DIR="${REPLAY_DIR:-$SCENARIO_DIR/logs/replay}"
+CAPTURE_ENV_FILE="$SCENARIO_DIR/logs/benchmark_results.log"
+REPLAY_JAVA_OPTS="${REPLAY_JAVA_OPTS:-}"
+
+ensure_java17() {
+  if [[ -n "${JAVA_HOME:-}" && -x "$JAVA_HOME/bin/java" ]]; then
+    :
+  elif [[ -x /usr/libexec/java_home ]]; then
+    JAVA_HOME="$(/usr/libexec/java_home -v 17 2>/dev/null || true)"
+  fi
+
+  if [[ -z "${JAVA_HOME:-}" ]]; then
+    echo "Java 17 bulunamadi. Lutfen JDK 17 kur ve JAVA_HOME ayarla." >&2
+    exit 1
+  fi
+
+  export JAVA_HOME
+  export PATH="$JAVA_HOME/bin:$PATH"
+}
+
+ensure_java17
+
+if [[ ! -d "$SCENARIO_DIR" ]]; then
+  echo "Senaryo klasoru bulunamadi: $SCENARIO_DIR" >&2
+  exit 1
+fi
+if [[ ! -f "$CAPTURE_DIR/capture_manifest.kv" ]]; then
+  echo "Capture bulunamadi: $CAPTURE_DIR (senaryoyu CAPTURE_PAYLOADS=true ile kosun)" >&2
+  exit 1
+fi
+
+# Codec/veri ayarlari capture alinan kosunun ENV blogundan gelir (ortamda set edilenler onceliklidir).
+if [[ -f "$CAPTURE_ENV_FILE" ]]; then
+  while IFS='=' read -r key value; do
+    [[ -z "$key" ]] && break
+    env_key="$(printf '%s' "$key" | tr '[:lower:]' '[:upper:]')"
+    if [[ -z "${!env_key:-}" ]]; then
+      export "$env_key=$value"
+    fi
+  done < <(awk '/^ENV$/ { in_env = 1; next } in_env && /^$/ { exit } in_env' "$CAPTURE_ENV_FILE")
+fi
+
+APP_JAR="$(find "$SCENARIO_DIR/target" -maxdepth 1 -name '*-app.jar' ! -name 'original-*' 2>/dev/null | head -n 1)"
+if [[ -z "$APP_JAR" ]]; then
+  mvn -f "$ROOT_DIR/pom.xml" -pl "scenarios/$SCENARIO" -am -q package
+  APP_JAR="$(find "$SCENARIO_DIR/target" -maxdepth 1 -name '*-app.jar' ! -name 'original-*' | head -n 1)"
+fi
+
+capture_records="$(awk -F= '$1 == "records" { print $2 }' "$CAPTURE_DIR/capture_manifest.kv")"
+export RECORD_COUNT="$capture_records"
+export CAPTURE_DIR
+export CONSUMER_SOURCE=replay
+export E2E_LATENCY_ENABLED=false
+export METRICS_DIR="$REPLAY_DIR"
+# Replay broker'a baglanmaz; dead-letter topic yerine REPLAY_DIR altina dosya olarak yazilir.
+if [[ "${DEAD_LETTER:-file}" == "topic" ]]; then
+  export DEAD_LETTER=file
+fi
+
+mkdir -p "$REPLAY_DIR"
+rm -f "$REPLAY_DIR"/consumer_*_metrics.kv "$REPLAY_DIR/replay_results.log"
+rm -rf "$REPLAY_DIR"/*_dead_letter
+
+for role in consumer-1 consumer-2; do
+  echo "Replay $role ($capture_records record, $CAPTURE_DIR)..."
+  # shellcheck disable=SC2086
+  APP_ROLE="$role" java $REPLAY_JAVA_OPTS -jar "$APP_JAR" >/dev/null
+done
+
+metrics_line() {
+  local file_path="$1"
+  awk -F= '
+    $1 ~ /^(records_processed|process_cpu_time_ms|wall_time_ms|throughput_rec_per_sec|avg_payload_bytes|phase_decode_or_split_ms|phase_parse_selected_or_full_ms|phase_role_total_loop_ms|replay_segments|validation_(valid|invalid|rejected|exception)_records|dead_letter_records)$/ {
+      printf "%s%s", sep, $0; sep = " "
+    }' "$file_path"
+}
+
+{
+  echo "REPLAY"
+  echo "scenario_dir=$SCENARIO"
+  echo "capture_dir=$CAPTURE_DIR"
+  echo "capture_records=$capture_records"
+  echo "replay_java_opts=$REPLAY_JAVA_OPTS"
+  echo "record_validation=${RECORD_VALIDATION:-off}"
+  echo
+  echo "ROLE_SUMMARY"
+  echo "role=consumer-1 $(metrics_line "$REPLAY_DIR/consumer_1_metrics.kv")"
+  echo "role=consumer-2 $(metrics_line "$REPLAY_DIR/consumer_2_metrics.kv")"
+} > "$REPLAY_DIR/replay_results.log"
+
+cat "$REPLAY_DIR/replay_results.log"
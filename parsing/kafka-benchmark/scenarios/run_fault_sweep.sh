@@ -0,0 +1,129 @@
+#!/usr/bin/env bash
+set -euo pipefail
+
+# Kullanim: scenarios/run_fault_sweep.sh
+# Her senaryoyu validation modu x hata orani kombinasyonlariyla sirayla kosar (FAULT_RATE_PERCENT,
+# RECORD_VALIDATION) ve rol bazinda throughput, gecerli/gecersiz record ve dead-letter sayilarini tek
+# CSV/Markdown tabloda toplar. Throughput ayni senaryo/rol/mod icin oran 0 satirina gore de verilir.
+# Hatalari producer urettigi icin sweep her zaman Kafka uzerinden kosar.
+
+ROOT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")/.." && pwd)"
+FAULT_SWEEP_SCENARIOS="${FAULT_SWEEP_SCENARIOS:-01-oldschool-pipe,02-avro-reader-schema,03-protobuf-selective-parse,04-flyweight-fixed-layout,05-flatbuffers-random-access}"
+FAULT_SWEEP_RATES="${FAULT_SWEEP_RATES:-0,0.1,1,10}"
+FAULT_SWEEP_KINDS="${FAULT_SWEEP_KINDS:-truncated,non-numeric,bad-utf8,bad-varint}"
+FAULT_SWEEP_VALIDATION="${FAULT_SWEEP_VALIDATION:-catch,on}"
+FAULT_SWEEP_OUTPUT_DIR="${FAULT_SWEEP_OUTPUT_DIR:-$ROOT_DIR/report/out/fault_sweep}"
+
+CSV_FILE="$FAULT_SWEEP_OUTPUT_DIR/fault_sweep.csv"
+MARKDOWN_FILE="$FAULT_SWEEP_OUTPUT_DIR/fault_sweep.md"
+CSV_COLUMNS="records_processed wall_time_ms throughput_rec_per_sec process_cpu_time_ms validation_valid_records validation_invalid_records validation_rejected_records validation_exception_records dead_letter_records fault_injected_count fault_unsupported_count fault_no_target_count"
+ROLES=(producer consumer-1 consumer-2)
+
+scenario_script() {
+  find "$ROOT_DIR/scenarios/$1" -maxdepth 1 -name 'run_*.sh' | head -n 1
+}
+
+metric_value() {
+  local file_path="$1"
+  local key="$2"
+  awk -F= -v key="$key" '$1 == key { print $2; found = 1; exit } END { if (!found) print "" }' "$file_path"
+}
+
+append_rows() {
+  local scenario="$1" validation="$2" rate="$3" status="$4" metrics_dir="$5"
+  shift 5
+  local role metrics_file column row
+  for role in "$@"; do
+    metrics_file="$metrics_dir/$(printf '%s' "$role" | tr '-' '_')_metrics.kv"
+    row="$scenario,$validation,$rate,$role,$status"
+    for column in $CSV_COLUMNS; do
+      if [[ -f "$metrics_file" ]]; then
+        row="$row,$(metric_value "$metrics_file" "$column")"
+      else
+        row="$row,"
+      fi
+    done
+    echo "$row" >> "$CSV_FILE"
+  done
+}
+
+IFS=',' read -r -a scenarios <<< "$FAULT_SWEEP_SCENARIOS"
+IFS=',' read -r -a rates <<< "$FAULT_SWEEP_RATES"
+IFS=',' read -r -a validations <<< "$FAULT_SWEEP_VALIDATION"
+
+# Kombinasyonlari kosmadan once dogrula; yanlis isim saatler sonra degil basta patlasin.
+for validation in "${validations[@]}"; do
+  case "$validation" in
+    off|catch|on) ;;
+    *) echo "Bilinmeyen validation modu: $validation (off|catch|on)" >&2; exit 1 ;;
+  esac
+done
+for rate in "${rates[@]}"; do
+  if ! awk -v rate="$rate" 'BEGIN { exit !(rate ~ /^[0-9]+(\.[0-9]+)?$/ && rate <= 100) }'; then
+    echo "Gecersiz hata orani: $rate (0-100 arasi yuzde)" >&2
+    exit 1
+  fi
+done
+for scenario in "${scenarios[@]}"; do
+  if [[ -z "$(scenario_script "$scenario")" ]]; then
+    echo "Senaryo scripti bulunamadi: $ROOT_DIR/scenarios/$scenario/run_*.sh" >&2
+    exit 1
+  fi
+done
+
+mkdir -p "$FAULT_SWEEP_OUTPUT_DIR"
+echo "scenario,validation,fault_rate_percent,role,status,${CSV_COLUMNS// /,}" > "$CSV_FILE"
+
+total=$(( ${#scenarios[@]} * ${#validations[@]} * ${#rates[@]} ))
+index=0
+for scenario in "${scenarios[@]}"; do
+  for validation in "${validations[@]}"; do
+    for rate in "${rates[@]}"; do
+      index=$((index + 1))
+      combo_dir="$FAULT_SWEEP_OUTPUT_DIR/$scenario/$validation-$rate"
+      echo "[$index/$total] $scenario validation=$validation fault_rate=$rate% kinds=$FAULT_SWEEP_KINDS"
+
+      rm -rf "$combo_dir"
+      mkdir -p "$combo_dir"
+      status=ok
+      if ! RECORD_VALIDATION="$validation" FAULT_RATE_PERCENT="$rate" FAULT_KINDS="$FAULT_SWEEP_KINDS" \
+          "$(scenario_script "$scenario")" > "$combo_dir/run.log" 2>&1; then
+        status=failed
+        echo "  failed, log: $combo_dir/run.log" >&2
+      fi
+      cp "$ROOT_DIR/scenarios/$scenario/logs/"*_metrics.kv "$combo_dir/" 2>/dev/null || true
+      cp "$ROOT_DIR/scenarios/$scenario/logs/benchmark_results.log" "$combo_dir/" 2>/dev/null || true
+      cp "$ROOT_DIR/scenarios/$scenario/logs/"*_dead_letter/dead_letter_reasons.csv "$combo_dir/" 2>/dev/null || true
+      append_rows "$scenario" "$validation" "$rate" "$status" "$combo_dir" "${ROLES[@]}"
+    done
+  done
+done
+
+# Markdown: senaryo ve rol basina bir tablo, satirlar mod ve orana gore; "Oran 0'a gore" ayni moddaki
+# hatasiz kosunun throughput'una bolumdur.
+{
+  echo "# Hata Orani Sweep"
+  echo
+  echo "Oranlar: $FAULT_SWEEP_RATES %, hata turleri: $FAULT_SWEEP_KINDS, validation: $FAULT_SWEEP_VALIDATION"
+  echo
+  echo "Producer satirlarinda hatali encode maliyeti, consumer satirlarinda tespit ve dead-letter maliyeti gorunur."
+  for scenario in "${scenarios[@]}"; do
+    for role in "${ROLES[@]}"; do
+      echo
+      echo "## $scenario / $role"
+      echo
+      echo "| Validation | Hata % | Durum | rec/s | Oran 0'a gore | CPU ms | Gecerli | Gecersiz | Reject | Exception | Dead-letter | Enjekte | Desteklenmeyen | Hedefsiz |"
+      echo "| --- | --- | --- | --- | --- | --- | --- | --- | --- | --- | --- | --- | --- | --- |"
+      awk -F, -v scenario="$scenario" -v role="$role" 'NR > 1 && $1 == scenario && $4 == role' "$CSV_FILE" \
+        | sort -t, -k2,2 -k3,3g \
+        | awk -F, '
+            $3 + 0 == 0 && $8 != "" { base[$2] = $8 }
+            {
+              relative = ($2 in base && base[$2] > 0 && $8 != "") ? sprintf("%.3f", $8 / base[$2]) : "-"
+              printf "| %s | %s | %s | %s | %s | %s | %s | %s | %s | %s | %s | %s | %s | %s |\n", $2, $3, $5, $8, relative, $9, $10, $11, $12, $13, $14, $15, $16, $17
+            }'
+    done
+  done
+} > "$MARKDOWN_FILE"
+
+echo "Sweep yazildi: $CSV_FILE, $MARKDOWN_FILE"
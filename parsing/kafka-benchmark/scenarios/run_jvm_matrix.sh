@@ -0,0 +1,158 @@
+#!/usr/bin/env bash
+set -euo pipefail
+
+# Kullanim: scenarios/run_jvm_matrix.sh
+# Her senaryoyu GC x heap x JVM varyanti kombinasyonlariyla sirayla kosar (JVM_OPTS -> JDK_JAVA_OPTIONS)
+# ve rol bazinda throughput, CPU ve GC pause metriklerini tek CSV/Markdown tabloda toplar.
+# MATRIX_SOURCE=replay ile sadece consumer rolleri, onceden alinmis capture uzerinden broker olmadan kosar.
+
+ROOT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")/.." && pwd)"
+MATRIX_SCENARIOS="${MATRIX_SCENARIOS:-01-oldschool-pipe,02-avro-reader-schema,03-protobuf-selective-parse,04-flyweight-fixed-layout,05-flatbuffers-random-access}"
+MATRIX_GCS="${MATRIX_GCS:-g1,parallel,zgc,shenandoah}"
+MATRIX_HEAPS="${MATRIX_HEAPS:-512m,2g}"
+MATRIX_VARIANTS="${MATRIX_VARIANTS:-default,no-coops,c1-only}"
+MATRIX_SOURCE="${MATRIX_SOURCE:-kafka}"
+MATRIX_EXTRA_JVM_OPTS="${MATRIX_EXTRA_JVM_OPTS:-}"
+MATRIX_OUTPUT_DIR="${MATRIX_OUTPUT_DIR:-$ROOT_DIR/report/out/jvm_matrix}"
+
+CSV_FILE="$MATRIX_OUTPUT_DIR/jvm_matrix.csv"
+MARKDOWN_FILE="$MATRIX_OUTPUT_DIR/jvm_matrix.md"
+CSV_COLUMNS="records_processed wall_time_ms throughput_rec_per_sec process_cpu_time_ms avg_process_cpu_pct gc_pause_count gc_pause_total_ms gc_pause_p99_ms gc_pause_max_ms gc_concurrent_cycle_count gc_concurrent_cycle_ms jvm_max_heap_mb jvm_compressed_oops jvm_tiered_stop_at_level startup_jvm_to_first_record_ms steady_state_throughput_rec_per_sec"
+
+gc_flags() {
+  case "$1" in
+    g1) echo "-XX:+UseG1GC" ;;
+    parallel) echo "-XX:+UseParallelGC" ;;
+    zgc) echo "-XX:+UseZGC" ;;
+    # Generational ZGC JDK 21+ ister; Java 17 imajlarinda JVM acilmaz ve kombinasyon failed yazilir.
+    zgc-generational) echo "-XX:+UseZGC -XX:+ZGenerational" ;;
+    shenandoah) echo "-XX:+UseShenandoahGC" ;;
+    *) echo "Bilinmeyen GC: $1 (g1|parallel|zgc|zgc-generational|shenandoah)" >&2; return 1 ;;
+  esac
+}
+
+heap_flags() {
+  if [[ "$1" != "default" ]]; then
+    echo "-Xms$1 -Xmx$1"
+  fi
+}
+
+variant_flags() {
+  case "$1" in
+    default) ;;
+    no-coops) echo "-XX:-UseCompressedOops" ;;
+    c1-only) echo "-XX:TieredStopAtLevel=1" ;;
+    *) echo "Bilinmeyen varyant: $1 (default|no-coops|c1-only)" >&2; return 1 ;;
+  esac
+}
+
+scenario_script() {
+  find "$ROOT_DIR/scenarios/$1" -maxdepth 1 -name 'run_*.sh' | head -n 1
+}
+
+metric_value() {
+  local file_path="$1"
+  local key="$2"
+  awk -F= -v key="$key" '$1 == key { print $2; found = 1; exit } END { if (!found) print "" }' "$file_path"
+}
+
+append_rows() {
+  local scenario="$1" gc="$2" heap="$3" variant="$4" status="$5" metrics_dir="$6"
+  shift 6
+  local role metrics_file column row
+  for role in "$@"; do
+    metrics_file="$metrics_dir/$(printf '%s' "$role" | tr '-' '_')_metrics.kv"
+    row="$scenario,$gc,$heap,$variant,$role,$status"
+    for column in $CSV_COLUMNS; do
+      if [[ -f "$metrics_file" ]]; then
+        row="$row,$(metric_value "$metrics_file" "$column")"
+      else
+        row="$row,"
+      fi
+    done
+    echo "$row" >> "$CSV_FILE"
+  done
+}
+
+IFS=',' read -r -a scenarios <<< "$MATRIX_SCENARIOS"
+IFS=',' read -r -a gcs <<< "$MATRIX_GCS"
+IFS=',' read -r -a heaps <<< "$MATRIX_HEAPS"
+IFS=',' read -r -a variants <<< "$MATRIX_VARIANTS"
+
+case "$MATRIX_SOURCE" in
+  kafka) roles=(producer consumer-1 consumer-2) ;;
+  replay) roles=(consumer-1 consumer-2) ;;
+  *) echo "Bilinmeyen MATRIX_SOURCE: $MATRIX_SOURCE (kafka|replay)" >&2; exit 1 ;;
+esac
+
+# Kombinasyonlari kosmadan once dogrula; yanlis isim saatler sonra degil basta patlasin.
+for gc in "${gcs[@]}"; do gc_flags "$gc" >/dev/null; done
+for variant in "${variants[@]}"; do variant_flags "$variant" >/dev/null; done
+for scenario in "${scenarios[@]}"; do
+  if [[ -z "$(scenario_script "$scenario")" ]]; then
+    echo "Senaryo scripti bulunamadi: $ROOT_DIR/scenarios/$scenario/run_*.sh" >&2
+    exit 1
+  fi
+done
+
+mkdir -p "$MATRIX_OUTPUT_DIR"
+echo "scenario,gc,heap,variant,role,status,${CSV_COLUMNS// /,}" > "$CSV_FILE"
+
+total=$(( ${#scenarios[@]} * ${#gcs[@]} * ${#heaps[@]} * ${#variants[@]} ))
+index=0
+for scenario in "${scenarios[@]}"; do
+  for gc in "${gcs[@]}"; do
+    for heap in "${heaps[@]}"; do
+      for variant in "${variants[@]}"; do
+        index=$((index + 1))
+        combo_dir="$MATRIX_OUTPUT_DIR/$scenario/$gc-$heap-$variant"
+        opts="$(gc_flags "$gc") $(heap_flags "$heap") $(variant_flags "$variant") $MATRIX_EXTRA_JVM_OPTS"
+        opts="$(echo "$opts" | xargs)"
+        echo "[$index/$total] $scenario gc=$gc heap=$heap variant=$variant source=$MATRIX_SOURCE opts='$opts'"
+
+        rm -rf "$combo_dir"
+        mkdir -p "$combo_dir"
+        status=ok
+        if [[ "$MATRIX_SOURCE" == "kafka" ]]; then
+          if ! JVM_OPTS="$opts" "$(scenario_script "$scenario")" > "$combo_dir/run.log" 2>&1; then
+            status=failed
+          fi
+          cp "$ROOT_DIR/scenarios/$scenario/logs/"*_metrics.kv "$combo_dir/" 2>/dev/null || true
+          cp "$ROOT_DIR/scenarios/$scenario/logs/benchmark_results.log" "$combo_dir/" 2>/dev/null || true
+        else
+          if ! REPLAY_JAVA_OPTS="$opts" REPLAY_DIR="$combo_dir" \
+              "$ROOT_DIR/scenarios/replay_decode.sh" "$scenario" > "$combo_dir/run.log" 2>&1; then
+            status=failed
+          fi
+        fi
+        if [[ "$status" == "failed" ]]; then
+          echo "  failed, log: $combo_dir/run.log" >&2
+        fi
+        append_rows "$scenario" "$gc" "$heap" "$variant" "$status" "$combo_dir" "${roles[@]}"
+      done
+    done
+  done
+done
+
+# Markdown: senaryo ve rol basina bir tablo, satirlar throughput'a gore azalan.
+{
+  echo "# JVM / GC Matrisi"
+  echo
+  echo "Kaynak: $MATRIX_SOURCE, GC: $MATRIX_GCS, heap: $MATRIX_HEAPS, varyant: $MATRIX_VARIANTS"
+  echo
+  echo "Pause sureleri GC bildirimlerinden ms cozunurlukle gelir; ZGC/Shenandoah'in ms alti pause'lari 0 gorunur."
+  for scenario in "${scenarios[@]}"; do
+    for role in "${roles[@]}"; do
+      echo
+      echo "## $scenario / $role"
+      echo
+      echo "| GC | Heap | Varyant | Durum | rec/s | Wall ms | CPU ms | CPU % | Pause # | Pause toplam ms | Pause p99 ms | Pause max ms | Concurrent ms |"
+      echo "| --- | --- | --- | --- | --- | --- | --- | --- | --- | --- | --- | --- | --- |"
+      awk -F, -v scenario="$scenario" -v role="$role" 'NR > 1 && $1 == scenario && $5 == role' "$CSV_FILE" \
+        | sort -t, -k9,9 -g -r \
+        | awk -F, '{ printf "| %s | %s | %s | %s | %s | %s | %s | %s | %s | %s | %s | %s | %s |\n", $2, $3, $4, $6, $9, $8, $10, $11, $12, $13, $14, $15, $17 }'
+    done
+  done
+} > "$MARKDOWN_FILE"
+
+echo "Matris yazildi: $CSV_FILE, $MARKDOWN_FILE"
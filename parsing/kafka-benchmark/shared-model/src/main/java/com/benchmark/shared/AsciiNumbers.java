@@ -0,0 +1,328 @@
+package com.benchmark.shared;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+/**
+ * Decimal ASCII parsers for pipe cells: optional leading '-' or '+', then digits only (no
+ * whitespace). Digits are consumed 8 at a time: byte[] input with one SWAR word (validate and fold
+ * 8 bytes in three multiply/shift/mask steps), String and char[] input with independent
+ * multiply-by-power terms. Out-of-range values and non-digits throw {@link NumberFormatException}
+ * like {@link Integer#parseInt(String)} and {@link Long#parseLong(String)}; unlike them, non-ASCII
+ * Unicode digits are rejected. kafka-benchmark ({@code com.benchmark.shared}) and java-benchmark
+ * ({@code com.benchmark.runner.split}) carry identical copies apart from the package line.
+ */
+public final class AsciiNumbers {
+
+    private static final VarHandle LONG_LE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final long ZEROS = 0x3030303030303030L;
+    private static final long HIGH_NIBBLES = 0xF0F0F0F0F0F0F0F0L;
+    private static final long NINE_GUARD = 0x0606060606060606L;
+    private static final long EIGHT_DIGITS = 100_000_000L;
+    private static final int MAX_LONG_DIGITS = 19;
+    private static final String[] EDGE_CASES = {
+            "", "-", "+", "0", "-0", "+0", "00", "-00000000000000000000000", "7", "-7", "+7",
+            "12345678", "-12345678", "123456789", "1234567890123456", "12345678901234567",
+            "2147483647", "-2147483647", "2147483648", "-2147483648", "-2147483649", "+2147483647",
+            "00000000002147483647", "00000000002147483648", "4294967296", "-4294967296",
+            "9223372036854775807", "-9223372036854775807", "9223372036854775808", "-9223372036854775808",
+            "-9223372036854775809", "+9223372036854775807", "00009223372036854775807", "9999999999999999999",
+            "-9999999999999999999", "10000000000000000000", "18446744073709551615", "18446744073709551616",
+            "99999999999999999999", "--1", "+-1", "-+1", "1-", "1+", " 1", "1 ", "1_000", "0x10", "1e5",
+            "/2345678", ":2345678", "1234567/", "1234567:", "123456789012345/", "12345678901234:6",
+            "1234\u00005678", "12345678\u00ff", "\u00b9", "12\u00b34"
+    };
+
+    private AsciiNumbers() {
+    }
+
+    public static int parseInt(String value) {
+        return parseInt(value, 0, value.length());
+    }
+
+    public static long parseLong(String value) {
+        return parseLong(value, 0, value.length());
+    }
+
+    public static int parseInt(String value, int from, int to) {
+        long result = parseLong(value, from, to);
+        if (result != (int) result) {
+            throw invalid(value, from, to);
+        }
+        return (int) result;
+    }
+
+    public static long parseLong(String value, int from, int to) {
+        boolean negative = from < to && value.charAt(from) == '-';
+        int position = negative || from < to && value.charAt(from) == '+' ? from + 1 : from;
+        while (to - position > 1 && value.charAt(position) == '0') {
+            position++;
+        }
+        int digits = to - position;
+        if (digits <= 0 || digits > MAX_LONG_DIGITS) {
+            throw invalid(value, from, to);
+        }
+
+        long result = 0L;
+        int headEnd = position + (digits & 7);
+        for (; position < headEnd; position++) {
+            int digit = value.charAt(position) - '0';
+            if (digit < 0 || digit > 9) {
+                throw invalid(value, from, to);
+            }
+            result = result * 10L + digit;
+        }
+        for (; position < to; position += 8) {
+            int d0 = value.charAt(position) - '0';
+            int d1 = value.charAt(position + 1) - '0';
+            int d2 = value.charAt(position + 2) - '0';
+            int d3 = value.charAt(position + 3) - '0';
+            int d4 = value.charAt(position + 4) - '0';
+            int d5 = value.charAt(position + 5) - '0';
+            int d6 = value.charAt(position + 6) - '0';
+            int d7 = value.charAt(position + 7) - '0';
+            if ((d0 | d1 | d2 | d3 | d4 | d5 | d6 | d7
+                    | (9 - d0) | (9 - d1) | (9 - d2) | (9 - d3)
+                    | (9 - d4) | (9 - d5) | (9 - d6) | (9 - d7)) < 0) {
+                throw invalid(value, from, to);
+            }
+            result = result * EIGHT_DIGITS + combine(d0, d1, d2, d3, d4, d5, d6, d7);
+        }
+        if (digits == MAX_LONG_DIGITS && overflows(result, negative)) {
+            throw invalid(value, from, to);
+        }
+        return negative ? -result : result;
+    }
+
+    public static int parseInt(char[] value, int from, int to) {
+        long result = parseLong(value, from, to);
+        if (result != (int) result) {
+            throw invalid(new String(value, from, to - from));
+        }
+        return (int) result;
+    }
+
+    public static long parseLong(char[] value, int from, int to) {
+        boolean negative = from < to && value[from] == '-';
+        int position = negative || from < to && value[from] == '+' ? from + 1 : from;
+        while (to - position > 1 && value[position] == '0') {
+            position++;
+        }
+        int digits = to - position;
+        if (digits <= 0 || digits > MAX_LONG_DIGITS) {
+            throw invalid(new String(value, from, Math.max(0, to - from)));
+        }
+
+        long result = 0L;
+        int headEnd = position + (digits & 7);
+        for (; position < headEnd; position++) {
+            int digit = value[position] - '0';
+            if (digit < 0 || digit > 9) {
+                throw invalid(new String(value, from, to - from));
+            }
+            result = result * 10L + digit;
+        }
+        for (; position < to; position += 8) {
+            int d0 = value[position] - '0';
+            int d1 = value[position + 1] - '0';
+            int d2 = value[position + 2] - '0';
+            int d3 = value[position + 3] - '0';
+            int d4 = value[position + 4] - '0';
+            int d5 = value[position + 5] - '0';
+            int d6 = value[position + 6] - '0';
+            int d7 = value[position + 7] - '0';
+            if ((d0 | d1 | d2 | d3 | d4 | d5 | d6 | d7
+                    | (9 - d0) | (9 - d1) | (9 - d2) | (9 - d3)
+                    | (9 - d4) | (9 - d5) | (9 - d6) | (9 - d7)) < 0) {
+                throw invalid(new String(value, from, to - from));
+            }
+            result = result * EIGHT_DIGITS + combine(d0, d1, d2, d3, d4, d5, d6, d7);
+        }
+        if (digits == MAX_LONG_DIGITS && overflows(result, negative)) {
+            throw invalid(new String(value, from, to - from));
+        }
+        return negative ? -result : result;
+    }
+
+    public static int parseInt(byte[] value, int from, int to) {
+        long result = parseLong(value, from, to);
+        if (result != (int) result) {
+            throw invalid(ascii(value, from, to));
+        }
+        return (int) result;
+    }
+
+    public static long parseLong(byte[] value, int from, int to) {
+        boolean negative = from < to && value[from] == '-';
+        int position = negative || from < to && value[from] == '+' ? from + 1 : from;
+        while (to - position > 1 && value[position] == '0') {
+            position++;
+        }
+        int digits = to - position;
+        if (digits <= 0 || digits > MAX_LONG_DIGITS) {
+            throw invalid(ascii(value, from, Math.max(from, to)));
+        }
+
+        long result = 0L;
+        int headEnd = position + (digits & 7);
+        for (; position < headEnd; position++) {
+            int digit = value[position] - '0';
+            if (digit < 0 || digit > 9) {
+                throw invalid(ascii(value, from, to));
+            }
+            result = result * 10L + digit;
+        }
+        for (; position < to; position += 8) {
+            long word = (long) LONG_LE.get(value, position);
+            if ((word & HIGH_NIBBLES) != ZEROS || ((word + NINE_GUARD) & HIGH_NIBBLES) != ZEROS) {
+                throw invalid(ascii(value, from, to));
+            }
+            result = result * EIGHT_DIGITS + foldEightDigits(word - ZEROS);
+        }
+        if (digits == MAX_LONG_DIGITS && overflows(result, negative)) {
+            throw invalid(ascii(value, from, to));
+        }
+        return negative ? -result : result;
+    }
+
+    /**
+     * Full cross-check against the JDK parsers; the only argument is the random round count
+     * (default 200000).
+     */
+    public static void main(String[] args) {
+        int randomRounds = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        verifyAgainstJdk(randomRounds);
+        System.out.println("AsciiNumbers matches Integer.parseInt/Long.parseLong on " + EDGE_CASES.length
+                + " edge cases and " + randomRounds + " random inputs");
+    }
+
+    /**
+     * Runs the String, char[] and byte[] parsers against {@link Integer#parseInt(String)} and
+     * {@link Long#parseLong(String)} on sign, leading-zero, overflow and non-digit edge cases plus a
+     * seeded random sweep, with array input at every 8-element alignment. Same value or both
+     * throwing counts as a match; the first mismatch throws {@link IllegalStateException}.
+     */
+    public static void verifyAgainstJdk(int randomRounds) {
+        for (String input : EDGE_CASES) {
+            verify(input);
+        }
+        long state = 0x2545F4914F6CDD1DL;
+        for (int i = 0; i < randomRounds; i++) {
+            state = xorShift(state);
+            String input;
+            switch ((int) Long.remainderUnsigned(state, 4L)) {
+                case 0:
+                    input = Integer.toString((int) (state >>> 7));
+                    break;
+                case 1:
+                    input = Long.toString(xorShift(state) >> (int) (state >>> 58));
+                    break;
+                case 2:
+                    input = randomDigits(xorShift(state));
+                    break;
+                default: {
+                    char[] chars = randomDigits(xorShift(state)).toCharArray();
+                    chars[(int) Long.remainderUnsigned(state >>> 8, chars.length)] =
+                            (char) (0x20 + Long.remainderUnsigned(state >>> 24, 0x5F));
+                    input = new String(chars);
+                    break;
+                }
+            }
+            verify(input);
+        }
+    }
+
+    private static void verify(String input) {
+        byte[] bytes = input.getBytes(StandardCharsets.ISO_8859_1);
+        for (int offset = 0; offset < 8; offset++) {
+            byte[] buffer = new byte[offset + bytes.length + 8];
+            Arrays.fill(buffer, (byte) '|');
+            System.arraycopy(bytes, 0, buffer, offset, bytes.length);
+            char[] chars = new char[offset + input.length() + 8];
+            Arrays.fill(chars, '|');
+            input.getChars(0, input.length(), chars, offset);
+            int from = offset;
+            int to = offset + bytes.length;
+            compare(input, "int/byte[]", () -> (long) Integer.parseInt(input), () -> (long) parseInt(buffer, from, to));
+            compare(input, "long/byte[]", () -> Long.parseLong(input), () -> parseLong(buffer, from, to));
+            compare(input, "int/char[]", () -> (long) Integer.parseInt(input), () -> (long) parseInt(chars, from, to));
+            compare(input, "long/char[]", () -> Long.parseLong(input), () -> parseLong(chars, from, to));
+        }
+        compare(input, "int/String", () -> (long) Integer.parseInt(input), () -> (long) parseInt(input));
+        compare(input, "long/String", () -> Long.parseLong(input), () -> parseLong(input));
+    }
+
+    private static void compare(String input, String variant, LongSupplier expected, LongSupplier actual) {
+        String want = outcome(expected);
+        String got = outcome(actual);
+        if (!want.equals(got)) {
+            throw new IllegalStateException("AsciiNumbers " + variant + " differs from the JDK for \""
+                    + input + "\": expected " + want + ", got " + got);
+        }
+    }
+
+    private static String outcome(LongSupplier parser) {
+        try {
+            return Long.toString(parser.getAsLong());
+        } catch (NumberFormatException ex) {
+            return "NumberFormatException";
+        }
+    }
+
+    private static String randomDigits(long state) {
+        int length = 1 + (int) Long.remainderUnsigned(state, 21L);
+        StringBuilder digits = new StringBuilder(length + 1);
+        if ((state & (1L << 40)) != 0) {
+            digits.append((state & (1L << 41)) != 0 ? '-' : '+');
+        }
+        for (int i = 0; i < length; i++) {
+            state = xorShift(state);
+            digits.append((char) ('0' + Long.remainderUnsigned(state, 10L)));
+        }
+        return digits.toString();
+    }
+
+    private static long xorShift(long state) {
+        state ^= state << 13;
+        state ^= state >>> 7;
+        return state ^ (state << 17);
+    }
+
+    /**
+     * {@code digits} holds one digit value per byte, first digit in the lowest byte. Pairs, then
+     * quads, then the full 8-digit value are folded into the low lanes.
+     */
+    private static long foldEightDigits(long digits) {
+        digits = (digits * 10L + (digits >>> 8)) & 0x00FF00FF00FF00FFL;
+        digits = (digits * 100L + (digits >>> 16)) & 0x0000FFFF0000FFFFL;
+        return (digits * 10_000L + (digits >>> 32)) & 0x00000000FFFFFFFFL;
+    }
+
+    private static int combine(int d0, int d1, int d2, int d3, int d4, int d5, int d6, int d7) {
+        return d0 * 10_000_000 + d1 * 1_000_000 + d2 * 100_000 + d3 * 10_000
+                + d4 * 1_000 + d5 * 100 + d6 * 10 + d7;
+    }
+
+    /**
+     * 19-digit magnitudes are below 2^64, so the wrapped result is exact when read as unsigned.
+     */
+    private static boolean overflows(long magnitude, boolean negative) {
+        return Long.compareUnsigned(magnitude, negative ? Long.MIN_VALUE : Long.MAX_VALUE) > 0;
+    }
+
+    private static String ascii(byte[] value, int from, int to) {
+        return new String(value, from, to - from, StandardCharsets.ISO_8859_1);
+    }
+
+    private static NumberFormatException invalid(String value, int from, int to) {
+        return invalid(value.substring(from, Math.max(from, to)));
+    }
+
+    private static NumberFormatException invalid(String input) {
+        return new NumberFormatException("For input string: \"" + input + "\"");
+    }
+}
@@ -0,0 +1,276 @@
+package com.benchmark.shared;
+
+/**
+ * Value and shape generator for benchmark records.
+ *
+ * <p>{@code static} reproduces {@link StaticMappedObject} (constant values, only {@code long_0} carries
+ * the sequence). {@code random} draws every field from a generator seeded with (seed, sequence), so a
+ * record is reproducible on its own; ints and longs mix small and large magnitudes (varint widths
+ * differ) and string lengths are skewed towards short values with a long tail and occasional non-ASCII
+ * characters. {@code sparse} is {@code random} with a share of fields left at their default value
+ * ({@code 0} or an empty string), which is how the non-nullable schemas of every format express a
+ * missing value.
+ *
+ * <p>The field count is a multiple of {@link StaticMappedObject#TOTAL_FIELDS}; wider records repeat the
+ * 84/83/83 int/long/string split, and the consumer-1 positions keep their type-local indexes.
+ */
+public final class DataProfile {
+
+    public static final int BASE_FIELDS = StaticMappedObject.TOTAL_FIELDS;
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final long TIMESTAMP_BASE_MS = 1_700_000_000_000L;
+    private static final long TIMESTAMP_SPAN_MS = 30L * 24L * 60L * 60L * 1000L;
+    private static final char[] ASCII_ALPHABET =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789_-.:@ ".toCharArray();
+    private static final char[] NON_ASCII_ALPHABET = "\u00e7\u011f\u0131\u00f6\u015f\u00fc\u00c7\u011e\u0130\u00d6\u015e\u00dc".toCharArray();
+
+    private final Kind kind;
+    private final int widthFactor;
+    private final long seed;
+    private final int sparsePercent;
+    private final RecordValues values;
+    private final char[] stringScratch = new char[256];
+    private long state;
+
+    private DataProfile(Kind kind, int fieldCount, long seed, int sparsePercent) {
+        if (fieldCount <= 0 || fieldCount % BASE_FIELDS != 0) {
+            throw new IllegalArgumentException(
+                    "DATA_FIELD_COUNT must be a positive multiple of " + BASE_FIELDS + ": " + fieldCount);
+        }
+        if (sparsePercent < 0 || sparsePercent > 100) {
+            throw new IllegalArgumentException("DATA_SPARSE_PERCENT must be in [0, 100]: " + sparsePercent);
+        }
+        this.kind = kind;
+        this.widthFactor = fieldCount / BASE_FIELDS;
+        this.seed = seed;
+        this.sparsePercent = kind == Kind.SPARSE ? sparsePercent : 0;
+        this.values = new RecordValues(intFields(), longFields(), stringFields());
+        if (kind == Kind.STATIC) {
+            fillStatic();
+        }
+    }
+
+    public static DataProfile create(String kind, int fieldCount, long seed, int sparsePercent) {
+        return new DataProfile(Kind.from(kind), fieldCount, seed, sparsePercent);
+    }
+
+    public static DataProfile baseline() {
+        return new DataProfile(Kind.STATIC, BASE_FIELDS, 0L, 0);
+    }
+
+    public String kind() {
+        return kind.value;
+    }
+
+    public boolean isStatic() {
+        return kind == Kind.STATIC;
+    }
+
+    public int intFields() {
+        return StaticMappedObject.INT_FIELDS * widthFactor;
+    }
+
+    public int longFields() {
+        return StaticMappedObject.LONG_FIELDS * widthFactor;
+    }
+
+    public int stringFields() {
+        return StaticMappedObject.STRING_FIELDS * widthFactor;
+    }
+
+    public int totalFields() {
+        return BASE_FIELDS * widthFactor;
+    }
+
+    public boolean isIntPosition(int position) {
+        return position >= 0 && position < intFields();
+    }
+
+    public boolean isLongPosition(int position) {
+        return position >= intFields() && position < intFields() + longFields();
+    }
+
+    public boolean isStringPosition(int position) {
+        return position >= intFields() + longFields() && position < totalFields();
+    }
+
+    /**
+     * Formats with a compiled 250-field schema call this before encoding or decoding anything.
+     */
+    public void requireBaseFieldCount(String format) {
+        if (widthFactor != 1) {
+            throw new IllegalArgumentException(format + " uses a compiled " + BASE_FIELDS
+                    + "-field schema; DATA_FIELD_COUNT=" + totalFields() + " is not supported");
+        }
+    }
+
+    public int[] consumer1SelectedPositions() {
+        int[] positions = StaticMappedObject.consumer1SelectedPositions();
+        for (int i = 0; i < positions.length; i++) {
+            int position = positions[i];
+            if (StaticMappedObject.isLongPosition(position)) {
+                positions[i] = intFields() + (position - StaticMappedObject.INT_FIELDS);
+            } else if (StaticMappedObject.isStringPosition(position)) {
+                positions[i] = intFields() + longFields()
+                        + (position - StaticMappedObject.INT_FIELDS - StaticMappedObject.LONG_FIELDS);
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Fills the shared {@link RecordValues} for {@code sequence}; not thread-safe.
+     */
+    public RecordValues values(long sequence) {
+        if (kind == Kind.STATIC) {
+            values.longs[0] = sequence;
+        } else {
+            fillRandom(sequence);
+        }
+        return values;
+    }
+
+    public String toPipeRecord(long sequence) {
+        if (kind == Kind.STATIC && widthFactor == 1) {
+            return StaticMappedObject.toPipeRecord(sequence);
+        }
+
+        RecordValues record = values(sequence);
+        StringBuilder sb = new StringBuilder(4096 * widthFactor);
+        for (int value : record.ints) {
+            sb.append(value).append('|');
+        }
+        for (long value : record.longs) {
+            sb.append(value).append('|');
+        }
+        for (int i = 0; i < record.strings.length; i++) {
+            sb.append(record.strings[i]);
+            if (i < record.strings.length - 1) {
+                sb.append('|');
+            }
+        }
+        return sb.toString();
+    }
+
+    private void fillStatic() {
+        for (int i = 0; i < values.ints.length; i++) {
+            values.ints[i] = i < StaticMappedObject.INT_FIELDS ? StaticMappedObject.getInt(i) : 100_000_001 + i;
+        }
+        for (int i = 0; i < values.longs.length; i++) {
+            values.longs[i] = i < StaticMappedObject.LONG_FIELDS
+                    ? StaticMappedObject.getLong(i, 0L)
+                    : 100_000_000_000_001L + i;
+        }
+        for (int i = 0; i < values.strings.length; i++) {
+            values.strings[i] = i < StaticMappedObject.STRING_FIELDS
+                    ? StaticMappedObject.getString(i)
+                    : String.format("STR_%03d", i);
+        }
+    }
+
+    private void fillRandom(long sequence) {
+        state = mix(seed ^ (sequence * GOLDEN_GAMMA));
+        for (int i = 0; i < values.ints.length; i++) {
+            values.ints[i] = isDefault() ? 0 : nextInt();
+        }
+        values.longs[0] = sequence;
+        for (int i = 1; i < values.longs.length; i++) {
+            values.longs[i] = isDefault() ? 0L : nextLongValue();
+        }
+        for (int i = 0; i < values.strings.length; i++) {
+            values.strings[i] = isDefault() ? "" : nextString();
+        }
+    }
+
+    private boolean isDefault() {
+        return sparsePercent > 0 && bounded(100) < sparsePercent;
+    }
+
+    private int nextInt() {
+        int bucket = bounded(100);
+        if (bucket < 40) {
+            return bounded(128);
+        }
+        if (bucket < 70) {
+            return bounded(65_536);
+        }
+        if (bucket < 90) {
+            return bounded(1 << 24);
+        }
+        return (int) next();
+    }
+
+    private long nextLongValue() {
+        int bucket = bounded(100);
+        if (bucket < 50) {
+            return TIMESTAMP_BASE_MS + boundedLong(TIMESTAMP_SPAN_MS);
+        }
+        if (bucket < 80) {
+            return 900_000_000_000L + boundedLong(100_000_000_000L);
+        }
+        return boundedLong(1_000_000L);
+    }
+
+    private String nextString() {
+        int bucket = bounded(100);
+        int length;
+        if (bucket < 45) {
+            length = 1 + bounded(8);
+        } else if (bucket < 80) {
+            length = 9 + bounded(16);
+        } else if (bucket < 95) {
+            length = 25 + bounded(40);
+        } else {
+            length = 65 + bounded(192);
+        }
+
+        boolean nonAscii = bounded(50) == 0;
+        for (int i = 0; i < length; i++) {
+            stringScratch[i] = nonAscii && bounded(4) == 0
+                    ? NON_ASCII_ALPHABET[bounded(NON_ASCII_ALPHABET.length)]
+                    : ASCII_ALPHABET[bounded(ASCII_ALPHABET.length)];
+        }
+        return new String(stringScratch, 0, length);
+    }
+
+    private int bounded(int bound) {
+        return (int) (((next() >>> 32) * bound) >>> 32);
+    }
+
+    private long boundedLong(long bound) {
+        return (next() >>> 1) % bound;
+    }
+
+    private long next() {
+        state += GOLDEN_GAMMA;
+        return mix(state);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private enum Kind {
+        STATIC("static"),
+        RANDOM("random"),
+        SPARSE("sparse");
+
+        private final String value;
+
+        Kind(String value) {
+            this.value = value;
+        }
+
+        private static Kind from(String value) {
+            for (Kind kind : values()) {
+                if (kind.value.equals(value)) {
+                    return kind;
+                }
+            }
+            throw new IllegalArgumentException("Unknown DATA_PROFILE: " + value);
+        }
+    }
+}
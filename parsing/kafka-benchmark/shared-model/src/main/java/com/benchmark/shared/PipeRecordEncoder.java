@@ -0,0 +1,189 @@
+package com.benchmark.shared;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Writes the pipe record of a {@link DataProfile} straight into a reused UTF-8 byte buffer:
+ * ints/longs as ASCII digits, strings byte by byte. Produces the same bytes as
+ * {@code profile.toPipeRecord(sequence).getBytes(UTF_8)} without the StringBuilder and String.
+ * Not thread-safe; the buffer is overwritten by the next {@link #encode(long)}.
+ */
+public final class PipeRecordEncoder {
+
+    private static final int MAX_LONG_CHARS = 20;
+    private static final byte[] DIGIT_PAIRS = new byte[200];
+
+    static {
+        for (int i = 0; i < 100; i++) {
+            DIGIT_PAIRS[i * 2] = (byte) ('0' + i / 10);
+            DIGIT_PAIRS[i * 2 + 1] = (byte) ('0' + i % 10);
+        }
+    }
+
+    private final DataProfile profile;
+    private byte[] buffer;
+
+    public PipeRecordEncoder(DataProfile profile) {
+        this.profile = profile;
+        this.buffer = new byte[4096 * (profile.totalFields() / DataProfile.BASE_FIELDS)];
+    }
+
+    /**
+     * Encodes {@code sequence} and returns the payload length in {@link #buffer()}.
+     */
+    public int encode(long sequence) {
+        RecordValues values = profile.values(sequence);
+        ensureCapacity(maxLength(values));
+        int position = 0;
+        for (int value : values.ints) {
+            position = writeInt(buffer, value, position);
+            position = writeSeparator(position);
+        }
+        for (long value : values.longs) {
+            position = writeLong(buffer, value, position);
+            position = writeSeparator(position);
+        }
+        for (int i = 0; i < values.strings.length; i++) {
+            position = writeString(values.strings[i], position);
+            if (i < values.strings.length - 1) {
+                position = writeSeparator(position);
+            }
+        }
+        return position;
+    }
+
+    public byte[] buffer() {
+        return buffer;
+    }
+
+    /**
+     * Upper bound of the encoded length (every char as 3 UTF-8 bytes), so the writers need no
+     * per-field capacity checks.
+     */
+    private static int maxLength(RecordValues values) {
+        int length = (values.ints.length + values.longs.length) * (MAX_LONG_CHARS + 1);
+        for (String value : values.strings) {
+            length += value.length() * 3 + 1;
+        }
+        return length;
+    }
+
+    private int writeSeparator(int position) {
+        buffer[position] = '|';
+        return position + 1;
+    }
+
+    /**
+     * Writes {@code value} as ASCII digits at {@code position} and returns the index after the last
+     * one; {@code buffer} needs room for 20 bytes. Digits are produced two at a time from the negated
+     * value (as {@code Long.getChars} does), so {@link Long#MIN_VALUE} needs no special case. Values
+     * that fit an int finish in int arithmetic.
+     */
+    public static int writeLong(byte[] buffer, long value, int position) {
+        if (value == (int) value) {
+            return writeInt(buffer, (int) value, position);
+        }
+        long negative = value;
+        if (value < 0L) {
+            buffer[position++] = '-';
+        } else {
+            negative = -value;
+        }
+
+        int end = position + digitCount(negative);
+        int index = end;
+        while (negative <= Integer.MIN_VALUE) {
+            long quotient = negative / 100L;
+            int pair = (int) (quotient * 100L - negative);
+            buffer[--index] = DIGIT_PAIRS[pair * 2 + 1];
+            buffer[--index] = DIGIT_PAIRS[pair * 2];
+            negative = quotient;
+        }
+        writeNegativeInt(buffer, (int) negative, index);
+        return end;
+    }
+
+    private static int writeInt(byte[] buffer, int value, int position) {
+        int negative = value;
+        if (value < 0) {
+            buffer[position++] = '-';
+        } else {
+            negative = -value;
+        }
+
+        int end = position + digitCount(negative);
+        writeNegativeInt(buffer, negative, end);
+        return end;
+    }
+
+    /**
+     * Writes the digits of {@code negative} (<= 0) so that the last digit lands at {@code end - 1}.
+     */
+    private static void writeNegativeInt(byte[] buffer, int negative, int end) {
+        int index = end;
+        while (negative <= -100) {
+            int quotient = negative / 100;
+            int pair = quotient * 100 - negative;
+            buffer[--index] = DIGIT_PAIRS[pair * 2 + 1];
+            buffer[--index] = DIGIT_PAIRS[pair * 2];
+            negative = quotient;
+        }
+        if (negative <= -10) {
+            int pair = -negative;
+            buffer[--index] = DIGIT_PAIRS[pair * 2 + 1];
+            buffer[--index] = DIGIT_PAIRS[pair * 2];
+        } else {
+            buffer[--index] = (byte) ('0' - negative);
+        }
+    }
+
+    private static int digitCount(long negative) {
+        int digits = 1;
+        long bound = -10L;
+        while (digits < 19 && negative <= bound) {
+            bound *= 10L;
+            digits++;
+        }
+        return digits;
+    }
+
+    private int writeString(String value, int position) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                return writeUtf8(value, i, position + i);
+            }
+            buffer[position + i] = (byte) c;
+        }
+        return position + length;
+    }
+
+    private int writeUtf8(String value, int from, int position) {
+        for (int i = from; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer[position++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[position++] = (byte) (0xC0 | (c >>> 6));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                byte[] bytes = value.substring(i).getBytes(StandardCharsets.UTF_8);
+                System.arraycopy(bytes, 0, buffer, position, bytes.length);
+                return position + bytes.length;
+            } else {
+                buffer[position++] = (byte) (0xE0 | (c >>> 12));
+                buffer[position++] = (byte) (0x80 | ((c >>> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return position;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(required, buffer.length * 2));
+        }
+    }
+}
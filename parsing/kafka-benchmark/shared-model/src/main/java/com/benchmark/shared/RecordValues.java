@@ -0,0 +1,30 @@
+package com.benchmark.shared;
+
+/**
+ * Field values of one generated record. The instance is owned by its {@link DataProfile} and is
+ * overwritten by the next {@link DataProfile#values(long)} call.
+ */
+public final class RecordValues {
+
+    final int[] ints;
+    final long[] longs;
+    final String[] strings;
+
+    RecordValues(int intFields, int longFields, int stringFields) {
+        this.ints = new int[intFields];
+        this.longs = new long[longFields];
+        this.strings = new String[stringFields];
+    }
+
+    public int intAt(int index) {
+        return ints[index];
+    }
+
+    public long longAt(int index) {
+        return longs[index];
+    }
+
+    public String stringAt(int index) {
+        return strings[index];
+    }
+}
@@ -0,0 +1,93 @@
+package com.benchmark.shared;
+
+/**
+ * Well-formed UTF-8 check without decoding or throwing, for formats whose consumers read strings
+ * as byte ranges (fixed layout, FlatBuffers, Avro {@code Utf8}) and would otherwise never notice
+ * invalid bytes. Rejects stray continuation bytes, truncated sequences, overlong encodings,
+ * surrogates and code points above U+10FFFF, like a strict {@code CharsetDecoder}.
+ */
+public final class Utf8Validator {
+
+    private Utf8Validator() {
+    }
+
+    public static boolean isValid(byte[] bytes, int from, int to) {
+        if (from < 0 || to > bytes.length || from > to) {
+            return false;
+        }
+        int position = from;
+        while (position < to) {
+            int lead = bytes[position] & 0xFF;
+            if (lead < 0x80) {
+                position++;
+                continue;
+            }
+
+            int length;
+            int min;
+            int max;
+            if (lead >= 0xC2 && lead <= 0xDF) {
+                length = 2;
+                min = 0x80;
+                max = 0xBF;
+            } else if (lead == 0xE0) {
+                length = 3;
+                min = 0xA0;
+                max = 0xBF;
+            } else if (lead == 0xED) {
+                length = 3;
+                min = 0x80;
+                max = 0x9F;
+            } else if (lead >= 0xE1 && lead <= 0xEF) {
+                length = 3;
+                min = 0x80;
+                max = 0xBF;
+            } else if (lead == 0xF0) {
+                length = 4;
+                min = 0x90;
+                max = 0xBF;
+            } else if (lead >= 0xF1 && lead <= 0xF3) {
+                length = 4;
+                min = 0x80;
+                max = 0xBF;
+            } else if (lead == 0xF4) {
+                length = 4;
+                min = 0x80;
+                max = 0x8F;
+            } else {
+                return false;
+            }
+
+            if (to - position < length) {
+                return false;
+            }
+            int second = bytes[position + 1] & 0xFF;
+            if (second < min || second > max) {
+                return false;
+            }
+            for (int i = 2; i < length; i++) {
+                if ((bytes[position + i] & 0xC0) != 0x80) {
+                    return false;
+                }
+            }
+            position += length;
+        }
+        return true;
+    }
+
+    /**
+     * {@code String.length()} of the decoded range for valid UTF-8: one char per lead byte, two
+     * for a 4-byte sequence (surrogate pair). Lets byte-range readers sink the same string length
+     * as the paths that decode to {@code String}.
+     */
+    public static int utf16Length(byte[] bytes, int from, int to) {
+        int length = 0;
+        for (int i = from; i < to; i++) {
+            int b = bytes[i];
+            if ((b & 0xC0) != 0x80) {
+                length += (b & 0xF8) == 0xF0 ? 2 : 1;
+            }
+        }
+        return length;
+    }
+}
@@ -0,0 +1,24 @@
+package com.benchmark.shared.runner;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.benchmark.BatchPolled")
+@Label("Batch Polled")
+@Category({"Benchmark", "Kafka"})
+@StackTrace(false)
+final class BatchPolledEvent extends jdk.jfr.Event {
+
+    @Label("Role")
+    String role;
+
+    @Label("Record Count")
+    int recordCount;
+
+    @Label("Payload Size")
+    @DataAmount
+    long payloadBytes;
+}
@@ -0,0 +1,24 @@
+package com.benchmark.shared.runner;
+
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serializer;
+
+public abstract class BinaryRecordCodec implements RecordCodec<byte[]> {
+
+    @Override
+    public final Class<? extends Serializer<byte[]>> serializerClass() {
+        return ByteArraySerializer.class;
+    }
+
+    @Override
+    public final Class<? extends Deserializer<byte[]>> deserializerClass() {
+        return ByteArrayDeserializer.class;
+    }
+
+    @Override
+    public final int payloadSize(byte[] payload) {
+        return payload.length;
+    }
+}
@@ -0,0 +1,91 @@
+package com.benchmark.shared.runner;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Replays a capture written by {@link CaptureSegmentWriter}. Every segment is memory-mapped up
+ * front; {@link #next()} copies one payload into a fresh array, as a Kafka fetch would.
+ */
+final class CaptureSegmentReader {
+
+    private final List<MappedByteBuffer> segments;
+    private final long payloadBytes;
+    private int segmentIndex;
+
+    private CaptureSegmentReader(List<MappedByteBuffer> segments, long payloadBytes) {
+        this.segments = segments;
+        this.payloadBytes = payloadBytes;
+    }
+
+    static CaptureSegmentReader open(Path dir, String scenario) throws IOException {
+        Path manifestFile = dir.resolve(CaptureSegmentWriter.MANIFEST_FILE);
+        if (!Files.isRegularFile(manifestFile)) {
+            throw new IllegalStateException("No capture found in " + dir + "; run APP_ROLE=capture first");
+        }
+        Properties manifest = new Properties();
+        try (InputStream input = Files.newInputStream(manifestFile)) {
+            manifest.load(input);
+        }
+        String capturedScenario = manifest.getProperty("scenario");
+        if (!scenario.equals(capturedScenario)) {
+            throw new IllegalStateException("Capture in " + dir + " was taken from scenario "
+                    + capturedScenario + ", not " + scenario);
+        }
+
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, CaptureSegmentWriter.SEGMENT_GLOB)) {
+            stream.forEach(files::add);
+        }
+        Collections.sort(files);
+
+        List<MappedByteBuffer> segments = new ArrayList<>(files.size());
+        for (Path file : files) {
+            try (FileChannel channel = FileChannel.open(file)) {
+                MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                segment.load();
+                if (segment.remaining() < CaptureSegmentWriter.HEADER_BYTES
+                        || segment.getInt() != CaptureSegmentWriter.MAGIC
+                        || segment.getInt() != CaptureSegmentWriter.VERSION) {
+                    throw new IllegalStateException("Not a capture segment: " + file);
+                }
+                segments.add(segment);
+            }
+        }
+        return new CaptureSegmentReader(segments, Long.parseLong(manifest.getProperty("payload_bytes", "0")));
+    }
+
+    boolean hasNext() {
+        while (segmentIndex < segments.size()) {
+            if (segments.get(segmentIndex).hasRemaining()) {
+                return true;
+            }
+            segmentIndex++;
+        }
+        return false;
+    }
+
+    byte[] next() {
+        MappedByteBuffer segment = segments.get(segmentIndex);
+        byte[] payload = new byte[segment.getInt()];
+        segment.get(payload);
+        return payload;
+    }
+
+    int segmentCount() {
+        return segments.size();
+    }
+
+    long payloadBytes() {
+        return payloadBytes;
+    }
+}
@@ -0,0 +1,108 @@
+package com.benchmark.shared.runner;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Writes captured payloads to {@code capture-NNNNN.seg} files:
+ * <pre>
+ * [magic u32 | version u32] then per record [length u32 | payload bytes]
+ * </pre>
+ * A segment is closed before it would exceed the configured size, so each one can be mapped with
+ * a single {@code MappedByteBuffer}. {@code capture_manifest.kv} records what was captured.
+ */
+final class CaptureSegmentWriter implements AutoCloseable {
+
+    static final int MAGIC = 0x4B424350;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 2 * Integer.BYTES;
+    static final String SEGMENT_GLOB = "capture-*.seg";
+    static final String MANIFEST_FILE = "capture_manifest.kv";
+    static final long MAX_SEGMENT_BYTES = Integer.MAX_VALUE;
+
+    private final Path dir;
+    private final long segmentBytes;
+    private DataOutputStream out;
+    private long segmentPosition;
+    private int segmentCount;
+    private long recordCount;
+    private long payloadBytes;
+
+    CaptureSegmentWriter(Path dir, long segmentBytes) throws IOException {
+        if (segmentBytes <= HEADER_BYTES || segmentBytes > MAX_SEGMENT_BYTES) {
+            throw new IllegalArgumentException("CAPTURE_SEGMENT_MB must give a segment size in ("
+                    + HEADER_BYTES + ", " + MAX_SEGMENT_BYTES + "] bytes: " + segmentBytes);
+        }
+        this.dir = dir;
+        this.segmentBytes = segmentBytes;
+        Files.createDirectories(dir);
+        Files.deleteIfExists(dir.resolve(MANIFEST_FILE));
+        try (DirectoryStream<Path> stale = Files.newDirectoryStream(dir, SEGMENT_GLOB)) {
+            for (Path file : stale) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    void append(byte[] payload) throws IOException {
+        long recordBytes = Integer.BYTES + (long) payload.length;
+        if (HEADER_BYTES + recordBytes > segmentBytes) {
+            throw new IllegalStateException("Payload of " + payload.length + " bytes does not fit a "
+                    + segmentBytes + " byte segment");
+        }
+        if (out == null || segmentPosition + recordBytes > segmentBytes) {
+            nextSegment();
+        }
+        out.writeInt(payload.length);
+        out.write(payload);
+        segmentPosition += recordBytes;
+        recordCount++;
+        payloadBytes += payload.length;
+    }
+
+    void writeManifest(String scenario, String topic) throws IOException {
+        String manifest = "scenario=" + scenario + "\n"
+                + "topic=" + topic + "\n"
+                + "records=" + recordCount + "\n"
+                + "payload_bytes=" + payloadBytes + "\n"
+                + "segments=" + segmentCount + "\n"
+                + "segment_bytes=" + segmentBytes + "\n";
+        Files.writeString(dir.resolve(MANIFEST_FILE), manifest, StandardCharsets.UTF_8);
+    }
+
+    int segmentCount() {
+        return segmentCount;
+    }
+
+    long recordCount() {
+        return recordCount;
+    }
+
+    long payloadBytes() {
+        return payloadBytes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+    }
+
+    private void nextSegment() throws IOException {
+        close();
+        Path file = dir.resolve(String.format(Locale.ROOT, "capture-%05d.seg", segmentCount));
+        out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 20));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        segmentPosition = HEADER_BYTES;
+        segmentCount++;
+    }
+}
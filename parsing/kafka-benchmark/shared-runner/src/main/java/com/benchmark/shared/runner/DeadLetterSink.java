@@ -0,0 +1,143 @@
+package com.benchmark.shared.runner;
+
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Where a consumer puts records that fail validation. {@code file} writes capture segments plus a
+ * {@code dead_letter_reasons.csv} (record index, reason), so the bad records can be replayed with
+ * {@code CAPTURE_DIR} pointing at the directory; {@code topic} sends them to {@code <topic>_DLQ}
+ * with the reason and role as headers; {@code none} only counts. Workers of the per-partition
+ * consumer share one sink.
+ */
+final class DeadLetterSink implements AutoCloseable {
+
+    static final String TOPIC_SUFFIX = "_DLQ";
+    static final String REASON_HEADER = "bench-dlq-reason";
+    static final String ROLE_HEADER = "bench-dlq-role";
+    static final String REASONS_FILE = "dead_letter_reasons.csv";
+
+    enum Target {
+        NONE("none"),
+        FILE("file"),
+        TOPIC("topic");
+
+        private final String value;
+
+        Target(String value) {
+            this.value = value;
+        }
+
+        String value() {
+            return value;
+        }
+
+        static Target from(String value) {
+            for (Target target : values()) {
+                if (target.value.equals(value)) {
+                    return target;
+                }
+            }
+            throw new IllegalArgumentException("Unknown DEAD_LETTER: " + value);
+        }
+    }
+
+    private final Target target;
+    private final String location;
+    private final String scenario;
+    private final String label;
+    private final CaptureSegmentWriter writer;
+    private final BufferedWriter reasons;
+    private final KafkaProducer<String, byte[]> producer;
+    private long records;
+    private long payloadBytes;
+
+    private DeadLetterSink(
+            Target target,
+            String location,
+            String scenario,
+            String label,
+            CaptureSegmentWriter writer,
+            BufferedWriter reasons,
+            KafkaProducer<String, byte[]> producer
+    ) {
+        this.target = target;
+        this.location = location;
+        this.scenario = scenario;
+        this.label = label;
+        this.writer = writer;
+        this.reasons = reasons;
+        this.producer = producer;
+    }
+
+    static DeadLetterSink none() {
+        return new DeadLetterSink(Target.NONE, "", null, null, null, null, null);
+    }
+
+    static DeadLetterSink file(Path dir, long segmentBytes, String scenario, String sourceTopic) throws IOException {
+        CaptureSegmentWriter writer = new CaptureSegmentWriter(dir, segmentBytes);
+        BufferedWriter reasons = Files.newBufferedWriter(dir.resolve(REASONS_FILE), StandardCharsets.UTF_8);
+        reasons.write("index,reason\n");
+        return new DeadLetterSink(Target.FILE, dir.toString(), scenario, sourceTopic, writer, reasons, null);
+    }
+
+    static DeadLetterSink topic(String bootstrapServers, String sourceTopic, String role) {
+        Properties props = new Properties();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class.getName());
+        return new DeadLetterSink(Target.TOPIC, sourceTopic + TOPIC_SUFFIX, null, role, null, null,
+                new KafkaProducer<>(props));
+    }
+
+    synchronized void write(byte[] payload, String reason) throws IOException {
+        if (target == Target.FILE) {
+            reasons.write(Long.toString(records));
+            reasons.write(',');
+            reasons.write(reason);
+            reasons.write('\n');
+            writer.append(payload);
+        } else if (target == Target.TOPIC) {
+            ProducerRecord<String, byte[]> record = new ProducerRecord<>(location, payload);
+            record.headers().add(REASON_HEADER, reason.getBytes(StandardCharsets.UTF_8));
+            record.headers().add(ROLE_HEADER, label.getBytes(StandardCharsets.UTF_8));
+            producer.send(record);
+        }
+        records++;
+        payloadBytes += payload.length;
+    }
+
+    synchronized Map<String, String> summary() {
+        Map<String, String> summary = new LinkedHashMap<>();
+        summary.put("dead_letter_target", target.value());
+        if (target != Target.NONE) {
+            summary.put("dead_letter_location", location);
+        }
+        summary.put("dead_letter_records", Long.toString(records));
+        summary.put("dead_letter_payload_bytes", Long.toString(payloadBytes));
+        return summary;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (target == Target.FILE) {
+            writer.writeManifest(scenario, label);
+            writer.close();
+            reasons.close();
+        } else if (target == Target.TOPIC) {
+            producer.close();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.benchmark.shared.runner;
+
+public final class DecodeContext {
+
+    private final PhaseSampler sampler;
+    private final boolean validating;
+    private boolean sampling;
+    private RecordFault rejectedFault;
+    private long decodeOrSplitNs;
+    private long decodeOrSplitIntervals;
+    private long parseNs;
+    private long parseIntervals;
+    private long objectCreateCount;
+    private long objectSkipCount;
+
+    DecodeContext(PhaseSampler sampler) {
+        this(sampler, false);
+    }
+
+    DecodeContext(PhaseSampler sampler, boolean validating) {
+        this.sampler = sampler;
+        this.validating = validating;
+    }
+
+    void beginRecord() {
+        sampling = sampler.sampleNext();
+        rejectedFault = null;
+    }
+
+    /**
+     * True with {@code RECORD_VALIDATION=on}: codecs run the checks they would otherwise skip
+     * (string bytes, layout bounds) and report bad records through {@link #reject}.
+     */
+    public boolean validating() {
+        return validating;
+    }
+
+    /**
+     * Marks the current record as invalid without throwing; the codec returns 0 right after.
+     * The first reject of a record wins.
+     */
+    public void reject(RecordFault fault) {
+        if (rejectedFault == null) {
+            rejectedFault = fault;
+        }
+    }
+
+    public long startPhase() {
+        return sampling ? System.nanoTime() : 0L;
+    }
+
+    public void endDecodeOrSplit(long startNs) {
+        if (sampling) {
+            decodeOrSplitNs += System.nanoTime() - startNs;
+            decodeOrSplitIntervals++;
+        }
+    }
+
+    public void endParse(long startNs) {
+        if (sampling) {
+            parseNs += System.nanoTime() - startNs;
+            parseIntervals++;
+        }
+    }
+
+    public void objectCreated() {
+        objectCreateCount++;
+    }
+
+    public void fieldsSkipped(long count) {
+        objectSkipCount += count;
+    }
+
+    RecordFault rejectedFault() {
+        return rejectedFault;
+    }
+
+    long decodeOrSplitNs(long records) {
+        return sampler.estimateTotalNs(decodeOrSplitNs, decodeOrSplitIntervals, records);
+    }
+
+    long parseNs(long records) {
+        return sampler.estimateTotalNs(parseNs, parseIntervals, records);
+    }
+
+    long objectCreateCount() {
+        return objectCreateCount;
+    }
+
+    long objectSkipCount() {
+        return objectSkipCount;
+    }
+}
@@ -0,0 +1,96 @@
+package com.benchmark.shared.runner;
+
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Produce-to-parsed latency from the {@value #SEND_TIME_HEADER} record header (epoch micros,
+ * big-endian). Keeps a whole-run histogram plus a per-tick timeline with consumer lag.
+ */
+final class E2eLatencyTracker {
+
+    static final String SEND_TIME_HEADER = "bench-send-us";
+
+    private final LatencyHistogram total = new LatencyHistogram();
+    private final LatencyHistogram interval = new LatencyHistogram();
+    private final StringBuilder timeline = new StringBuilder(
+            "elapsed_ms,records_processed,consumer_lag_records,interval_count,interval_p50_us,interval_p99_us,interval_max_us\n");
+    private final long startNs = System.nanoTime();
+    private long missingHeaderCount;
+
+    static byte[] encodeSendTime(long epochMicros) {
+        byte[] value = new byte[Long.BYTES];
+        for (int i = Long.BYTES - 1; i >= 0; i--) {
+            value[i] = (byte) epochMicros;
+            epochMicros >>>= 8;
+        }
+        return value;
+    }
+
+    static long nowEpochMicros() {
+        Instant now = Instant.now();
+        return now.getEpochSecond() * 1_000_000L + now.getNano() / 1_000L;
+    }
+
+    void onParsed(Headers headers, long parsedEpochMicros) {
+        Header header = headers.lastHeader(SEND_TIME_HEADER);
+        if (header == null || header.value() == null || header.value().length != Long.BYTES) {
+            missingHeaderCount++;
+            return;
+        }
+
+        long sendEpochMicros = 0L;
+        for (byte b : header.value()) {
+            sendEpochMicros = (sendEpochMicros << 8) | (b & 0xFF);
+        }
+        long latencyMicros = parsedEpochMicros - sendEpochMicros;
+        total.record(latencyMicros);
+        interval.record(latencyMicros);
+    }
+
+    void tick(long processed, double lagRecords) {
+        long elapsedMs = (System.nanoTime() - startNs) / 1_000_000L;
+        timeline.append(elapsedMs).append(',')
+                .append(processed).append(',')
+                .append(Double.isNaN(lagRecords) ? "" : Long.toString(Math.round(lagRecords))).append(',')
+                .append(interval.count()).append(',')
+                .append(interval.valueAtPercentile(50.0)).append(',')
+                .append(interval.valueAtPercentile(99.0)).append(',')
+                .append(interval.max()).append('\n');
+        interval.reset();
+    }
+
+    /**
+     * Folds another tracker's whole-run histogram into this one; timelines are not merged.
+     */
+    void merge(E2eLatencyTracker other) {
+        total.add(other.total);
+        missingHeaderCount += other.missingHeaderCount;
+    }
+
+    Map<String, String> summary() {
+        Map<String, String> summary = new LinkedHashMap<>();
+        summary.put("e2e_latency_count", Long.toString(total.count()));
+        summary.put("e2e_latency_missing_header_count", Long.toString(missingHeaderCount));
+        summary.put("e2e_latency_mean_us", String.format("%.4f", total.mean()));
+        summary.put("e2e_latency_p50_us", Long.toString(total.valueAtPercentile(50.0)));
+        summary.put("e2e_latency_p90_us", Long.toString(total.valueAtPercentile(90.0)));
+        summary.put("e2e_latency_p99_us", Long.toString(total.valueAtPercentile(99.0)));
+        summary.put("e2e_latency_p999_us", Long.toString(total.valueAtPercentile(99.9)));
+        summary.put("e2e_latency_max_us", Long.toString(total.max()));
+        return summary;
+    }
+
+    void writeTimeline(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, timeline, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,58 @@
+package com.benchmark.shared.runner;
+
+import java.util.Arrays;
+
+/**
+ * Byte-level helpers for {@link RecordCodec#encodeFaulty}. Every choice (cut point, field) is
+ * derived from the sequence, so a faulty record is reproducible on its own.
+ */
+public final class FaultInjection {
+
+    /** Never valid in UTF-8, in any position. */
+    public static final byte INVALID_UTF8_BYTE = (byte) 0xFF;
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final int MAX_VARINT_BYTES = 10;
+
+    private FaultInjection() {
+    }
+
+    /**
+     * Deterministic index in {@code [0, bound)} for {@code sequence}.
+     */
+    public static int pick(long sequence, int bound) {
+        return (int) Math.floorMod(mix(sequence * GOLDEN_GAMMA), (long) bound);
+    }
+
+    /**
+     * Keeps 25-75% of the payload, as if the record had been cut off in transit.
+     */
+    public static byte[] truncate(byte[] payload, long sequence) {
+        return Arrays.copyOf(payload, truncatedLength(payload.length, sequence));
+    }
+
+    public static String truncate(String payload, long sequence) {
+        return payload.substring(0, truncatedLength(payload.length(), sequence));
+    }
+
+    /**
+     * Overwrites the varint at {@code offset} with continuation bytes: longer than the 5 (int) or
+     * 10 (long) bytes a decoder accepts, or running off the end of the payload.
+     */
+    public static void corruptVarint(byte[] payload, int offset) {
+        Arrays.fill(payload, offset, Math.min(payload.length, offset + MAX_VARINT_BYTES), (byte) 0xFF);
+    }
+
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static int truncatedLength(int length, long sequence) {
+        if (length <= 1) {
+            return 0;
+        }
+        return Math.min(length - 1, length / 4 + pick(sequence, length / 2 + 1));
+    }
+}
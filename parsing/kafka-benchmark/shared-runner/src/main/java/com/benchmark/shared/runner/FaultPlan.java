@@ -0,0 +1,104 @@
+package com.benchmark.shared.runner;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Producer-side fault injection: {@code FAULT_RATE_PERCENT} of the sequences, picked by a hash of
+ * (seed, sequence), are encoded with {@link RecordCodec#encodeFaulty} using one of
+ * {@code FAULT_KINDS}. Kinds the codec does not {@link RecordCodec#supportsFault support} are
+ * dropped up front, so the remaining kinds share the rate evenly; {@code truncated} applies to
+ * every format except the string dictionary. A picked record with nothing to corrupt for its kind
+ * is sent clean and counted, without changing the mix for later records.
+ */
+final class FaultPlan {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final double UNIT = 0x1.0p-53;
+
+    private final double ratePercent;
+    private final double threshold;
+    private final List<RecordFault> kinds;
+    private final long seed;
+    private final List<RecordFault> supported;
+    private final long[] injected = new long[RecordFault.values().length];
+    private long unsupported;
+    private long noTarget;
+
+    FaultPlan(double ratePercent, List<RecordFault> kinds, long seed, RecordCodec<?> codec) {
+        this.ratePercent = ratePercent;
+        this.threshold = ratePercent / 100.0;
+        this.kinds = List.copyOf(kinds);
+        this.supported = kinds.stream().filter(codec::supportsFault).toList();
+        this.seed = seed;
+    }
+
+    static List<RecordFault> parseKinds(String value) {
+        List<RecordFault> kinds = new ArrayList<>();
+        for (String entry : value.split(",")) {
+            String trimmed = entry.trim();
+            if (!trimmed.isEmpty()) {
+                RecordFault fault = RecordFault.from(trimmed);
+                if (!kinds.contains(fault)) {
+                    kinds.add(fault);
+                }
+            }
+        }
+        return kinds;
+    }
+
+    static String allKinds() {
+        return Arrays.stream(RecordFault.values())
+                .filter(RecordFault::injectable)
+                .map(RecordFault::value)
+                .collect(Collectors.joining(","));
+    }
+
+    /**
+     * Payload for {@code sequence}: faulty when the sequence is picked, the codec supports one of
+     * the configured kinds and the record has something to corrupt for it, clean otherwise.
+     */
+    <P> P encode(RecordCodec<P> codec, long sequence) throws IOException {
+        long hash = FaultInjection.mix(seed ^ (sequence * GOLDEN_GAMMA));
+        if ((hash >>> 11) * UNIT >= threshold) {
+            return codec.encodeFull(sequence);
+        }
+        if (supported.isEmpty()) {
+            unsupported++;
+            return codec.encodeFull(sequence);
+        }
+
+        RecordFault fault = supported.get((int) Math.floorMod(hash, (long) supported.size()));
+        P payload = codec.encodeFaulty(sequence, fault);
+        if (payload == null) {
+            noTarget++;
+            return codec.encodeFull(sequence);
+        }
+        injected[fault.ordinal()]++;
+        return payload;
+    }
+
+    Map<String, String> summary() {
+        Map<String, String> summary = new LinkedHashMap<>();
+        summary.put("fault_rate_percent", String.format("%.4f", ratePercent));
+        summary.put("fault_kinds", kinds.stream().map(RecordFault::value).collect(Collectors.joining(",")));
+        summary.put("fault_supported_kinds",
+                supported.stream().map(RecordFault::value).collect(Collectors.joining(",")));
+        long total = 0L;
+        for (long count : injected) {
+            total += count;
+        }
+        summary.put("fault_injected_count", Long.toString(total));
+        for (RecordFault fault : kinds) {
+            summary.put("fault_injected_" + fault.metricSuffix(), Long.toString(injected[fault.ordinal()]));
+        }
+        summary.put("fault_unsupported_count", Long.toString(unsupported));
+        summary.put("fault_no_target_count", Long.toString(noTarget));
+        return summary;
+    }
+}
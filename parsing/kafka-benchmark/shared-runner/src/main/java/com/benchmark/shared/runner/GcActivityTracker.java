@@ -0,0 +1,98 @@
+package com.benchmark.shared.runner;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * GC activity of one role from the collectors' completion notifications, plus the heap and JIT
+ * settings the JVM actually ran with. Stop-the-world collections (G1/Parallel young and full,
+ * ZGC/Shenandoah "Pauses" beans) count as pauses; ZGC/Shenandoah "Cycles" beans are concurrent
+ * cycles. Durations have millisecond resolution, so sub-millisecond pauses are recorded as 0; a
+ * JFR recording has the exact phase times.
+ */
+final class GcActivityTracker implements NotificationListener {
+
+    private static final String CONCURRENT_CYCLE_SUFFIX = "Cycles";
+
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+    private final List<NotificationEmitter> emitters = new ArrayList<>();
+    private final LatencyHistogram pauses = new LatencyHistogram();
+    private long concurrentCycleCount;
+    private long concurrentCycleMs;
+
+    static GcActivityTracker start() {
+        GcActivityTracker tracker = new GcActivityTracker();
+        for (GarbageCollectorMXBean collector : tracker.collectors) {
+            if (collector instanceof NotificationEmitter) {
+                NotificationEmitter emitter = (NotificationEmitter) collector;
+                emitter.addNotificationListener(tracker,
+                        notification -> GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION
+                                .equals(notification.getType()),
+                        null);
+                tracker.emitters.add(emitter);
+            }
+        }
+        return tracker;
+    }
+
+    @Override
+    public synchronized void handleNotification(Notification notification, Object handback) {
+        GarbageCollectionNotificationInfo info =
+                GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        long durationMs = info.getGcInfo().getDuration();
+        if (info.getGcName().endsWith(CONCURRENT_CYCLE_SUFFIX)) {
+            concurrentCycleCount++;
+            concurrentCycleMs += durationMs;
+        } else {
+            pauses.record(durationMs);
+        }
+    }
+
+    synchronized Map<String, String> stop() {
+        for (NotificationEmitter emitter : emitters) {
+            try {
+                emitter.removeNotificationListener(this);
+            } catch (ListenerNotFoundException ignored) {
+                // already detached
+            }
+        }
+        emitters.clear();
+
+        Map<String, String> summary = new LinkedHashMap<>();
+        summary.put("gc_collectors", collectors.stream()
+                .map(collector -> collector.getName().replace(' ', '_'))
+                .collect(Collectors.joining(",")));
+        summary.put("gc_pause_count", Long.toString(pauses.count()));
+        summary.put("gc_pause_total_ms", Long.toString(pauses.sum()));
+        summary.put("gc_pause_p99_ms", Long.toString(pauses.valueAtPercentile(99.0)));
+        summary.put("gc_pause_max_ms", Long.toString(pauses.max()));
+        summary.put("gc_concurrent_cycle_count", Long.toString(concurrentCycleCount));
+        summary.put("gc_concurrent_cycle_ms", Long.toString(concurrentCycleMs));
+        summary.put("jvm_max_heap_mb", Long.toString(Runtime.getRuntime().maxMemory() / (1024L * 1024L)));
+        HotSpotDiagnosticMXBean hotSpot = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+        summary.put("jvm_compressed_oops", vmOption(hotSpot, "UseCompressedOops"));
+        summary.put("jvm_tiered_stop_at_level", vmOption(hotSpot, "TieredStopAtLevel"));
+        return summary;
+    }
+
+    private static String vmOption(HotSpotDiagnosticMXBean hotSpot, String name) {
+        try {
+            return hotSpot.getVMOption(name).getValue();
+        } catch (IllegalArgumentException e) {
+            return "n/a";
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.benchmark.shared.runner;
+
+/**
+ * Role counters published by the processing loop for the {@code /metrics} endpoint. The loop is
+ * the only writer; the HTTP thread only reads.
+ */
+final class LiveMetrics {
+
+    private final long startNs = System.nanoTime();
+    private volatile long recordsProcessed;
+    private volatile long payloadBytes;
+    private volatile long encodeOrBuildNs;
+    private volatile long decodeOrSplitNs;
+    private volatile long parseNs;
+    private volatile double consumerLagRecords = Double.NaN;
+
+    void publish(long records, long bytes, long encodeNs, long decodeNs, long parseNanos) {
+        recordsProcessed = records;
+        payloadBytes = bytes;
+        encodeOrBuildNs = encodeNs;
+        decodeOrSplitNs = decodeNs;
+        parseNs = parseNanos;
+    }
+
+    void publishLag(double lagRecords) {
+        consumerLagRecords = lagRecords;
+    }
+
+    long recordsProcessed() {
+        return recordsProcessed;
+    }
+
+    long payloadBytes() {
+        return payloadBytes;
+    }
+
+    long encodeOrBuildNs() {
+        return encodeOrBuildNs;
+    }
+
+    long decodeOrSplitNs() {
+        return decodeOrSplitNs;
+    }
+
+    long parseNs() {
+        return parseNs;
+    }
+
+    double consumerLagRecords() {
+        return consumerLagRecords;
+    }
+
+    double uptimeSeconds() {
+        return (System.nanoTime() - startNs) / 1_000_000_000.0;
+    }
+}
@@ -0,0 +1,136 @@
+package com.benchmark.shared.runner;
+
+import com.sun.management.OperatingSystemMXBean;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Prometheus text exposition of {@link LiveMetrics} plus GC, heap pool and JIT counters on
+ * {@code GET /metrics}, served by the JDK built-in HTTP server.
+ */
+final class MetricsHttpServer {
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final HttpServer server;
+    private final String labels;
+    private final LiveMetrics live;
+    private final OperatingSystemMXBean osBean;
+
+    private MetricsHttpServer(HttpServer server, String scenario, String role, LiveMetrics live,
+            OperatingSystemMXBean osBean) {
+        this.server = server;
+        this.labels = "scenario=\"" + scenario + "\",role=\"" + role + "\"";
+        this.live = live;
+        this.osBean = osBean;
+    }
+
+    static MetricsHttpServer start(int port, String scenario, String role, LiveMetrics live,
+            OperatingSystemMXBean osBean) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(port), 0);
+        MetricsHttpServer metricsServer = new MetricsHttpServer(server, scenario, role, live, osBean);
+        server.createContext("/metrics", metricsServer::handle);
+        server.start();
+        System.out.println("Metrics endpoint listening on :" + port + "/metrics");
+        return metricsServer;
+    }
+
+    void stop() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            byte[] body = render().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private String render() {
+        StringBuilder out = new StringBuilder(4096);
+
+        header(out, "benchmark_records_processed_total", "counter", "Records produced or consumed by this role.");
+        sample(out, "benchmark_records_processed_total", "", live.recordsProcessed());
+        header(out, "benchmark_payload_bytes_total", "counter", "Payload bytes produced or consumed by this role.");
+        sample(out, "benchmark_payload_bytes_total", "", live.payloadBytes());
+
+        header(out, "benchmark_phase_seconds_total", "counter", "Estimated time spent per phase.");
+        sample(out, "benchmark_phase_seconds_total", ",phase=\"encode_or_build\"", live.encodeOrBuildNs() / 1e9);
+        sample(out, "benchmark_phase_seconds_total", ",phase=\"decode_or_split\"", live.decodeOrSplitNs() / 1e9);
+        sample(out, "benchmark_phase_seconds_total", ",phase=\"parse_selected_or_full\"", live.parseNs() / 1e9);
+
+        double lag = live.consumerLagRecords();
+        if (!Double.isNaN(lag)) {
+            header(out, "benchmark_consumer_lag_records", "gauge", "Max partition lag seen by the consumer.");
+            sample(out, "benchmark_consumer_lag_records", "", lag);
+        }
+
+        header(out, "benchmark_uptime_seconds", "gauge", "Seconds since the role started.");
+        sample(out, "benchmark_uptime_seconds", "", live.uptimeSeconds());
+
+        header(out, "process_cpu_seconds_total", "counter", "Process CPU time.");
+        sample(out, "process_cpu_seconds_total", "", Math.max(0L, osBean.getProcessCpuTime()) / 1e9);
+
+        header(out, "jvm_gc_collections_total", "counter", "GC collections per collector.");
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            sample(out, "jvm_gc_collections_total", gcLabel(gc), Math.max(0L, gc.getCollectionCount()));
+        }
+        header(out, "jvm_gc_collection_seconds_total", "counter", "GC time per collector.");
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            sample(out, "jvm_gc_collection_seconds_total", gcLabel(gc), Math.max(0L, gc.getCollectionTime()) / 1e3);
+        }
+
+        header(out, "jvm_memory_pool_used_bytes", "gauge", "Used bytes per memory pool (old gen growth).");
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            sample(out, "jvm_memory_pool_used_bytes", ",pool=\"" + escape(pool.getName()) + "\"",
+                    pool.getUsage().getUsed());
+        }
+
+        CompilationMXBean jit = ManagementFactory.getCompilationMXBean();
+        if (jit != null && jit.isCompilationTimeMonitoringSupported()) {
+            header(out, "jvm_jit_compilation_seconds_total", "counter", "Accumulated JIT compilation time.");
+            sample(out, "jvm_jit_compilation_seconds_total", "", jit.getTotalCompilationTime() / 1e3);
+        }
+
+        return out.toString();
+    }
+
+    private void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private void sample(StringBuilder out, String name, String extraLabels, double value) {
+        out.append(name).append('{').append(labels).append(extraLabels).append("} ").append(value).append('\n');
+    }
+
+    private void sample(StringBuilder out, String name, String extraLabels, long value) {
+        out.append(name).append('{').append(labels).append(extraLabels).append("} ").append(value).append('\n');
+    }
+
+    private static String gcLabel(GarbageCollectorMXBean gc) {
+        return ",gc=\"" + escape(gc.getName()) + "\"";
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
@@ -0,0 +1,122 @@
+package com.benchmark.shared.runner;
+
+import org.apache.kafka.clients.producer.Callback;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop send schedule at a target rate. Every record has an intended send time that does not
+ * move when the system falls behind, so latencies measured from it include queueing delay
+ * (no coordinated omission). Ack callbacks run on the single producer I/O thread.
+ */
+final class OpenLoopPacer {
+
+    private static final long PARK_THRESHOLD_NS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long SPIN_MARGIN_NS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long ARRIVAL_SEED = 42L;
+
+    private final double targetRatePerSec;
+    private final Arrivals arrivals;
+    private final double meanIntervalNs;
+    private final SplittableRandom random = new SplittableRandom(ARRIVAL_SEED);
+    private final long startNs;
+    private final long startEpochMicros;
+    private final LatencyHistogram sendLag = new LatencyHistogram();
+    private final LatencyHistogram ackLatency = new LatencyHistogram();
+    private double nextOffsetNs;
+    private long failedSends;
+
+    OpenLoopPacer(double targetRatePerSec, Arrivals arrivals) {
+        if (targetRatePerSec <= 0.0) {
+            throw new IllegalArgumentException("PRODUCER_TARGET_RATE must be > 0: " + targetRatePerSec);
+        }
+        this.targetRatePerSec = targetRatePerSec;
+        this.arrivals = arrivals;
+        this.meanIntervalNs = 1_000_000_000.0 / targetRatePerSec;
+        this.startNs = System.nanoTime();
+        this.startEpochMicros = E2eLatencyTracker.nowEpochMicros();
+    }
+
+    long nextIntendedNs() {
+        long intendedNs = startNs + (long) nextOffsetNs;
+        nextOffsetNs += arrivals == Arrivals.POISSON
+                ? -Math.log(1.0 - random.nextDouble()) * meanIntervalNs
+                : meanIntervalNs;
+        return intendedNs;
+    }
+
+    void awaitUntil(long intendedNs) {
+        long remainingNs;
+        while ((remainingNs = intendedNs - System.nanoTime()) > 0L) {
+            if (remainingNs > PARK_THRESHOLD_NS) {
+                LockSupport.parkNanos(remainingNs - SPIN_MARGIN_NS);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+        sendLag.record(TimeUnit.NANOSECONDS.toMicros(-remainingNs));
+    }
+
+    long epochMicrosAt(long intendedNs) {
+        return startEpochMicros + TimeUnit.NANOSECONDS.toMicros(intendedNs - startNs);
+    }
+
+    Callback ackCallback(long intendedNs) {
+        return (metadata, exception) -> {
+            if (exception != null) {
+                failedSends++;
+                return;
+            }
+            ackLatency.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedNs));
+        };
+    }
+
+    /**
+     * Call after {@code producer.flush()}, which orders all callbacks before this read.
+     */
+    void checkNoFailedSends() {
+        if (failedSends > 0L) {
+            throw new IllegalStateException("Open-loop producer had failed sends: " + failedSends);
+        }
+    }
+
+    Map<String, String> summary(long sent) {
+        double elapsedSec = (System.nanoTime() - startNs) / 1_000_000_000.0;
+        Map<String, String> summary = new LinkedHashMap<>();
+        summary.put("open_loop_target_rate_rec_per_sec", String.format("%.4f", targetRatePerSec));
+        summary.put("open_loop_arrivals", arrivals.value);
+        summary.put("open_loop_achieved_rate_rec_per_sec",
+                String.format("%.4f", elapsedSec > 0.0 ? sent / elapsedSec : 0.0));
+        summary.put("open_loop_send_lag_p99_us", Long.toString(sendLag.valueAtPercentile(99.0)));
+        summary.put("open_loop_send_lag_max_us", Long.toString(sendLag.max()));
+        summary.put("open_loop_ack_latency_p50_us", Long.toString(ackLatency.valueAtPercentile(50.0)));
+        summary.put("open_loop_ack_latency_p99_us", Long.toString(ackLatency.valueAtPercentile(99.0)));
+        summary.put("open_loop_ack_latency_p999_us", Long.toString(ackLatency.valueAtPercentile(99.9)));
+        summary.put("open_loop_ack_latency_max_us", Long.toString(ackLatency.max()));
+        return summary;
+    }
+
+    enum Arrivals {
+        CONSTANT("constant"),
+        POISSON("poisson");
+
+        private final String value;
+
+        Arrivals(String value) {
+            this.value = value;
+        }
+
+        static Arrivals from(String value) {
+            for (Arrivals arrivals : values()) {
+                if (arrivals.value.equals(value)) {
+                    return arrivals;
+                }
+            }
+            throw new IllegalArgumentException("Unknown PRODUCER_ARRIVALS: " + value);
+        }
+    }
+}
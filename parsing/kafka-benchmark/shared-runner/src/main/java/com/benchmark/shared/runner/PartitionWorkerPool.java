@@ -0,0 +1,99 @@
+package com.benchmark.shared.runner;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Threads for the per-partition consumer: one task per assigned partition. Virtual threads need
+ * Java 21 while the modules build for 17, so the executor is looked up reflectively; asking for
+ * them on an older JVM (or 19/20 without preview) fails instead of quietly measuring platform
+ * threads under the virtual label.
+ */
+final class PartitionWorkerPool implements AutoCloseable {
+
+    enum ThreadKind {
+        VIRTUAL("virtual"),
+        PLATFORM("platform");
+
+        private final String value;
+
+        ThreadKind(String value) {
+            this.value = value;
+        }
+
+        String value() {
+            return value;
+        }
+
+        static ThreadKind from(String value) {
+            for (ThreadKind kind : values()) {
+                if (kind.value.equals(value)) {
+                    return kind;
+                }
+            }
+            throw new IllegalArgumentException("Unknown CONSUMER_THREAD_KIND: " + value);
+        }
+    }
+
+    private final ExecutorService executor;
+    private final ThreadKind kind;
+
+    private PartitionWorkerPool(ExecutorService executor, ThreadKind kind) {
+        this.executor = executor;
+        this.kind = kind;
+    }
+
+    static PartitionWorkerPool create(ThreadKind requested, int workers) {
+        if (requested == ThreadKind.VIRTUAL) {
+            return new PartitionWorkerPool(virtualThreadPerTaskExecutor(), ThreadKind.VIRTUAL);
+        }
+
+        AtomicInteger index = new AtomicInteger();
+        ExecutorService platform = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "partition-worker-" + index.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        return new PartitionWorkerPool(platform, ThreadKind.PLATFORM);
+    }
+
+    /**
+     * Checked while reading the config, so a JVM without virtual threads fails before the role
+     * waits for Kafka rather than after.
+     */
+    static void requireAvailable(ThreadKind kind) {
+        if (kind == ThreadKind.VIRTUAL) {
+            virtualThreadPerTaskExecutor().shutdown();
+        }
+    }
+
+    ThreadKind kind() {
+        return kind;
+    }
+
+    <T> Future<T> submit(Callable<T> task) {
+        return executor.submit(task);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    private static ExecutorService virtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException | InvocationTargetException ex) {
+            throw new IllegalStateException("CONSUMER_THREAD_KIND=virtual needs Java 21+, running on Java "
+                    + Runtime.version().feature() + "; use a Java 21 runtime or CONSUMER_THREAD_KIND=platform", ex);
+        } catch (IllegalAccessException ex) {
+            throw new IllegalStateException("Cannot create virtual thread executor", ex);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.benchmark.shared.runner;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("com.benchmark.PhaseCompleted")
+@Label("Phase Completed")
+@Category({"Benchmark", "Kafka"})
+@StackTrace(false)
+final class PhaseCompletedEvent extends jdk.jfr.Event {
+
+    @Label("Scenario")
+    String scenario;
+
+    @Label("Role")
+    String role;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Phase Total")
+    @Timespan(Timespan.MILLISECONDS)
+    long totalMs;
+
+    @Label("Records")
+    long records;
+
+    static void emit(String scenario, String role, String phase, long totalMs, long records) {
+        PhaseCompletedEvent event = new PhaseCompletedEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        event.scenario = scenario;
+        event.role = role;
+        event.phase = phase;
+        event.totalMs = totalMs;
+        event.records = records;
+        event.commit();
+    }
+}
@@ -0,0 +1,90 @@
+package com.benchmark.shared.runner;
+
+/**
+ * Chooses which records get phase timers and turns the sampled nanos into a role-wide estimate.
+ * Gaps between sampled records are drawn uniformly from {@code [1, 2N - 1]} so the sample does
+ * not lock onto periodic data. The timer cost is calibrated once and subtracted per interval.
+ */
+final class PhaseSampler {
+
+    private static final int CALIBRATION_WARMUP_ROUNDS = 50_000;
+    private static final int CALIBRATION_ROUNDS = 200_000;
+
+    private static volatile long calibrationSink;
+
+    private final boolean enabled;
+    private final int sampleEvery;
+    private final double timerOverheadNs;
+    private long randomState = 0x9E3779B97F4A7C15L;
+    private int countdown;
+    private long sampledRecords;
+
+    PhaseSampler(boolean enabled, int sampleEvery) {
+        if (sampleEvery < 1) {
+            throw new IllegalArgumentException("PHASE_SAMPLE_EVERY must be >= 1: " + sampleEvery);
+        }
+        this.enabled = enabled;
+        this.sampleEvery = sampleEvery;
+        this.timerOverheadNs = enabled ? calibrateTimerOverheadNs() : 0.0;
+        // The first gap is drawn too; always sampling record 1 would scale its cold-start time by N.
+        this.countdown = nextGap();
+    }
+
+    boolean sampleNext() {
+        if (!enabled || --countdown > 0) {
+            return false;
+        }
+
+        countdown = nextGap();
+        sampledRecords++;
+        return true;
+    }
+
+    long estimateTotalNs(long measuredNs, long intervals, long records) {
+        if (sampledRecords == 0L) {
+            return 0L;
+        }
+
+        double corrected = Math.max(0.0, measuredNs - intervals * timerOverheadNs);
+        return Math.round(corrected * records / sampledRecords);
+    }
+
+    int sampleEvery() {
+        return sampleEvery;
+    }
+
+    long sampledRecords() {
+        return sampledRecords;
+    }
+
+    double timerOverheadNs() {
+        return timerOverheadNs;
+    }
+
+    private int nextGap() {
+        if (sampleEvery == 1) {
+            return 1;
+        }
+
+        randomState ^= randomState << 13;
+        randomState ^= randomState >>> 7;
+        randomState ^= randomState << 17;
+        return 1 + (int) Long.remainderUnsigned(randomState, 2L * sampleEvery - 1L);
+    }
+
+    private static double calibrateTimerOverheadNs() {
+        long sink = 0L;
+        for (int i = 0; i < CALIBRATION_WARMUP_ROUNDS; i++) {
+            sink ^= System.nanoTime();
+        }
+
+        long startNs = System.nanoTime();
+        for (int i = 0; i < CALIBRATION_ROUNDS; i++) {
+            sink ^= System.nanoTime();
+        }
+        long elapsedNs = System.nanoTime() - startNs;
+
+        calibrationSink ^= sink;
+        return elapsedNs / (double) CALIBRATION_ROUNDS;
+    }
+}
@@ -0,0 +1,40 @@
+package com.benchmark.shared.runner;
+
+import com.benchmark.shared.DataProfile;
+
+/**
+ * How a codec builds producer payloads. {@code full} encodes every field per record,
+ * {@code incremental} encodes the static fields once and only writes {@code long_0} (the sequence)
+ * per record. Incremental encoding needs the {@code static} data profile.
+ */
+public enum ProducerEncodeMode {
+    FULL("full"),
+    INCREMENTAL("incremental");
+
+    private final String value;
+
+    ProducerEncodeMode(String value) {
+        this.value = value;
+    }
+
+    public String value() {
+        return value;
+    }
+
+    public static ProducerEncodeMode from(String value) {
+        for (ProducerEncodeMode mode : values()) {
+            if (mode.value.equals(value)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Unknown PRODUCER_ENCODE_MODE: " + value);
+    }
+
+    public boolean incremental(DataProfile profile) {
+        if (this == INCREMENTAL && !profile.isStatic()) {
+            throw new IllegalArgumentException(
+                    "PRODUCER_ENCODE_MODE=incremental requires DATA_PROFILE=static: " + profile.kind());
+        }
+        return this == INCREMENTAL;
+    }
+}
@@ -0,0 +1,53 @@
+package com.benchmark.shared.runner;
+
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Format plug-in for {@link ScenarioRunner}. The runner owns Kafka wiring, timing and metrics;
+ * a codec only turns a sequence into a payload and a payload back into a sink value. An instance
+ * is only used by one thread; the per-partition consumer asks the factory for one per partition.
+ */
+public interface RecordCodec<P> {
+
+    Class<? extends Serializer<P>> serializerClass();
+
+    Class<? extends Deserializer<P>> deserializerClass();
+
+    int payloadSize(P payload);
+
+    P encodeFull(long sequence) throws IOException;
+
+    long decodeSelected(P payload, DecodeContext context) throws IOException;
+
+    long decodeFull(P payload, DecodeContext context) throws IOException;
+
+    /**
+     * Whether the format can carry {@code fault} at all (text numbers, varints, strings in the
+     * profile). Asked once per kind when the producer builds its fault plan.
+     */
+    default boolean supportsFault(RecordFault fault) {
+        return false;
+    }
+
+    /**
+     * Payload for {@code sequence} with {@code fault} injected, used by the producer with
+     * {@code FAULT_RATE_PERCENT}. Only called for kinds {@link #supportsFault} accepts; returns
+     * {@code null} when this record has nothing to corrupt (every string empty, every varint
+     * field at its default), and the record is then sent clean.
+     */
+    default P encodeFaulty(long sequence, RecordFault fault) throws IOException {
+        return null;
+    }
+
+    /**
+     * Codec-specific counters collected during the run. Keys are written to the role metrics
+     * file with a {@code codec_} prefix.
+     */
+    default Map<String, Long> codecMetrics() {
+        return Map.of();
+    }
+}
@@ -0,0 +1,26 @@
+package com.benchmark.shared.runner;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.benchmark.RecordDecoded")
+@Label("Record Decoded")
+@Category({"Benchmark", "Kafka"})
+@Enabled(false)
+@StackTrace(false)
+final class RecordDecodedEvent extends jdk.jfr.Event {
+
+    @Label("Role")
+    String role;
+
+    @Label("Offset")
+    long offset;
+
+    @Label("Payload Size")
+    @DataAmount
+    int payloadBytes;
+}
@@ -0,0 +1,42 @@
+package com.benchmark.shared.runner;
+
+/**
+ * What is wrong with a record. The first four are injected by the producer with
+ * {@code FAULT_KINDS}; {@code malformed} is only a reject reason for structural damage a codec
+ * cannot attribute more precisely (bad template id, dictionary ref without a definition).
+ */
+public enum RecordFault {
+    TRUNCATED("truncated"),
+    NON_NUMERIC("non-numeric"),
+    BAD_UTF8("bad-utf8"),
+    BAD_VARINT("bad-varint"),
+    MALFORMED("malformed");
+
+    private final String value;
+
+    RecordFault(String value) {
+        this.value = value;
+    }
+
+    public String value() {
+        return value;
+    }
+
+    boolean injectable() {
+        return this != MALFORMED;
+    }
+
+    String metricSuffix() {
+        return value.replace('-', '_');
+    }
+
+    static RecordFault from(String value) {
+        for (RecordFault fault : values()) {
+            if (fault.value.equals(value) && fault.injectable()) {
+                return fault;
+            }
+        }
+        throw new IllegalArgumentException("Unknown FAULT_KINDS entry: " + value
+                + " (truncated|non-numeric|bad-utf8|bad-varint)");
+    }
+}
@@ -0,0 +1,115 @@
+package com.benchmark.shared.runner;
+
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Consumer-side record validation. {@code catch} wraps every decode in a try/catch, so a bad record
+ * costs an exception instead of the role; {@code on} additionally lets codecs run their own checks
+ * ({@link DecodeContext#validating()}) and report bad records through {@link DecodeContext#reject}
+ * without throwing. Either way the record's sink value is 0 and its bytes go to the
+ * {@link DeadLetterSink}; a String payload is re-encoded by its serializer, so invalid bytes that
+ * the deserializer already replaced reach the dead-letter path as U+FFFD.
+ */
+final class RecordValidator<P> {
+
+    enum Mode {
+        OFF("off"),
+        CATCH("catch"),
+        ON("on");
+
+        private final String value;
+
+        Mode(String value) {
+            this.value = value;
+        }
+
+        String value() {
+            return value;
+        }
+
+        static Mode from(String value) {
+            for (Mode mode : values()) {
+                if (mode.value.equals(value)) {
+                    return mode;
+                }
+            }
+            throw new IllegalArgumentException("Unknown RECORD_VALIDATION: " + value);
+        }
+    }
+
+    private final RecordCodec<P> codec;
+    private final Serializer<P> serializer;
+    private final String topic;
+    private final DeadLetterSink deadLetter;
+    private final long[] rejected = new long[RecordFault.values().length];
+    private final Map<String, Long> exceptions = new TreeMap<>();
+    private long valid;
+
+    RecordValidator(RecordCodec<P> codec, String topic, DeadLetterSink deadLetter) throws Exception {
+        this.codec = codec;
+        this.serializer = codec.serializerClass().getDeclaredConstructor().newInstance();
+        this.topic = topic;
+        this.deadLetter = deadLetter;
+    }
+
+    long decode(P payload, boolean selected, DecodeContext context) throws IOException {
+        long value;
+        try {
+            value = selected ? codec.decodeSelected(payload, context) : codec.decodeFull(payload, context);
+        } catch (IOException | RuntimeException ex) {
+            String name = ex.getClass().getSimpleName();
+            exceptions.merge(name, 1L, Long::sum);
+            deadLetter.write(serializer.serialize(topic, payload), "exception:" + name);
+            return 0L;
+        }
+
+        RecordFault fault = context.rejectedFault();
+        if (fault != null) {
+            rejected[fault.ordinal()]++;
+            deadLetter.write(serializer.serialize(topic, payload), fault.value());
+            return 0L;
+        }
+        valid++;
+        return value;
+    }
+
+    /**
+     * Adds the counts of a per-partition worker's validator; the dead-letter sink is shared.
+     */
+    void merge(RecordValidator<P> other) {
+        valid += other.valid;
+        for (int i = 0; i < rejected.length; i++) {
+            rejected[i] += other.rejected[i];
+        }
+        other.exceptions.forEach((name, count) -> exceptions.merge(name, count, Long::sum));
+    }
+
+    Map<String, String> summary(Mode mode) {
+        long rejectedTotal = 0L;
+        for (long count : rejected) {
+            rejectedTotal += count;
+        }
+        long exceptionTotal = 0L;
+        for (long count : exceptions.values()) {
+            exceptionTotal += count;
+        }
+
+        Map<String, String> summary = new LinkedHashMap<>();
+        summary.put("validation_mode", mode.value());
+        summary.put("validation_valid_records", Long.toString(valid));
+        summary.put("validation_invalid_records", Long.toString(rejectedTotal + exceptionTotal));
+        summary.put("validation_rejected_records", Long.toString(rejectedTotal));
+        for (RecordFault fault : RecordFault.values()) {
+            summary.put("validation_rejected_" + fault.metricSuffix(), Long.toString(rejected[fault.ordinal()]));
+        }
+        summary.put("validation_exception_records", Long.toString(exceptionTotal));
+        exceptions.forEach((name, count) -> summary.put("validation_exception_" + name, Long.toString(count)));
+        summary.putAll(deadLetter.summary());
+        return summary;
+    }
+}
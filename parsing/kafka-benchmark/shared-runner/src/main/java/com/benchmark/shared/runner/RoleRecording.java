@@ -0,0 +1,48 @@
+package com.benchmark.shared.runner;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+/**
+ * Per-role JFR recording: a built-in settings profile plus the benchmark events, dumped to a
+ * {@code .jfr} file next to the role metrics.
+ */
+final class RoleRecording {
+
+    private final Recording recording;
+
+    private RoleRecording(Recording recording) {
+        this.recording = recording;
+    }
+
+    static RoleRecording start(String settings, boolean recordDecodedEvents) throws IOException {
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings);
+        } catch (ParseException ex) {
+            throw new IOException("Invalid JFR settings: " + settings, ex);
+        }
+
+        Recording recording = new Recording(configuration);
+        recording.setName("benchmark-role");
+        recording.enable(BatchPolledEvent.class);
+        recording.enable(PhaseCompletedEvent.class);
+        if (recordDecodedEvents) {
+            recording.enable(RecordDecodedEvent.class);
+        }
+        recording.start();
+        return new RoleRecording(recording);
+    }
+
+    void stopAndDump(Path file) throws IOException {
+        recording.stop();
+        Files.createDirectories(file.getParent());
+        recording.dump(file);
+        recording.close();
+    }
+}
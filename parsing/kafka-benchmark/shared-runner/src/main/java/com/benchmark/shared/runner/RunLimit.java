@@ -0,0 +1,68 @@
+package com.benchmark.shared.runner;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * When a role stops: after a fixed record count, or in soak mode after a duration (0 = until the
+ * container is stopped). In soak mode a shutdown hook lets the loop finish and write its metrics.
+ */
+final class RunLimit {
+
+    private static final long SHUTDOWN_GRACE_SECONDS = 30L;
+
+    private final boolean soak;
+    private final long recordCount;
+    private final long deadlineNs;
+    private final CountDownLatch finished = new CountDownLatch(1);
+    private volatile boolean stopRequested;
+
+    private RunLimit(boolean soak, long recordCount, long deadlineNs) {
+        this.soak = soak;
+        this.recordCount = recordCount;
+        this.deadlineNs = deadlineNs;
+    }
+
+    static RunLimit records(long recordCount) {
+        return new RunLimit(false, recordCount, 0L);
+    }
+
+    static RunLimit soak(long durationSeconds) {
+        long deadlineNs = durationSeconds > 0
+                ? System.nanoTime() + TimeUnit.SECONDS.toNanos(durationSeconds)
+                : 0L;
+        RunLimit limit = new RunLimit(true, Long.MAX_VALUE, deadlineNs);
+        Runtime.getRuntime().addShutdownHook(new Thread(limit::stopAndAwait, "soak-shutdown"));
+        return limit;
+    }
+
+    /**
+     * Cheap per-record check; soak deadlines are only evaluated by {@link #keepRunning(long)}.
+     */
+    boolean acceptsMore(long processed) {
+        return soak ? !stopRequested : processed < recordCount;
+    }
+
+    boolean keepRunning(long processed) {
+        if (!soak) {
+            return processed < recordCount;
+        }
+        if (deadlineNs != 0L && System.nanoTime() - deadlineNs >= 0L) {
+            stopRequested = true;
+        }
+        return !stopRequested;
+    }
+
+    void finished() {
+        finished.countDown();
+    }
+
+    private void stopAndAwait() {
+        stopRequested = true;
+        try {
+            finished.await(SHUTDOWN_GRACE_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.benchmark.shared.runner;
+
+public record ScenarioDefinition(
+        String name,
+        String defaultTopic,
+        String consumer1GroupId,
+        String consumer2GroupId
+) {
+}
@@ -0,0 +1,1624 @@
+package com.benchmark.shared.runner;
+
+import com.benchmark.shared.DataProfile;
+import com.sun.management.OperatingSystemMXBean;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.TopicExistsException;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+public final class ScenarioRunner {
+
+    private static final int DEFAULT_RECORD_COUNT = 1_000_000;
+    private static final int DEFAULT_POLL_TIMEOUT_MS = 200;
+    private static final int DEFAULT_METRICS_PORT = 9404;
+    private static final int REPLAY_BATCH_RECORDS = 1000;
+    private static final long CDS_TRAINING_RECORDS = 20_000L;
+    private static final String CDS_TRAINING_BOOTSTRAP = "localhost:9092";
+
+    private static volatile long SINK = 0L;
+
+    private ScenarioRunner() {
+    }
+
+    public static String setting(String envKey, String propKey, String defaultValue) throws IOException {
+        return Config.readValue(Config.loadProperties(), envKey, propKey, defaultValue);
+    }
+
+    public static DataProfile dataProfile() throws IOException {
+        Properties props = Config.loadProperties();
+        return DataProfile.create(
+                Config.readValue(props, "DATA_PROFILE", "benchmark.data.profile", "static"),
+                Integer.parseInt(Config.readValue(
+                        props,
+                        "DATA_FIELD_COUNT",
+                        "benchmark.data.field.count",
+                        Integer.toString(DataProfile.BASE_FIELDS)
+                )),
+                Long.parseLong(Config.readValue(props, "DATA_SEED", "benchmark.data.seed", "42")),
+                Integer.parseInt(Config.readValue(props, "DATA_SPARSE_PERCENT", "benchmark.data.sparse.percent", "30"))
+        );
+    }
+
+    public static ProducerEncodeMode producerEncodeMode() throws IOException {
+        return ProducerEncodeMode.from(setting(
+                "PRODUCER_ENCODE_MODE",
+                "benchmark.producer.encode.mode",
+                ProducerEncodeMode.FULL.value()
+        ));
+    }
+
+    public static <P> void run(ScenarioDefinition scenario, Supplier<? extends RecordCodec<P>> codecFactory)
+            throws Exception {
+        Config config = Config.load(scenario);
+        if (config.role == Role.CDS_TRAINING) {
+            trainClassArchive(config, codecFactory);
+            return;
+        }
+        RecordCodec<P> codec = codecFactory.get();
+        RoleRecording recording = config.jfrRecordingEnabled
+                ? RoleRecording.start(config.jfrSettings, config.jfrRecordDecodedEvents)
+                : null;
+        RunLimit limit = config.soakEnabled
+                ? RunLimit.soak(config.soakDurationSeconds)
+                : RunLimit.records(config.recordCount);
+        LiveMetrics live = new LiveMetrics();
+        MetricsHttpServer metricsServer = config.metricsHttpEnabled || config.soakEnabled
+                ? MetricsHttpServer.start(config.metricsPort, scenario.name(), config.role.value, live,
+                        getOperatingSystemMxBean())
+                : null;
+
+        long warmupMs = 0L;
+        if (config.warmupRecords > 0 && config.role != Role.CAPTURE) {
+            long warmupStartNs = System.nanoTime();
+            warmUp(config, codecFactory.get(), config.role, config.warmupRecords);
+            warmupMs = nanosToMillis(System.nanoTime() - warmupStartNs);
+        }
+        StartupTracker startup = new StartupTracker(config.warmupRecords, warmupMs,
+                config.recordCount * config.steadyStateSkipPercent / 100L);
+        DeadLetterSink deadLetter = config.validation != RecordValidator.Mode.OFF
+                && (config.role == Role.CONSUMER_1 || config.role == Role.CONSUMER_2)
+                ? openDeadLetter(scenario, config)
+                : null;
+
+        try {
+            RoleMetrics metrics;
+            if (config.role == Role.PRODUCER) {
+                LiveMetrics producerLive = metricsServer != null ? live : null;
+                metrics = runMeasured(scenario, config, startup,
+                        () -> runProducer(config, codec, limit, producerLive, startup));
+            } else if (config.role == Role.CAPTURE) {
+                metrics = runMeasured(scenario, config, startup,
+                        () -> runCapture(scenario, config, limit, live, startup));
+            } else if (config.replay) {
+                boolean selected = config.role == Role.CONSUMER_1;
+                metrics = runMeasured(scenario, config, startup,
+                        () -> runReplayConsumer(scenario, config, codec, selected, limit, live, startup, deadLetter));
+            } else if (config.perPartitionConsumer) {
+                boolean selected = config.role == Role.CONSUMER_1;
+                metrics = runMeasured(scenario, config, startup,
+                        () -> runPerPartitionConsumer(config, codec, codecFactory, selected, limit, live, startup,
+                                deadLetter));
+            } else if (config.role == Role.CONSUMER_1) {
+                metrics = runMeasured(scenario, config, startup,
+                        () -> runConsumer(config, codec, true, limit, live, startup, deadLetter));
+            } else {
+                metrics = runMeasured(scenario, config, startup,
+                        () -> runConsumer(config, codec, false, limit, live, startup, deadLetter));
+            }
+
+            if (recording != null) {
+                recording.stopAndDump(Path.of(config.metricsDir).resolve(config.role.fileStem() + "_recording.jfr"));
+            }
+            writeMetricsFile(config, metrics);
+            System.out.println("METRICS " + metrics.toSingleLine());
+        } finally {
+            if (deadLetter != null) {
+                deadLetter.close();
+            }
+            if (metricsServer != null) {
+                metricsServer.stop();
+            }
+            limit.finished();
+        }
+    }
+
+    /**
+     * Dead-letter target of a validating consumer: {@code <role>_dead_letter} capture segments under
+     * {@code METRICS_DIR}, the {@code <topic>_DLQ} topic, or none.
+     */
+    private static DeadLetterSink openDeadLetter(ScenarioDefinition scenario, Config config) throws Exception {
+        switch (config.deadLetter) {
+            case FILE:
+                Path dir = Path.of(config.metricsDir).resolve(config.role.fileStem() + "_dead_letter");
+                return DeadLetterSink.file(dir, config.captureSegmentBytes, scenario.name(), config.topicName);
+            case TOPIC:
+                waitForKafka(config.bootstrapServers);
+                ensureTopicExists(config.bootstrapServers, config.topicName + DeadLetterSink.TOPIC_SUFFIX, 1);
+                return DeadLetterSink.topic(config.bootstrapServers, config.topicName, config.role.value);
+            default:
+                return DeadLetterSink.none();
+        }
+    }
+
+    private static RoleMetrics runMeasured(
+            ScenarioDefinition scenario,
+            Config config,
+            StartupTracker startup,
+            ProcessingRole processingRole
+    ) throws Exception {
+        OperatingSystemMXBean osBean = getOperatingSystemMxBean();
+        CpuSampler sampler = new CpuSampler(osBean);
+
+        long startEpochMs = System.currentTimeMillis();
+        long wallStartNs = System.nanoTime();
+        long cpuStartNs = Math.max(0L, osBean.getProcessCpuTime());
+        GcActivityTracker gcTracker = GcActivityTracker.start();
+        startup.start();
+        sampler.start();
+
+        ProcessResult result = processingRole.process();
+        emitPhaseEvents(scenario, config, result);
+
+        long wallEndNs = System.nanoTime();
+        long cpuEndNs = Math.max(0L, osBean.getProcessCpuTime());
+        long endEpochMs = System.currentTimeMillis();
+        Map<String, String> extraMetrics = new LinkedHashMap<>(result.extraMetrics);
+        extraMetrics.putAll(gcTracker.stop());
+        extraMetrics.putAll(startup.summary(result.recordsProcessed));
+
+        long wallTimeMs = nanosToMillis(wallEndNs - wallStartNs);
+        long processCpuTimeMs = nanosToMillis(cpuEndNs - cpuStartNs);
+        CpuSnapshot cpuSnapshot = sampler.stop(processCpuTimeMs, wallTimeMs);
+
+        double throughput = wallTimeMs > 0
+                ? (result.recordsProcessed * 1000.0) / wallTimeMs
+                : 0.0;
+
+        double avgPayloadBytes = result.recordsProcessed > 0
+                ? result.payloadStats.totalPayloadBytes / (double) result.recordsProcessed
+                : 0.0;
+
+        return new RoleMetrics(
+                scenario.name(),
+                config.role.value,
+                startEpochMs,
+                endEpochMs,
+                result.recordsProcessed,
+                processCpuTimeMs,
+                cpuSnapshot.avgProcessCpuPct,
+                cpuSnapshot.maxProcessCpuPct,
+                wallTimeMs,
+                throughput,
+                result.payloadStats.totalPayloadBytes,
+                avgPayloadBytes,
+                result.payloadStats.minPayloadBytes,
+                result.payloadStats.maxPayloadBytes,
+                result.phaseStats.encodeOrBuildMs,
+                result.phaseStats.decodeOrSplitMs,
+                result.phaseStats.parseSelectedOrFullMs,
+                result.phaseStats.roleTotalLoopMs,
+                result.phaseStats.sampleEvery,
+                result.phaseStats.sampledRecords,
+                result.phaseStats.timerOverheadNs,
+                result.objectStats.objectCreateCount,
+                result.objectStats.objectEncodeCount,
+                result.objectStats.objectDecodeCount,
+                result.objectStats.objectSkipCount,
+                extraMetrics,
+                result.codecMetrics
+        );
+    }
+
+    /**
+     * Untimed warmup before the measured window: a throwaway codec instance runs the role's own path
+     * (encode and serialize for the producer, plus deserialize and decode for consumers) over locally
+     * encoded records, so the topic and the measured codec's state are not touched.
+     */
+    private static <P> void warmUp(Config config, RecordCodec<P> codec, Role role, long records) throws Exception {
+        DecodeContext context = new DecodeContext(new PhaseSampler(false, 1),
+                config.validation == RecordValidator.Mode.ON);
+        long localSink = 0L;
+        try (Serializer<P> serializer = codec.serializerClass().getDeclaredConstructor().newInstance();
+             Deserializer<P> deserializer = codec.deserializerClass().getDeclaredConstructor().newInstance()) {
+            for (long sequence = 1L; sequence <= records; sequence++) {
+                byte[] bytes = serializer.serialize(config.topicName, codec.encodeFull(sequence));
+                if (role == Role.PRODUCER) {
+                    localSink += bytes.length;
+                    continue;
+                }
+                P payload = deserializer.deserialize(config.topicName, bytes);
+                context.beginRecord();
+                localSink += role == Role.CONSUMER_1
+                        ? codec.decodeSelected(payload, context)
+                        : codec.decodeFull(payload, context);
+            }
+        }
+        SINK ^= localSink;
+    }
+
+    /**
+     * Training run for the image's AppCDS archive (started with {@code -XX:ArchiveClassesAtExit}):
+     * loads the Kafka client classes without a broker and runs every role's codec path, then exits.
+     */
+    private static <P> void trainClassArchive(Config config, Supplier<? extends RecordCodec<P>> codecFactory)
+            throws Exception {
+        RecordCodec<P> codec = codecFactory.get();
+        long records = config.warmupRecords > 0 ? config.warmupRecords : CDS_TRAINING_RECORDS;
+        for (Role role : List.of(Role.PRODUCER, Role.CONSUMER_1, Role.CONSUMER_2)) {
+            warmUp(config, codecFactory.get(), role, records);
+        }
+
+        // The image build has no broker (or DNS for it); clients are only constructed and closed.
+        Properties producerProps = new Properties();
+        producerProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, CDS_TRAINING_BOOTSTRAP);
+        producerProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
+        producerProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, codec.serializerClass().getName());
+        new KafkaProducer<String, P>(producerProps).close(Duration.ZERO);
+        Properties consumerProps = consumerProperties(config, codec.deserializerClass());
+        consumerProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, CDS_TRAINING_BOOTSTRAP);
+        new KafkaConsumer<String, P>(consumerProps).close(Duration.ZERO);
+        GcActivityTracker.start().stop();
+        System.out.println("CDS training finished: " + records + " records per role");
+    }
+
+    private static void emitPhaseEvents(ScenarioDefinition scenario, Config config, ProcessResult result) {
+        String role = config.role.value;
+        long records = result.recordsProcessed;
+        PhaseCompletedEvent.emit(scenario.name(), role, "encode_or_build", result.phaseStats.encodeOrBuildMs, records);
+        PhaseCompletedEvent.emit(scenario.name(), role, "decode_or_split", result.phaseStats.decodeOrSplitMs, records);
+        PhaseCompletedEvent.emit(scenario.name(), role, "parse_selected_or_full", result.phaseStats.parseSelectedOrFullMs,
+                records);
+        PhaseCompletedEvent.emit(scenario.name(), role, "role_total_loop", result.phaseStats.roleTotalLoopMs, records);
+    }
+
+    /**
+     * {@code live} is null when no {@code /metrics} server runs; otherwise it is refreshed at most
+     * once per second and once after the loop, so the send loop does not pay for volatile stores
+     * and the phase extrapolation on every record.
+     */
+    private static <P> ProcessResult runProducer(
+            Config config,
+            RecordCodec<P> codec,
+            RunLimit limit,
+            LiveMetrics live,
+            StartupTracker startup
+    ) throws Exception {
+        waitForKafka(config.bootstrapServers);
+        ensureTopicExists(config.bootstrapServers, config.topicName, config.topicPartitions);
+
+        Properties producerProps = new Properties();
+        producerProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, config.bootstrapServers);
+        producerProps.put(ProducerConfig.ACKS_CONFIG, "all");
+        producerProps.put(ProducerConfig.LINGER_MS_CONFIG, "0");
+        producerProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
+        producerProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, codec.serializerClass().getName());
+
+        long sent = 0L;
+        long phaseEncodeOrBuildNs = 0L;
+        PhaseSampler sampler = new PhaseSampler(config.phaseMetricsEnabled, config.phaseSampleEvery);
+        long roleLoopStartNs = System.nanoTime();
+        long nextLivePublishNs = roleLoopStartNs;
+        PayloadAccumulator payloadAccumulator = new PayloadAccumulator();
+        ObjectStatsAccumulator objectStats = new ObjectStatsAccumulator();
+        OpenLoopPacer pacer = config.producerTargetRate > 0.0
+                ? new OpenLoopPacer(config.producerTargetRate, config.producerArrivals)
+                : null;
+        FaultPlan faultPlan = config.faultRatePercent > 0.0
+                ? new FaultPlan(config.faultRatePercent, config.faultKinds, config.dataSeed, codec)
+                : null;
+
+        try (KafkaProducer<String, P> producer = new KafkaProducer<>(producerProps)) {
+            for (long sequence = 1L; limit.keepRunning(sent); sequence++) {
+                long intendedNs = 0L;
+                if (pacer != null) {
+                    intendedNs = pacer.nextIntendedNs();
+                    pacer.awaitUntil(intendedNs);
+                }
+
+                boolean sampled = sampler.sampleNext();
+                long encodeStartNs = sampled ? System.nanoTime() : 0L;
+                P payload = faultPlan != null ? faultPlan.encode(codec, sequence) : codec.encodeFull(sequence);
+                if (sampled) {
+                    phaseEncodeOrBuildNs += System.nanoTime() - encodeStartNs;
+                }
+
+                payloadAccumulator.add(codec.payloadSize(payload));
+                objectStats.objectCreateCount++;
+                objectStats.objectEncodeCount++;
+
+                ProducerRecord<String, P> record = new ProducerRecord<>(
+                        config.topicName,
+                        Long.toString(sequence),
+                        payload
+                );
+                if (config.e2eLatencyEnabled) {
+                    long sendEpochMicros = pacer != null
+                            ? pacer.epochMicrosAt(intendedNs)
+                            : E2eLatencyTracker.nowEpochMicros();
+                    record.headers().add(
+                            E2eLatencyTracker.SEND_TIME_HEADER,
+                            E2eLatencyTracker.encodeSendTime(sendEpochMicros)
+                    );
+                }
+                if (pacer != null) {
+                    producer.send(record, pacer.ackCallback(intendedNs));
+                } else {
+                    producer.send(record).get();
+                }
+                sent++;
+                startup.onRecord(sent);
+                if (live != null) {
+                    long nowNs = System.nanoTime();
+                    if (nowNs - nextLivePublishNs >= 0L) {
+                        publishProducer(live, sent, payloadAccumulator, sampler, phaseEncodeOrBuildNs);
+                        nextLivePublishNs = nowNs + TimeUnit.SECONDS.toNanos(1);
+                    }
+                }
+            }
+            producer.flush();
+        }
+        if (live != null) {
+            publishProducer(live, sent, payloadAccumulator, sampler, phaseEncodeOrBuildNs);
+        }
+        if (pacer != null) {
+            pacer.checkNoFailedSends();
+        }
+
+        Map<String, String> extraMetrics = new LinkedHashMap<>();
+        if (pacer != null) {
+            extraMetrics.putAll(pacer.summary(sent));
+        }
+        if (faultPlan != null) {
+            extraMetrics.putAll(faultPlan.summary());
+        }
+        long roleTotalLoopMs = nanosToMillis(System.nanoTime() - roleLoopStartNs);
+        return new ProcessResult(
+                sent,
+                payloadAccumulator.snapshot(),
+                new PhaseStatsLite(
+                        nanosToMillis(sampler.estimateTotalNs(phaseEncodeOrBuildNs, sampler.sampledRecords(), sent)),
+                        0L,
+                        0L,
+                        roleTotalLoopMs,
+                        sampler.sampleEvery(),
+                        sampler.sampledRecords(),
+                        sampler.timerOverheadNs()
+                ),
+                objectStats.snapshot(),
+                extraMetrics,
+                codec.codecMetrics()
+        );
+    }
+
+    private static void publishProducer(
+            LiveMetrics live,
+            long sent,
+            PayloadAccumulator payloadAccumulator,
+            PhaseSampler sampler,
+            long phaseEncodeOrBuildNs
+    ) {
+        live.publish(
+                sent,
+                payloadAccumulator.totalBytes,
+                sampler.estimateTotalNs(phaseEncodeOrBuildNs, sampler.sampledRecords(), sent),
+                0L,
+                0L
+        );
+    }
+
+    private static <P> ProcessResult runConsumer(
+            Config config,
+            RecordCodec<P> codec,
+            boolean selected,
+            RunLimit limit,
+            LiveMetrics live,
+            StartupTracker startup,
+            DeadLetterSink deadLetter
+    ) throws Exception {
+        waitForKafka(config.bootstrapServers);
+
+        Properties consumerProps = consumerProperties(config, codec.deserializerClass());
+
+        long processed = 0L;
+        long localSink = 0L;
+        long roleLoopStartNs = System.nanoTime();
+        long nextLagSampleNs = roleLoopStartNs;
+
+        PhaseSampler sampler = new PhaseSampler(config.phaseMetricsEnabled, config.phaseSampleEvery);
+        DecodeContext context = new DecodeContext(sampler, config.validation == RecordValidator.Mode.ON);
+        RecordValidator<P> validator = deadLetter != null
+                ? new RecordValidator<>(codec, config.topicName, deadLetter)
+                : null;
+        E2eLatencyTracker e2eTracker = config.e2eLatencyEnabled ? new E2eLatencyTracker() : null;
+        PayloadAccumulator payloadAccumulator = new PayloadAccumulator();
+        ObjectStatsAccumulator objectStats = new ObjectStatsAccumulator();
+
+        try (KafkaConsumer<String, P> consumer = new KafkaConsumer<>(consumerProps)) {
+            consumer.subscribe(Collections.singletonList(config.topicName));
+
+            while (limit.keepRunning(processed)) {
+                BatchPolledEvent batchEvent = new BatchPolledEvent();
+                batchEvent.begin();
+                ConsumerRecords<String, P> records = consumer.poll(Duration.ofMillis(config.pollTimeoutMs));
+                long batchPayloadBytes = 0L;
+                ConsumerRecord<String, P> lastHandled = null;
+                for (var record : records) {
+                    P payload = record.value();
+                    lastHandled = record;
+                    if (payload == null) {
+                        continue;
+                    }
+
+                    int payloadSize = codec.payloadSize(payload);
+                    payloadAccumulator.add(payloadSize);
+                    batchPayloadBytes += payloadSize;
+
+                    RecordDecodedEvent decodedEvent = new RecordDecodedEvent();
+                    decodedEvent.begin();
+                    context.beginRecord();
+                    localSink += validator != null
+                            ? validator.decode(payload, selected, context)
+                            : selected ? codec.decodeSelected(payload, context) : codec.decodeFull(payload, context);
+                    objectStats.objectDecodeCount++;
+                    if (e2eTracker != null) {
+                        e2eTracker.onParsed(record.headers(), E2eLatencyTracker.nowEpochMicros());
+                    }
+                    if (decodedEvent.shouldCommit()) {
+                        decodedEvent.role = config.role.value;
+                        decodedEvent.offset = record.offset();
+                        decodedEvent.payloadBytes = payloadSize;
+                        decodedEvent.commit();
+                    }
+
+                    processed++;
+                    startup.onRecord(processed);
+                    if (!limit.acceptsMore(processed)) {
+                        break;
+                    }
+                }
+                if (!records.isEmpty()) {
+                    if (batchEvent.shouldCommit()) {
+                        batchEvent.role = config.role.value;
+                        batchEvent.recordCount = records.count();
+                        batchEvent.payloadBytes = batchPayloadBytes;
+                        batchEvent.commit();
+                    }
+                }
+                if (lastHandled != null) {
+                    consumer.commitSync(handledOffsets(records, lastHandled));
+                }
+
+                live.publish(
+                        processed,
+                        payloadAccumulator.totalBytes,
+                        0L,
+                        context.decodeOrSplitNs(processed),
+                        context.parseNs(processed)
+                );
+                long nowNs = System.nanoTime();
+                if (nowNs - nextLagSampleNs >= 0L) {
+                    double lag = maxRecordsLag(consumer);
+                    live.publishLag(lag);
+                    if (e2eTracker != null) {
+                        e2eTracker.tick(processed, lag);
+                    }
+                    nextLagSampleNs = nowNs + TimeUnit.SECONDS.toNanos(1);
+                }
+            }
+
+            if (e2eTracker != null) {
+                e2eTracker.tick(processed, maxRecordsLag(consumer));
+            }
+        }
+
+        if (e2eTracker != null) {
+            e2eTracker.writeTimeline(Path.of(config.metricsDir).resolve(config.role.fileStem() + "_e2e_timeline.csv"));
+        }
+        Map<String, String> extraMetrics = new LinkedHashMap<>();
+        if (e2eTracker != null) {
+            extraMetrics.putAll(e2eTracker.summary());
+        }
+        if (validator != null) {
+            extraMetrics.putAll(validator.summary(config.validation));
+        }
+
+        SINK ^= localSink;
+        objectStats.objectCreateCount += context.objectCreateCount();
+        objectStats.objectSkipCount += context.objectSkipCount();
+        long roleTotalLoopMs = nanosToMillis(System.nanoTime() - roleLoopStartNs);
+        return new ProcessResult(
+                processed,
+                payloadAccumulator.snapshot(),
+                new PhaseStatsLite(
+                        0L,
+                        nanosToMillis(context.decodeOrSplitNs(processed)),
+                        nanosToMillis(context.parseNs(processed)),
+                        roleTotalLoopMs,
+                        sampler.sampleEvery(),
+                        sampler.sampledRecords(),
+                        sampler.timerOverheadNs()
+                ),
+                objectStats.snapshot(),
+                extraMetrics,
+                codec.codecMetrics()
+        );
+    }
+
+    /**
+     * Consumer role with one worker per topic partition, each with its own {@link KafkaConsumer}
+     * (manually assigned, same group for commits), codec and phase counters. Workers share only
+     * the processed-record counter that enforces the run limit. Lag and the e2e timeline are not
+     * collected in this mode; e2e histograms are merged across partitions.
+     */
+    private static <P> ProcessResult runPerPartitionConsumer(
+            Config config,
+            RecordCodec<P> firstCodec,
+            Supplier<? extends RecordCodec<P>> codecFactory,
+            boolean selected,
+            RunLimit limit,
+            LiveMetrics live,
+            StartupTracker startup,
+            DeadLetterSink deadLetter
+    ) throws Exception {
+        waitForKafka(config.bootstrapServers);
+        ensureTopicExists(config.bootstrapServers, config.topicName, config.topicPartitions);
+
+        Properties consumerProps = consumerProperties(config, firstCodec.deserializerClass());
+        List<TopicPartition> partitions = new ArrayList<>();
+        try (KafkaConsumer<String, P> metadataConsumer = new KafkaConsumer<>(consumerProps)) {
+            for (PartitionInfo info : metadataConsumer.partitionsFor(config.topicName)) {
+                partitions.add(new TopicPartition(info.topic(), info.partition()));
+            }
+        }
+        partitions.sort(Comparator.comparingInt(TopicPartition::partition));
+
+        long roleLoopStartNs = System.nanoTime();
+        PartitionShared shared = new PartitionShared();
+        List<PartitionWorker<P>> workers = new ArrayList<>(partitions.size());
+        for (TopicPartition partition : partitions) {
+            RecordCodec<P> codec = workers.isEmpty() ? firstCodec : codecFactory.get();
+            RecordValidator<P> validator = deadLetter != null
+                    ? new RecordValidator<>(codec, config.topicName, deadLetter)
+                    : null;
+            workers.add(new PartitionWorker<>(config, partition, codec, validator, selected, limit, shared, startup));
+        }
+
+        PartitionWorkerPool.ThreadKind threadKind;
+        try (PartitionWorkerPool pool = PartitionWorkerPool.create(config.consumerThreadKind, workers.size())) {
+            threadKind = pool.kind();
+            List<Future<Void>> futures = new ArrayList<>(workers.size());
+            for (PartitionWorker<P> worker : workers) {
+                futures.add(pool.submit(worker));
+            }
+            for (Future<Void> future : futures) {
+                while (true) {
+                    try {
+                        future.get(1, TimeUnit.SECONDS);
+                        break;
+                    } catch (TimeoutException ex) {
+                        live.publish(shared.processed.get(), shared.payloadBytes.get(), 0L, 0L, 0L);
+                    } catch (ExecutionException ex) {
+                        shared.failed = true;
+                        if (ex.getCause() instanceof Exception cause) {
+                            throw cause;
+                        }
+                        throw ex;
+                    }
+                }
+            }
+        }
+
+        long processed = 0L;
+        long localSink = 0L;
+        long decodeOrSplitNs = 0L;
+        long parseNs = 0L;
+        long sampledRecords = 0L;
+        PayloadAccumulator payloadAccumulator = new PayloadAccumulator();
+        ObjectStatsAccumulator objectStats = new ObjectStatsAccumulator();
+        E2eLatencyTracker e2eTracker = config.e2eLatencyEnabled ? new E2eLatencyTracker() : null;
+        Map<String, Long> codecMetrics = new TreeMap<>();
+        RecordValidator<P> validator = null;
+        Map<String, String> extraMetrics = new LinkedHashMap<>();
+        extraMetrics.put("consumer_threading", "per-partition");
+        extraMetrics.put("consumer_thread_kind", threadKind.value());
+        extraMetrics.put("consumer_partitions", Integer.toString(workers.size()));
+        for (PartitionWorker<P> worker : workers) {
+            processed += worker.processed;
+            localSink += worker.localSink;
+            decodeOrSplitNs += worker.context.decodeOrSplitNs(worker.processed);
+            parseNs += worker.context.parseNs(worker.processed);
+            sampledRecords += worker.sampler.sampledRecords();
+            payloadAccumulator.merge(worker.payloadAccumulator);
+            objectStats.objectCreateCount += worker.context.objectCreateCount();
+            objectStats.objectDecodeCount += worker.processed;
+            objectStats.objectSkipCount += worker.context.objectSkipCount();
+            if (e2eTracker != null) {
+                e2eTracker.merge(worker.e2eTracker);
+            }
+            worker.codec.codecMetrics().forEach((key, value) -> codecMetrics.merge(key, value, Long::sum));
+            if (worker.validator != null) {
+                if (validator == null) {
+                    validator = worker.validator;
+                } else {
+                    validator.merge(worker.validator);
+                }
+            }
+
+            String prefix = "partition_" + worker.partition.partition() + "_";
+            long activeMs = worker.processed > 0 ? nanosToMillis(worker.lastRecordNs - worker.firstRecordNs) : 0L;
+            extraMetrics.put(prefix + "records", Long.toString(worker.processed));
+            extraMetrics.put(prefix + "payload_bytes", Long.toString(worker.payloadAccumulator.totalBytes));
+            extraMetrics.put(prefix + "active_ms", Long.toString(activeMs));
+            extraMetrics.put(prefix + "throughput_rec_per_sec", String.format("%.4f",
+                    activeMs > 0 ? worker.processed * 1000.0 / activeMs : 0.0));
+        }
+        if (e2eTracker != null) {
+            extraMetrics.putAll(e2eTracker.summary());
+        }
+        if (validator != null) {
+            extraMetrics.putAll(validator.summary(config.validation));
+        }
+
+        SINK ^= localSink;
+        PhaseSampler firstSampler = workers.isEmpty()
+                ? new PhaseSampler(config.phaseMetricsEnabled, config.phaseSampleEvery)
+                : workers.get(0).sampler;
+        long roleTotalLoopMs = nanosToMillis(System.nanoTime() - roleLoopStartNs);
+        return new ProcessResult(
+                processed,
+                payloadAccumulator.snapshot(),
+                new PhaseStatsLite(
+                        0L,
+                        nanosToMillis(decodeOrSplitNs),
+                        nanosToMillis(parseNs),
+                        roleTotalLoopMs,
+                        firstSampler.sampleEvery(),
+                        sampledRecords,
+                        firstSampler.timerOverheadNs()
+                ),
+                objectStats.snapshot(),
+                extraMetrics,
+                codecMetrics
+        );
+    }
+
+    /**
+     * Consumer role fed from a capture instead of the broker: payloads come from memory-mapped
+     * segments and go through the codec's own Kafka deserializer, then the same decode calls.
+     */
+    private static <P> ProcessResult runReplayConsumer(
+            ScenarioDefinition scenario,
+            Config config,
+            RecordCodec<P> codec,
+            boolean selected,
+            RunLimit limit,
+            LiveMetrics live,
+            StartupTracker startup,
+            DeadLetterSink deadLetter
+    ) throws Exception {
+        CaptureSegmentReader reader = CaptureSegmentReader.open(Path.of(config.captureDir), scenario.name());
+
+        long processed = 0L;
+        long localSink = 0L;
+        long roleLoopStartNs = System.nanoTime();
+
+        PhaseSampler sampler = new PhaseSampler(config.phaseMetricsEnabled, config.phaseSampleEvery);
+        DecodeContext context = new DecodeContext(sampler, config.validation == RecordValidator.Mode.ON);
+        RecordValidator<P> validator = deadLetter != null
+                ? new RecordValidator<>(codec, config.topicName, deadLetter)
+                : null;
+        PayloadAccumulator payloadAccumulator = new PayloadAccumulator();
+        ObjectStatsAccumulator objectStats = new ObjectStatsAccumulator();
+
+        try (Deserializer<P> deserializer = codec.deserializerClass().getDeclaredConstructor().newInstance()) {
+            while (limit.keepRunning(processed) && reader.hasNext()) {
+                for (int i = 0; i < REPLAY_BATCH_RECORDS && reader.hasNext(); i++) {
+                    P payload = deserializer.deserialize(config.topicName, reader.next());
+
+                    int payloadSize = codec.payloadSize(payload);
+                    payloadAccumulator.add(payloadSize);
+
+                    context.beginRecord();
+                    localSink += validator != null
+                            ? validator.decode(payload, selected, context)
+                            : selected ? codec.decodeSelected(payload, context) : codec.decodeFull(payload, context);
+                    objectStats.objectDecodeCount++;
+
+                    processed++;
+                    startup.onRecord(processed);
+                    if (!limit.acceptsMore(processed)) {
+                        break;
+                    }
+                }
+
+                live.publish(
+                        processed,
+                        payloadAccumulator.totalBytes,
+                        0L,
+                        context.decodeOrSplitNs(processed),
+                        context.parseNs(processed)
+                );
+            }
+        }
+
+        Map<String, String> extraMetrics = new LinkedHashMap<>();
+        extraMetrics.put("consumer_source", "replay");
+        extraMetrics.put("replay_segments", Integer.toString(reader.segmentCount()));
+        extraMetrics.put("replay_capture_payload_bytes", Long.toString(reader.payloadBytes()));
+        if (validator != null) {
+            extraMetrics.putAll(validator.summary(config.validation));
+        }
+
+        SINK ^= localSink;
+        objectStats.objectCreateCount += context.objectCreateCount();
+        objectStats.objectSkipCount += context.objectSkipCount();
+        long roleTotalLoopMs = nanosToMillis(System.nanoTime() - roleLoopStartNs);
+        return new ProcessResult(
+                processed,
+                payloadAccumulator.snapshot(),
+                new PhaseStatsLite(
+                        0L,
+                        nanosToMillis(context.decodeOrSplitNs(processed)),
+                        nanosToMillis(context.parseNs(processed)),
+                        roleTotalLoopMs,
+                        sampler.sampleEvery(),
+                        sampler.sampledRecords(),
+                        sampler.timerOverheadNs()
+                ),
+                objectStats.snapshot(),
+                extraMetrics,
+                codec.codecMetrics()
+        );
+    }
+
+    /**
+     * Dumps the topic's raw payloads to capture segments once, so consumer roles can later replay
+     * the exact bytes without a broker.
+     */
+    private static ProcessResult runCapture(
+            ScenarioDefinition scenario,
+            Config config,
+            RunLimit limit,
+            LiveMetrics live,
+            StartupTracker startup
+    ) throws Exception {
+        waitForKafka(config.bootstrapServers);
+
+        Properties consumerProps = consumerProperties(config, ByteArrayDeserializer.class);
+
+        long captured = 0L;
+        long roleLoopStartNs = System.nanoTime();
+        PayloadAccumulator payloadAccumulator = new PayloadAccumulator();
+        Map<String, String> captureMetrics;
+
+        try (KafkaConsumer<String, byte[]> consumer = new KafkaConsumer<>(consumerProps);
+             CaptureSegmentWriter writer = new CaptureSegmentWriter(
+                     Path.of(config.captureDir), config.captureSegmentBytes)) {
+            consumer.subscribe(Collections.singletonList(config.topicName));
+
+            while (limit.keepRunning(captured)) {
+                ConsumerRecords<String, byte[]> records = consumer.poll(Duration.ofMillis(config.pollTimeoutMs));
+                for (var record : records) {
+                    byte[] payload = record.value();
+                    if (payload == null) {
+                        continue;
+                    }
+
+                    writer.append(payload);
+                    payloadAccumulator.add(payload.length);
+                    captured++;
+                    startup.onRecord(captured);
+                    if (!limit.acceptsMore(captured)) {
+                        break;
+                    }
+                }
+                live.publish(captured, payloadAccumulator.totalBytes, 0L, 0L, 0L);
+            }
+
+            writer.writeManifest(scenario.name(), config.topicName);
+            captureMetrics = Map.of(
+                    "capture_dir", config.captureDir,
+                    "capture_segments", Integer.toString(writer.segmentCount()),
+                    "capture_payload_bytes", Long.toString(writer.payloadBytes())
+            );
+        }
+
+        long roleTotalLoopMs = nanosToMillis(System.nanoTime() - roleLoopStartNs);
+        return new ProcessResult(
+                captured,
+                payloadAccumulator.snapshot(),
+                new PhaseStatsLite(0L, 0L, 0L, roleTotalLoopMs, 1, 0L, 0.0),
+                new ObjectStatsAccumulator().snapshot(),
+                captureMetrics,
+                Map.of()
+        );
+    }
+
+    private static Properties consumerProperties(Config config, Class<?> valueDeserializer) {
+        Properties consumerProps = new Properties();
+        consumerProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, config.bootstrapServers);
+        consumerProps.put(ConsumerConfig.GROUP_ID_CONFIG, config.groupId);
+        consumerProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        consumerProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        consumerProps.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, "1000");
+        consumerProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
+        consumerProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, valueDeserializer.getName());
+        return consumerProps;
+    }
+
+    /**
+     * Offsets to commit after a batch, up to and including {@code lastHandled}. A role can stop in
+     * the middle of a batch (record limit, worker claim), and committing the poll position then
+     * would make the next run on the same group skip every record it never decoded.
+     * ConsumerRecords iterates partition by partition in {@code partitions()} order, so partitions
+     * before the last handled record's one were handled in full.
+     */
+    private static Map<TopicPartition, OffsetAndMetadata> handledOffsets(
+            ConsumerRecords<?, ?> records,
+            ConsumerRecord<?, ?> lastHandled
+    ) {
+        TopicPartition stopPartition = new TopicPartition(lastHandled.topic(), lastHandled.partition());
+        Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        for (TopicPartition partition : records.partitions()) {
+            if (partition.equals(stopPartition)) {
+                offsets.put(partition, new OffsetAndMetadata(lastHandled.offset() + 1));
+                break;
+            }
+            List<? extends ConsumerRecord<?, ?>> partitionRecords = records.records(partition);
+            offsets.put(partition, new OffsetAndMetadata(partitionRecords.get(partitionRecords.size() - 1).offset() + 1));
+        }
+        return offsets;
+    }
+
+    private static double maxRecordsLag(KafkaConsumer<?, ?> consumer) {
+        double lag = Double.NaN;
+        for (Map.Entry<MetricName, ? extends Metric> entry : consumer.metrics().entrySet()) {
+            MetricName name = entry.getKey();
+            if ("records-lag-max".equals(name.name()) && "consumer-fetch-manager-metrics".equals(name.group())) {
+                Object value = entry.getValue().metricValue();
+                if (value instanceof Double lagValue && !lagValue.isNaN() && (Double.isNaN(lag) || lagValue > lag)) {
+                    lag = lagValue;
+                }
+            }
+        }
+        return lag;
+    }
+
+    private static void waitForKafka(String bootstrapServers) throws Exception {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(120);
+
+        while (true) {
+            try {
+                Properties props = new Properties();
+                props.put(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+                try (AdminClient adminClient = AdminClient.create(props)) {
+                    adminClient.describeCluster().nodes().get(5, TimeUnit.SECONDS);
+                    return;
+                }
+            } catch (Exception ex) {
+                if (System.currentTimeMillis() >= deadline) {
+                    throw new IllegalStateException("Kafka is not reachable after waiting 120 seconds.", ex);
+                }
+                Thread.sleep(1000);
+            }
+        }
+    }
+
+    private static void ensureTopicExists(String bootstrapServers, String topicName, int partitions)
+            throws Exception {
+        Properties props = new Properties();
+        props.put(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+
+        try (AdminClient adminClient = AdminClient.create(props)) {
+            try {
+                adminClient.createTopics(Collections.singletonList(new NewTopic(topicName, partitions, (short) 1)))
+                        .all()
+                        .get(10, TimeUnit.SECONDS);
+            } catch (ExecutionException ex) {
+                if (!(ex.getCause() instanceof TopicExistsException)) {
+                    throw ex;
+                }
+            }
+        }
+    }
+
+    private static void writeMetricsFile(Config config, RoleMetrics metrics) throws IOException {
+        Path dir = Path.of(config.metricsDir);
+        Files.createDirectories(dir);
+
+        Path file = dir.resolve(config.role.fileStem() + "_metrics.kv");
+        Files.writeString(file, metrics.toKeyValueBlock(), StandardCharsets.UTF_8);
+    }
+
+    private static OperatingSystemMXBean getOperatingSystemMxBean() {
+        if (ManagementFactory.getOperatingSystemMXBean() instanceof OperatingSystemMXBean osBean) {
+            return osBean;
+        }
+        throw new IllegalStateException("OperatingSystemMXBean is not supported for process CPU metrics.");
+    }
+
+    private static long nanosToMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(Math.max(0L, nanos));
+    }
+
+    @FunctionalInterface
+    private interface ProcessingRole {
+        ProcessResult process() throws Exception;
+    }
+
+    private enum Role {
+        PRODUCER("producer"),
+        CONSUMER_1("consumer-1"),
+        CONSUMER_2("consumer-2"),
+        CAPTURE("capture"),
+        CDS_TRAINING("cds-training");
+
+        private final String value;
+
+        Role(String value) {
+            this.value = value;
+        }
+
+        private String fileStem() {
+            return value.replace('-', '_');
+        }
+
+        private static Role from(String value) {
+            for (Role role : values()) {
+                if (role.value.equals(value)) {
+                    return role;
+                }
+            }
+            throw new IllegalArgumentException("Unknown APP_ROLE: " + value);
+        }
+    }
+
+    private record Config(
+            Role role,
+            String groupId,
+            String bootstrapServers,
+            String topicName,
+            long recordCount,
+            int pollTimeoutMs,
+            String metricsDir,
+            boolean phaseMetricsEnabled,
+            int phaseSampleEvery,
+            boolean jfrRecordingEnabled,
+            String jfrSettings,
+            boolean jfrRecordDecodedEvents,
+            boolean soakEnabled,
+            long soakDurationSeconds,
+            boolean metricsHttpEnabled,
+            int metricsPort,
+            boolean e2eLatencyEnabled,
+            double producerTargetRate,
+            OpenLoopPacer.Arrivals producerArrivals,
+            boolean replay,
+            String captureDir,
+            long captureSegmentBytes,
+            int topicPartitions,
+            boolean perPartitionConsumer,
+            PartitionWorkerPool.ThreadKind consumerThreadKind,
+            long warmupRecords,
+            long steadyStateSkipPercent,
+            double faultRatePercent,
+            List<RecordFault> faultKinds,
+            long dataSeed,
+            RecordValidator.Mode validation,
+            DeadLetterSink.Target deadLetter
+    ) {
+        private static Config load(ScenarioDefinition scenario) throws IOException {
+            Properties props = loadProperties();
+
+            Role role = Role.from(requireValue(System.getenv("APP_ROLE"), "APP_ROLE"));
+            String groupId = role == Role.CONSUMER_1
+                    ? scenario.consumer1GroupId()
+                    : role == Role.CONSUMER_2 ? scenario.consumer2GroupId()
+                    : role == Role.CAPTURE ? "kb-capture-" + scenario.name()
+                    : role == Role.CDS_TRAINING ? "kb-cds-training" : null;
+            String bootstrap = readValue(props, "BOOTSTRAP_SERVERS", "bootstrap.servers", "kafka:9092");
+            String topic = readValue(props, "TOPIC_NAME", "benchmark.topic.name", scenario.defaultTopic());
+            long recordCount = Long.parseLong(readValue(
+                    props,
+                    "RECORD_COUNT",
+                    "benchmark.record.count",
+                    Integer.toString(DEFAULT_RECORD_COUNT)
+            ));
+            int pollTimeoutMs = Integer.parseInt(readValue(
+                    props,
+                    "POLL_TIMEOUT_MS",
+                    "benchmark.poll.timeout.ms",
+                    Integer.toString(DEFAULT_POLL_TIMEOUT_MS)
+            ));
+            String metricsDir = readValue(props, "METRICS_DIR", "benchmark.metrics.dir", "logs");
+            boolean phaseMetricsEnabled = Boolean.parseBoolean(readValue(
+                    props,
+                    "PHASE_METRICS_ENABLED",
+                    "benchmark.phase.metrics.enabled",
+                    "true"
+            ));
+            int phaseSampleEvery = Integer.parseInt(readValue(
+                    props,
+                    "PHASE_SAMPLE_EVERY",
+                    "benchmark.phase.sample.every",
+                    "100"
+            ));
+            boolean jfrRecordingEnabled = Boolean.parseBoolean(readValue(
+                    props,
+                    "JFR_RECORDING_ENABLED",
+                    "benchmark.jfr.recording.enabled",
+                    "false"
+            ));
+            String jfrSettings = readValue(props, "JFR_SETTINGS", "benchmark.jfr.settings", "profile");
+            boolean jfrRecordDecodedEvents = Boolean.parseBoolean(readValue(
+                    props,
+                    "JFR_RECORD_DECODED_EVENTS",
+                    "benchmark.jfr.record.decoded.events",
+                    "false"
+            ));
+
+            boolean soakEnabled = Boolean.parseBoolean(readValue(props, "SOAK_MODE", "benchmark.soak.enabled", "false"));
+            long soakDurationSeconds = Long.parseLong(readValue(
+                    props,
+                    "SOAK_DURATION_SECONDS",
+                    "benchmark.soak.duration.seconds",
+                    "0"
+            ));
+            boolean metricsHttpEnabled = Boolean.parseBoolean(readValue(
+                    props,
+                    "METRICS_HTTP_ENABLED",
+                    "benchmark.metrics.http.enabled",
+                    "false"
+            ));
+            int metricsPort = Integer.parseInt(readValue(
+                    props,
+                    "METRICS_PORT",
+                    "benchmark.metrics.port",
+                    Integer.toString(DEFAULT_METRICS_PORT)
+            ));
+            boolean e2eLatencyEnabled = Boolean.parseBoolean(readValue(
+                    props,
+                    "E2E_LATENCY_ENABLED",
+                    "benchmark.e2e.latency.enabled",
+                    "false"
+            ));
+            double producerTargetRate = Double.parseDouble(readValue(
+                    props,
+                    "PRODUCER_TARGET_RATE",
+                    "benchmark.producer.target.rate",
+                    "0"
+            ));
+            OpenLoopPacer.Arrivals producerArrivals = OpenLoopPacer.Arrivals.from(readValue(
+                    props,
+                    "PRODUCER_ARRIVALS",
+                    "benchmark.producer.arrivals",
+                    "constant"
+            ));
+
+            String consumerSource = readValue(props, "CONSUMER_SOURCE", "benchmark.consumer.source", "kafka");
+            if (!consumerSource.equals("kafka") && !consumerSource.equals("replay")) {
+                throw new IllegalArgumentException("Unknown CONSUMER_SOURCE: " + consumerSource);
+            }
+            String captureDir = readValue(
+                    props,
+                    "CAPTURE_DIR",
+                    "benchmark.capture.dir",
+                    Path.of(metricsDir, "capture").toString()
+            );
+            long captureSegmentBytes = Long.parseLong(readValue(
+                    props,
+                    "CAPTURE_SEGMENT_MB",
+                    "benchmark.capture.segment.mb",
+                    "256"
+            )) * 1024L * 1024L;
+            int topicPartitions = Integer.parseInt(readValue(
+                    props,
+                    "TOPIC_PARTITIONS",
+                    "benchmark.topic.partitions",
+                    "1"
+            ));
+            String consumerThreading = readValue(
+                    props,
+                    "CONSUMER_THREADING",
+                    "benchmark.consumer.threading",
+                    "single"
+            );
+            if (!consumerThreading.equals("single") && !consumerThreading.equals("per-partition")) {
+                throw new IllegalArgumentException("Unknown CONSUMER_THREADING: " + consumerThreading);
+            }
+            PartitionWorkerPool.ThreadKind consumerThreadKind = PartitionWorkerPool.ThreadKind.from(readValue(
+                    props,
+                    "CONSUMER_THREAD_KIND",
+                    "benchmark.consumer.thread.kind",
+                    PartitionWorkerPool.ThreadKind.PLATFORM.value()
+            ));
+            if (consumerThreading.equals("per-partition")) {
+                PartitionWorkerPool.requireAvailable(consumerThreadKind);
+            }
+            long warmupRecords = Long.parseLong(readValue(
+                    props,
+                    "WARMUP_RECORDS",
+                    "benchmark.warmup.records",
+                    "0"
+            ));
+            long steadyStateSkipPercent = Long.parseLong(readValue(
+                    props,
+                    "STEADY_STATE_SKIP_PERCENT",
+                    "benchmark.steady.state.skip.percent",
+                    "10"
+            ));
+            if (steadyStateSkipPercent < 0 || steadyStateSkipPercent >= 100) {
+                throw new IllegalArgumentException("STEADY_STATE_SKIP_PERCENT must be in [0, 100): "
+                        + steadyStateSkipPercent);
+            }
+            double faultRatePercent = Double.parseDouble(readValue(
+                    props,
+                    "FAULT_RATE_PERCENT",
+                    "benchmark.fault.rate.percent",
+                    "0"
+            ));
+            if (faultRatePercent < 0.0 || faultRatePercent > 100.0) {
+                throw new IllegalArgumentException("FAULT_RATE_PERCENT must be in [0, 100]: " + faultRatePercent);
+            }
+            List<RecordFault> faultKinds = FaultPlan.parseKinds(readValue(
+                    props,
+                    "FAULT_KINDS",
+                    "benchmark.fault.kinds",
+                    FaultPlan.allKinds()
+            ));
+            if (faultKinds.isEmpty()) {
+                throw new IllegalArgumentException("FAULT_KINDS must name at least one fault");
+            }
+            long dataSeed = Long.parseLong(readValue(props, "DATA_SEED", "benchmark.data.seed", "42"));
+            RecordValidator.Mode validation = RecordValidator.Mode.from(readValue(
+                    props,
+                    "RECORD_VALIDATION",
+                    "benchmark.record.validation",
+                    RecordValidator.Mode.OFF.value()
+            ));
+            DeadLetterSink.Target deadLetter = DeadLetterSink.Target.from(readValue(
+                    props,
+                    "DEAD_LETTER",
+                    "benchmark.dead.letter",
+                    DeadLetterSink.Target.FILE.value()
+            ));
+            if (consumerSource.equals("replay") && deadLetter == DeadLetterSink.Target.TOPIC) {
+                throw new IllegalArgumentException("DEAD_LETTER=topic needs a broker; use file or none with replay");
+            }
+
+            return new Config(role, groupId, bootstrap, topic, recordCount, pollTimeoutMs, metricsDir,
+                    phaseMetricsEnabled, phaseSampleEvery, jfrRecordingEnabled, jfrSettings, jfrRecordDecodedEvents,
+                    soakEnabled, soakDurationSeconds, metricsHttpEnabled, metricsPort, e2eLatencyEnabled,
+                    producerTargetRate, producerArrivals, consumerSource.equals("replay"), captureDir,
+                    captureSegmentBytes, topicPartitions, consumerThreading.equals("per-partition"),
+                    consumerThreadKind, warmupRecords, steadyStateSkipPercent, faultRatePercent, faultKinds, dataSeed,
+                    validation, deadLetter);
+        }
+
+        private static Properties loadProperties() throws IOException {
+            Properties props = new Properties();
+            try (InputStream input = ScenarioRunner.class.getClassLoader().getResourceAsStream("benchmark.properties")) {
+                if (input != null) {
+                    props.load(input);
+                }
+            }
+            return props;
+        }
+
+        private static String readValue(Properties props, String envKey, String propKey, String defaultValue) {
+            String env = System.getenv(envKey);
+            if (env != null && !env.isBlank()) {
+                return env;
+            }
+
+            String value = props.getProperty(propKey);
+            if (value != null && !value.isBlank()) {
+                return value.trim();
+            }
+
+            return defaultValue;
+        }
+
+        private static String requireValue(String value, String key) {
+            if (value == null || value.isBlank()) {
+                throw new IllegalArgumentException("Missing required environment variable: " + key);
+            }
+            return value.trim();
+        }
+    }
+
+    private static final class PartitionShared {
+        private final AtomicLong claimed = new AtomicLong();
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong payloadBytes = new AtomicLong();
+        private volatile boolean failed;
+    }
+
+    private static final class PartitionWorker<P> implements Callable<Void> {
+        private final Config config;
+        private final TopicPartition partition;
+        private final RecordCodec<P> codec;
+        private final RecordValidator<P> validator;
+        private final boolean selected;
+        private final RunLimit limit;
+        private final PartitionShared shared;
+        private final StartupTracker startup;
+        private final PhaseSampler sampler;
+        private final DecodeContext context;
+        private final E2eLatencyTracker e2eTracker;
+        private final PayloadAccumulator payloadAccumulator = new PayloadAccumulator();
+        private long processed;
+        private long localSink;
+        private long firstRecordNs;
+        private long lastRecordNs;
+
+        private PartitionWorker(
+                Config config,
+                TopicPartition partition,
+                RecordCodec<P> codec,
+                RecordValidator<P> validator,
+                boolean selected,
+                RunLimit limit,
+                PartitionShared shared,
+                StartupTracker startup
+        ) {
+            this.config = config;
+            this.partition = partition;
+            this.codec = codec;
+            this.validator = validator;
+            this.selected = selected;
+            this.limit = limit;
+            this.shared = shared;
+            this.startup = startup;
+            this.sampler = new PhaseSampler(config.phaseMetricsEnabled, config.phaseSampleEvery);
+            this.context = new DecodeContext(sampler, config.validation == RecordValidator.Mode.ON);
+            this.e2eTracker = config.e2eLatencyEnabled ? new E2eLatencyTracker() : null;
+        }
+
+        @Override
+        public Void call() throws Exception {
+            try {
+                consume();
+                return null;
+            } catch (Exception | Error ex) {
+                // The main thread may be waiting on another worker's future; without this flag the
+                // others would poll forever for a record count this partition can no longer supply.
+                shared.failed = true;
+                throw ex;
+            }
+        }
+
+        private void consume() throws Exception {
+            try (KafkaConsumer<String, P> consumer = new KafkaConsumer<>(
+                    consumerProperties(config, codec.deserializerClass()))) {
+                consumer.assign(Collections.singletonList(partition));
+
+                boolean claimsLeft = true;
+                while (claimsLeft && !shared.failed && limit.keepRunning(shared.processed.get())) {
+                    ConsumerRecords<String, P> records = consumer.poll(Duration.ofMillis(config.pollTimeoutMs));
+                    long batchPayloadBytes = 0L;
+                    ConsumerRecord<String, P> lastHandled = null;
+                    for (var record : records) {
+                        P payload = record.value();
+                        if (payload == null) {
+                            lastHandled = record;
+                            continue;
+                        }
+                        // Claim before decoding so the workers together stop at exactly RECORD_COUNT.
+                        if (!limit.acceptsMore(shared.claimed.getAndIncrement())) {
+                            claimsLeft = false;
+                            break;
+                        }
+                        if (processed == 0L) {
+                            firstRecordNs = System.nanoTime();
+                        }
+
+                        int payloadSize = codec.payloadSize(payload);
+                        payloadAccumulator.add(payloadSize);
+                        batchPayloadBytes += payloadSize;
+
+                        context.beginRecord();
+                        localSink += validator != null
+                                ? validator.decode(payload, selected, context)
+                                : selected
+                                ? codec.decodeSelected(payload, context)
+                                : codec.decodeFull(payload, context);
+                        if (e2eTracker != null) {
+                            e2eTracker.onParsed(record.headers(), E2eLatencyTracker.nowEpochMicros());
+                        }
+
+                        processed++;
+                        startup.onRecord(shared.processed.incrementAndGet());
+                        lastHandled = record;
+                    }
+                    if (!records.isEmpty()) {
+                        lastRecordNs = System.nanoTime();
+                        shared.payloadBytes.addAndGet(batchPayloadBytes);
+                    }
+                    if (lastHandled != null) {
+                        consumer.commitSync(handledOffsets(records, lastHandled));
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class PayloadAccumulator {
+        private long totalBytes;
+        private long minBytes = Long.MAX_VALUE;
+        private long maxBytes = Long.MIN_VALUE;
+
+        private void add(int payloadLength) {
+            long length = Math.max(0, payloadLength);
+            totalBytes += length;
+            if (length < minBytes) {
+                minBytes = length;
+            }
+            if (length > maxBytes) {
+                maxBytes = length;
+            }
+        }
+
+        private void merge(PayloadAccumulator other) {
+            totalBytes += other.totalBytes;
+            minBytes = Math.min(minBytes, other.minBytes);
+            maxBytes = Math.max(maxBytes, other.maxBytes);
+        }
+
+        private PayloadStats snapshot() {
+            long min = minBytes == Long.MAX_VALUE ? 0L : minBytes;
+            long max = maxBytes == Long.MIN_VALUE ? 0L : maxBytes;
+            return new PayloadStats(totalBytes, min, max);
+        }
+    }
+
+    private static final class ObjectStatsAccumulator {
+        private long objectCreateCount;
+        private long objectEncodeCount;
+        private long objectDecodeCount;
+        private long objectSkipCount;
+
+        private ObjectStats snapshot() {
+            return new ObjectStats(objectCreateCount, objectEncodeCount, objectDecodeCount, objectSkipCount);
+        }
+    }
+
+    private record PayloadStats(
+            long totalPayloadBytes,
+            long minPayloadBytes,
+            long maxPayloadBytes
+    ) {
+    }
+
+    private record PhaseStatsLite(
+            long encodeOrBuildMs,
+            long decodeOrSplitMs,
+            long parseSelectedOrFullMs,
+            long roleTotalLoopMs,
+            int sampleEvery,
+            long sampledRecords,
+            double timerOverheadNs
+    ) {
+    }
+
+    private record ObjectStats(
+            long objectCreateCount,
+            long objectEncodeCount,
+            long objectDecodeCount,
+            long objectSkipCount
+    ) {
+    }
+
+    private record ProcessResult(
+            long recordsProcessed,
+            PayloadStats payloadStats,
+            PhaseStatsLite phaseStats,
+            ObjectStats objectStats,
+            Map<String, String> extraMetrics,
+            Map<String, Long> codecMetrics
+    ) {
+    }
+
+    private static final class CpuSampler {
+        private final OperatingSystemMXBean osBean;
+        private final ScheduledExecutorService scheduler;
+        private final Object lock = new Object();
+        private long samples;
+        private double sumPct;
+        private double maxPct;
+
+        private CpuSampler(OperatingSystemMXBean osBean) {
+            this.osBean = osBean;
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "cpu-sampler");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+
+        private void start() {
+            scheduler.scheduleAtFixedRate(this::sample, 1, 1, TimeUnit.SECONDS);
+        }
+
+        private CpuSnapshot stop(long processCpuTimeMs, long wallTimeMs) {
+            sample();
+            scheduler.shutdownNow();
+
+            synchronized (lock) {
+                if (samples == 0) {
+                    double fallback = wallTimeMs > 0 ? (processCpuTimeMs * 100.0) / wallTimeMs : 0.0;
+                    return new CpuSnapshot(fallback, fallback);
+                }
+
+                double avg = sumPct / samples;
+                return new CpuSnapshot(avg, maxPct);
+            }
+        }
+
+        private void sample() {
+            double load = osBean.getProcessCpuLoad();
+            if (load < 0.0) {
+                return;
+            }
+
+            double pct = load * 100.0;
+            synchronized (lock) {
+                samples++;
+                sumPct += pct;
+                if (pct > maxPct) {
+                    maxPct = pct;
+                }
+            }
+        }
+    }
+
+    private record CpuSnapshot(double avgProcessCpuPct, double maxProcessCpuPct) {
+    }
+
+    private record RoleMetrics(
+            String scenario,
+            String role,
+            long startEpochMs,
+            long endEpochMs,
+            long recordsProcessed,
+            long processCpuTimeMs,
+            double avgProcessCpuPct,
+            double maxProcessCpuPct,
+            long wallTimeMs,
+            double throughputRecPerSec,
+            long totalPayloadBytes,
+            double avgPayloadBytes,
+            long minPayloadBytes,
+            long maxPayloadBytes,
+            long phaseEncodeOrBuildMs,
+            long phaseDecodeOrSplitMs,
+            long phaseParseSelectedOrFullMs,
+            long phaseRoleTotalLoopMs,
+            int phaseSampleEvery,
+            long phaseSampledRecords,
+            double phaseTimerOverheadNs,
+            long objectCreateCount,
+            long objectEncodeCount,
+            long objectDecodeCount,
+            long objectSkipCount,
+            Map<String, String> extraMetrics,
+            Map<String, Long> codecMetrics
+    ) {
+        private String toSingleLine() {
+            StringBuilder extraPart = new StringBuilder();
+            extraMetrics.forEach((key, value) -> extraPart.append(' ').append(key).append('=').append(value));
+            codecMetrics.forEach((key, value) -> extraPart.append(" codec_").append(key).append('=').append(value));
+            return String.format(
+                    "scenario=%s role=%s records_processed=%d process_cpu_time_ms=%d avg_process_cpu_pct=%.4f max_process_cpu_pct=%.4f wall_time_ms=%d throughput_rec_per_sec=%.4f total_payload_bytes=%d avg_payload_bytes=%.4f min_payload_bytes=%d max_payload_bytes=%d phase_encode_or_build_ms=%d phase_decode_or_split_ms=%d phase_parse_selected_or_full_ms=%d phase_role_total_loop_ms=%d phase_sample_every=%d phase_sampled_records=%d phase_timer_overhead_ns=%.4f object_create_count=%d object_encode_count=%d object_decode_count=%d object_skip_count=%d start_epoch_ms=%d end_epoch_ms=%d",
+                    scenario,
+                    role,
+                    recordsProcessed,
+                    processCpuTimeMs,
+                    avgProcessCpuPct,
+                    maxProcessCpuPct,
+                    wallTimeMs,
+                    throughputRecPerSec,
+                    totalPayloadBytes,
+                    avgPayloadBytes,
+                    minPayloadBytes,
+                    maxPayloadBytes,
+                    phaseEncodeOrBuildMs,
+                    phaseDecodeOrSplitMs,
+                    phaseParseSelectedOrFullMs,
+                    phaseRoleTotalLoopMs,
+                    phaseSampleEvery,
+                    phaseSampledRecords,
+                    phaseTimerOverheadNs,
+                    objectCreateCount,
+                    objectEncodeCount,
+                    objectDecodeCount,
+                    objectSkipCount,
+                    startEpochMs,
+                    endEpochMs
+            ) + extraPart;
+        }
+
+        private String toKeyValueBlock() {
+            StringBuilder extraPart = new StringBuilder();
+            extraMetrics.forEach((key, value) -> extraPart.append(key).append('=').append(value).append('\n'));
+            codecMetrics.forEach((key, value) -> extraPart.append("codec_").append(key).append('=').append(value)
+                    .append('\n'));
+            return String.join("\n",
+                    "scenario=" + scenario,
+                    "role=" + role,
+                    "start_epoch_ms=" + startEpochMs,
+                    "end_epoch_ms=" + endEpochMs,
+                    "records_processed=" + recordsProcessed,
+                    "process_cpu_time_ms=" + processCpuTimeMs,
+                    "avg_process_cpu_pct=" + String.format("%.4f", avgProcessCpuPct),
+                    "max_process_cpu_pct=" + String.format("%.4f", maxProcessCpuPct),
+                    "wall_time_ms=" + wallTimeMs,
+                    "throughput_rec_per_sec=" + String.format("%.4f", throughputRecPerSec),
+                    "total_payload_bytes=" + totalPayloadBytes,
+                    "avg_payload_bytes=" + String.format("%.4f", avgPayloadBytes),
+                    "min_payload_bytes=" + minPayloadBytes,
+                    "max_payload_bytes=" + maxPayloadBytes,
+                    "phase_encode_or_build_ms=" + phaseEncodeOrBuildMs,
+                    "phase_decode_or_split_ms=" + phaseDecodeOrSplitMs,
+                    "phase_parse_selected_or_full_ms=" + phaseParseSelectedOrFullMs,
+                    "phase_role_total_loop_ms=" + phaseRoleTotalLoopMs,
+                    "phase_sample_every=" + phaseSampleEvery,
+                    "phase_sampled_records=" + phaseSampledRecords,
+                    "phase_timer_overhead_ns=" + String.format("%.4f", phaseTimerOverheadNs),
+                    "object_create_count=" + objectCreateCount,
+                    "object_encode_count=" + objectEncodeCount,
+                    "object_decode_count=" + objectDecodeCount,
+                    "object_skip_count=" + objectSkipCount,
+                    ""
+            ) + extraPart;
+        }
+    }
+}
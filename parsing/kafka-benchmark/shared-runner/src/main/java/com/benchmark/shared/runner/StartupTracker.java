@@ -0,0 +1,77 @@
+package com.benchmark.shared.runner;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cold-start view of one role: JVM start and measured-window start to the first processed record,
+ * and throughput from record {@code steadyStateFrom} on, once class loading and JIT have settled.
+ * {@link #onRecord(long)} only reads the clock for those two records.
+ */
+final class StartupTracker {
+
+    private final long jvmStartEpochMs = ManagementFactory.getRuntimeMXBean().getStartTime();
+    private final long warmupRecords;
+    private final long warmupMs;
+    private final long steadyStateFrom;
+    private long measureStartEpochMs;
+    private long measureStartNs;
+    private long firstRecordNs;
+    private long steadyStateStartNs;
+
+    StartupTracker(long warmupRecords, long warmupMs, long steadyStateFrom) {
+        this.warmupRecords = warmupRecords;
+        this.warmupMs = warmupMs;
+        this.steadyStateFrom = Math.max(1L, steadyStateFrom);
+    }
+
+    void start() {
+        measureStartEpochMs = System.currentTimeMillis();
+        measureStartNs = System.nanoTime();
+    }
+
+    /**
+     * Called with the role's running count after each processed record (1 for the first).
+     */
+    void onRecord(long processed) {
+        if (processed == 1L) {
+            firstRecordNs = System.nanoTime();
+        }
+        if (processed == steadyStateFrom) {
+            steadyStateStartNs = System.nanoTime();
+        }
+    }
+
+    Map<String, String> summary(long processed) {
+        long endNs = System.nanoTime();
+        long measureToFirstMs = firstRecordNs != 0L ? nanosToMillis(firstRecordNs - measureStartNs) : -1L;
+        long jvmToMeasureMs = measureStartEpochMs - jvmStartEpochMs;
+        long steadyRecords = steadyStateStartNs != 0L ? processed - steadyStateFrom : 0L;
+        long steadyNs = steadyStateStartNs != 0L ? endNs - steadyStateStartNs : 0L;
+
+        Map<String, String> summary = new LinkedHashMap<>();
+        summary.put("startup_jvm_to_measure_start_ms", Long.toString(jvmToMeasureMs));
+        summary.put("startup_warmup_records", Long.toString(warmupRecords));
+        summary.put("startup_warmup_ms", Long.toString(warmupMs));
+        summary.put("startup_measure_to_first_record_ms", Long.toString(measureToFirstMs));
+        summary.put("startup_jvm_to_first_record_ms",
+                Long.toString(measureToFirstMs >= 0L ? jvmToMeasureMs + measureToFirstMs : -1L));
+        summary.put("steady_state_from_record", Long.toString(steadyStateFrom));
+        summary.put("steady_state_records", Long.toString(steadyRecords));
+        summary.put("steady_state_wall_ms", Long.toString(nanosToMillis(steadyNs)));
+        summary.put("steady_state_throughput_rec_per_sec", String.format("%.4f",
+                steadyNs > 0L ? steadyRecords * 1_000_000_000.0 / steadyNs : 0.0));
+        HotSpotDiagnosticMXBean hotSpot = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+        summary.put("jvm_use_shared_spaces", hotSpot.getVMOption("UseSharedSpaces").getValue());
+        String archive = hotSpot.getVMOption("SharedArchiveFile").getValue();
+        summary.put("jvm_shared_archive_file", archive.isEmpty() ? "default" : archive);
+        return summary;
+    }
+
+    private static long nanosToMillis(long nanos) {
+        return Math.max(0L, nanos) / 1_000_000L;
+    }
+}